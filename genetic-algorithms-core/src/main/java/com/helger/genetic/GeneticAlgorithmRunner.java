@@ -21,6 +21,7 @@ import java.io.Serializable;
 import javax.annotation.Nonnull;
 
 import com.helger.commons.ValueEnforcer;
+import com.helger.commons.collection.impl.CommonsArrayList;
 import com.helger.commons.collection.impl.ICommonsList;
 import com.helger.genetic.continuation.IContinuation;
 import com.helger.genetic.crossover.ICrossover;
@@ -30,6 +31,7 @@ import com.helger.genetic.model.IPopulation;
 import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.mutation.IMutation;
 import com.helger.genetic.populationcreator.IPopulationCreator;
+import com.helger.genetic.selector.IIndexSelector;
 import com.helger.genetic.selector.ISelector;
 
 /**
@@ -102,16 +104,62 @@ public class GeneticAlgorithmRunner implements Serializable
     // Invoke event handler
     m_aEventHandler.onNewFittestChromosome (aOverallBest);
 
+    final IIndexSelector aIndexSelector = m_aSelector instanceof IIndexSelector ? (IIndexSelector) m_aSelector : null;
+    final int nCrossoverCount = m_aCrossover.getCrossoverChromosomeCount ();
+    double [] aFitnesses = null;
+    int [] aSelectedIndices = null;
+    IChromosome [] aParents = null;
+    int [] [] aMatingPlan = null;
+    IChromosome [] aOffspring = null;
     do
     {
-      // Get all chromosomes from the previous population
-      ICommonsList <IChromosome> aChromosomes = aPrevPopulation.getAllChromosomes ();
+      ICommonsList <IChromosome> aChromosomes;
+      if (aIndexSelector != null)
+      {
+        // Work on arrays, that are reused as long as the population size does
+        // not change
+        final int nChromosomes = aPrevPopulation.getChromosomeCount ();
+        final int nMatings = (nChromosomes + nCrossoverCount - 1) / nCrossoverCount;
+        if (aFitnesses == null || aFitnesses.length != nChromosomes)
+        {
+          aFitnesses = new double [nChromosomes];
+          aSelectedIndices = new int [nChromosomes];
+          aParents = new IChromosome [nChromosomes];
+          aMatingPlan = new int [nMatings] [nCrossoverCount];
+          aOffspring = new IChromosome [nMatings * nCrossoverCount];
+        }
+        for (int i = 0; i < nChromosomes; ++i)
+        {
+          final IChromosome aChromosome = aPrevPopulation.getChromosome (i);
+          aParents[i] = aChromosome;
+          aFitnesses[i] = aChromosome.getFitness ();
+        }
+
+        // Selection
+        aIndexSelector.selectIndices (aFitnesses, aSelectedIndices);
+
+        // Mate consecutive selected chromosomes, wrapping around at the end
+        int nTotalIndex = 0;
+        for (final int [] aMating : aMatingPlan)
+          for (int i = 0; i < nCrossoverCount; ++i)
+            aMating[i] = aSelectedIndices[nTotalIndex++ % nChromosomes];
+
+        // Crossover - one decision for the whole generation
+        m_aCrossover.crossoverBatchSingleDecision (aParents, aMatingPlan, aOffspring);
+        aChromosomes = new CommonsArrayList <> (nChromosomes);
+        for (int i = 0; i < nChromosomes; ++i)
+          aChromosomes.add (aOffspring[i]);
+      }
+      else
+      {
+        // Get all chromosomes from the previous population
+        aChromosomes = m_aSelector.selectSurvivingChromosomes (aPrevPopulation.getAllChromosomes ());
 
-      // Selection and consistency checks
-      aChromosomes = m_aSelector.selectSurvivingChromosomes (aChromosomes);
+        // Crossover
+        aChromosomes = m_aCrossover.crossover (aChromosomes);
+      }
 
-      // Crossover and consistency checks
-      aChromosomes = m_aCrossover.crossover (aChromosomes);
+      // Consistency checks
       int nChromosomeIndex = 0;
       for (final IChromosome aChromosome : aChromosomes)
       {
@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.adaptive;
+
+import java.io.Serializable;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Multi-armed bandit that selects one of multiple operators based on the
+ * fitness improvement per nanosecond they produced recently. Operators that
+ * were not yet applied are always selected first.
+ *
+ * @author Philip Helger
+ */
+@ThreadSafe
+public class AdaptiveOperatorSelector implements Serializable
+{
+  public static final double DEFAULT_ADAPTION_RATE = 0.1;
+  public static final double DEFAULT_UCB_EXPLORATION = Math.sqrt (2);
+  public static final double DEFAULT_MIN_PROBABILITY = 0.05;
+
+  private final EOperatorSelectionStrategy m_eStrategy;
+  private final double m_dAdaptionRate;
+  private final double m_dUCBExploration;
+  private final double m_dMinProbability;
+  private final OperatorStatistics [] m_aStats;
+  private long m_nTotalApplications;
+
+  public AdaptiveOperatorSelector (@Nonnegative final int nOperators, @Nonnull final EOperatorSelectionStrategy eStrategy)
+  {
+    this (nOperators,
+          eStrategy,
+          DEFAULT_ADAPTION_RATE,
+          DEFAULT_UCB_EXPLORATION,
+          Math.min (DEFAULT_MIN_PROBABILITY, 0.5 / nOperators));
+  }
+
+  /**
+   * Full constructor
+   *
+   * @param nOperators
+   *        The number of operators. Must be &gt; 0.
+   * @param eStrategy
+   *        The selection strategy. May not be <code>null</code>.
+   * @param dAdaptionRate
+   *        The weight of a new reward for the quality estimate. Must be in the
+   *        range (0, 1].
+   * @param dUCBExploration
+   *        The weight of the exploration term of {@link EOperatorSelectionStrategy#UCB1}.
+   *        Must be &ge; 0.
+   * @param dMinProbability
+   *        The minimum probability of each operator for
+   *        {@link EOperatorSelectionStrategy#PROBABILITY_MATCHING}. Must be &ge;
+   *        0 and nOperators * dMinProbability must be &le; 1.
+   */
+  public AdaptiveOperatorSelector (@Nonnegative final int nOperators,
+                                   @Nonnull final EOperatorSelectionStrategy eStrategy,
+                                   @Nonnegative final double dAdaptionRate,
+                                   @Nonnegative final double dUCBExploration,
+                                   @Nonnegative final double dMinProbability)
+  {
+    ValueEnforcer.isGT0 (nOperators, "Operators");
+    ValueEnforcer.notNull (eStrategy, "Strategy");
+    ValueEnforcer.isTrue (dAdaptionRate > 0 && dAdaptionRate <= 1, "AdaptionRate must be in the range (0, 1]");
+    ValueEnforcer.isGE0 (dUCBExploration, "UCBExploration");
+    ValueEnforcer.isGE0 (dMinProbability, "MinProbability");
+    ValueEnforcer.isTrue (nOperators * dMinProbability <= 1, "MinProbability is too large");
+    m_eStrategy = eStrategy;
+    m_dAdaptionRate = dAdaptionRate;
+    m_dUCBExploration = dUCBExploration;
+    m_dMinProbability = dMinProbability;
+    m_aStats = new OperatorStatistics [nOperators];
+    for (int i = 0; i < nOperators; ++i)
+      m_aStats[i] = new OperatorStatistics ();
+  }
+
+  @Nonnegative
+  public final int getOperatorCount ()
+  {
+    return m_aStats.length;
+  }
+
+  @Nonnull
+  public final EOperatorSelectionStrategy getStrategy ()
+  {
+    return m_eStrategy;
+  }
+
+  private int _selectUCB1 ()
+  {
+    double dMaxQuality = 0;
+    for (final OperatorStatistics aStats : m_aStats)
+      dMaxQuality = Math.max (dMaxQuality, aStats.getQuality ());
+
+    final double dLogTotal = Math.log (m_nTotalApplications);
+    int ret = 0;
+    double dBestScore = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < m_aStats.length; ++i)
+    {
+      final OperatorStatistics aStats = m_aStats[i];
+      // Normalize the quality to [0,1]
+      final double dQuality = dMaxQuality > 0 ? aStats.getQuality () / dMaxQuality : 0;
+      final double dScore = dQuality + m_dUCBExploration * Math.sqrt (dLogTotal / aStats.getApplicationCount ());
+      if (dScore > dBestScore)
+      {
+        dBestScore = dScore;
+        ret = i;
+      }
+    }
+    return ret;
+  }
+
+  private int _selectProbabilityMatching ()
+  {
+    final int nOperators = m_aStats.length;
+    double dSumQuality = 0;
+    for (final OperatorStatistics aStats : m_aStats)
+      dSumQuality += aStats.getQuality ();
+
+    final double dRandom = RandomGenerator.getDouble ();
+    double dCumulated = 0;
+    for (int i = 0; i < nOperators; ++i)
+    {
+      final double dShare = dSumQuality > 0 ? m_aStats[i].getQuality () / dSumQuality : 1.0 / nOperators;
+      dCumulated += m_dMinProbability + (1 - nOperators * m_dMinProbability) * dShare;
+      if (dRandom < dCumulated)
+        return i;
+    }
+    // Rounding issue
+    return nOperators - 1;
+  }
+
+  /**
+   * Select the operator to be applied next.
+   *
+   * @return The index of the operator. Always &ge; 0 and &lt; operator count.
+   */
+  @Nonnegative
+  public synchronized int selectOperator ()
+  {
+    // Each operator must be applied at least once
+    for (int i = 0; i < m_aStats.length; ++i)
+      if (m_aStats[i].getApplicationCount () == 0)
+        return i;
+
+    switch (m_eStrategy)
+    {
+      case UCB1:
+        return _selectUCB1 ();
+      case PROBABILITY_MATCHING:
+        return _selectProbabilityMatching ();
+      default:
+        throw new IllegalStateException ("Unsupported strategy " + m_eStrategy);
+    }
+  }
+
+  /**
+   * Report the result of an operator application.
+   *
+   * @param nOperator
+   *        The index of the applied operator.
+   * @param dImprovement
+   *        The fitness improvement. Negative values are treated as 0.
+   * @param nNanos
+   *        The time spent in nanoseconds.
+   */
+  public synchronized void addResult (@Nonnegative final int nOperator, final double dImprovement, final long nNanos)
+  {
+    m_aStats[nOperator].addApplication (Math.max (0, dImprovement), Math.max (0, nNanos), m_dAdaptionRate);
+    m_nTotalApplications++;
+  }
+
+  /**
+   * @return A snapshot of the statistics of all operators, in operator order.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public synchronized ICommonsList <OperatorStatistics> getAllStatistics ()
+  {
+    final ICommonsList <OperatorStatistics> ret = new CommonsArrayList <> (m_aStats.length);
+    for (final OperatorStatistics aStats : m_aStats)
+      ret.add (new OperatorStatistics (aStats));
+    return ret;
+  }
+}
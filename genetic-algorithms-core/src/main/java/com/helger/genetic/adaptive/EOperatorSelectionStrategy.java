@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.adaptive;
+
+/**
+ * The multi-armed bandit strategy used by {@link AdaptiveOperatorSelector}.
+ *
+ * @author Philip Helger
+ */
+public enum EOperatorSelectionStrategy
+{
+  /**
+   * Upper confidence bound: choose the operator with the best sum of
+   * normalized quality and exploration bonus.
+   */
+  UCB1,
+  /**
+   * Probability matching: choose each operator with a probability
+   * proportional to its quality, but at least with a minimum probability.
+   */
+  PROBABILITY_MATCHING;
+}
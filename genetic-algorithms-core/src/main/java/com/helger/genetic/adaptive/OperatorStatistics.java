@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.adaptive;
+
+import java.io.Serializable;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.string.ToStringGenerator;
+
+/**
+ * The statistics of a single operator used by {@link AdaptiveOperatorSelector}.
+ * The reward of a single application is the fitness improvement per
+ * nanosecond. The quality is an exponential recency-weighted average of the
+ * rewards, so that it follows the different stages of the search.
+ *
+ * @author Philip Helger
+ */
+@NotThreadSafe
+public final class OperatorStatistics implements Serializable
+{
+  private long m_nApplicationCount;
+  private long m_nImprovementCount;
+  private double m_dTotalImprovement;
+  private long m_nTotalNanos;
+  private double m_dQuality;
+
+  public OperatorStatistics ()
+  {}
+
+  /**
+   * Copy constructor
+   *
+   * @param aOther
+   *        Object to copy from
+   */
+  public OperatorStatistics (@Nonnull final OperatorStatistics aOther)
+  {
+    m_nApplicationCount = aOther.m_nApplicationCount;
+    m_nImprovementCount = aOther.m_nImprovementCount;
+    m_dTotalImprovement = aOther.m_dTotalImprovement;
+    m_nTotalNanos = aOther.m_nTotalNanos;
+    m_dQuality = aOther.m_dQuality;
+  }
+
+  /**
+   * @return How often the operator was applied. Always &ge; 0.
+   */
+  @Nonnegative
+  public long getApplicationCount ()
+  {
+    return m_nApplicationCount;
+  }
+
+  /**
+   * @return How often the operator improved the fitness. Always &ge; 0.
+   */
+  @Nonnegative
+  public long getImprovementCount ()
+  {
+    return m_nImprovementCount;
+  }
+
+  /**
+   * @return The sum of all fitness improvements. Always &ge; 0.
+   */
+  @Nonnegative
+  public double getTotalImprovement ()
+  {
+    return m_dTotalImprovement;
+  }
+
+  /**
+   * @return The total time spent in the operator in nanoseconds. Always &ge; 0.
+   */
+  @Nonnegative
+  public long getTotalNanos ()
+  {
+    return m_nTotalNanos;
+  }
+
+  /**
+   * @return The overall fitness improvement per nanosecond. Always &ge; 0.
+   */
+  @Nonnegative
+  public double getImprovementPerNano ()
+  {
+    return m_nTotalNanos == 0 ? 0 : m_dTotalImprovement / m_nTotalNanos;
+  }
+
+  /**
+   * @return The current quality estimate (recent improvement per nanosecond).
+   *         Always &ge; 0.
+   */
+  @Nonnegative
+  public double getQuality ()
+  {
+    return m_dQuality;
+  }
+
+  /**
+   * Add a single application.
+   *
+   * @param dImprovement
+   *        The fitness improvement. Must be &ge; 0.
+   * @param nNanos
+   *        The time spent. Must be &ge; 0.
+   * @param dAdaptionRate
+   *        The weight of the new reward for the quality. Between 0 and 1.
+   */
+  void addApplication (@Nonnegative final double dImprovement,
+                       @Nonnegative final long nNanos,
+                       @Nonnegative final double dAdaptionRate)
+  {
+    // Avoid division by zero for very fast operators
+    final double dReward = dImprovement / Math.max (1, nNanos);
+    m_nApplicationCount++;
+    if (dImprovement > 0)
+      m_nImprovementCount++;
+    m_dTotalImprovement += dImprovement;
+    m_nTotalNanos += nNanos;
+    if (m_nApplicationCount == 1)
+      m_dQuality = dReward;
+    else
+      m_dQuality += dAdaptionRate * (dReward - m_dQuality);
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("ApplicationCount", m_nApplicationCount)
+                                       .append ("ImprovementCount", m_nImprovementCount)
+                                       .append ("TotalImprovement", m_dTotalImprovement)
+                                       .append ("TotalNanos", m_nTotalNanos)
+                                       .append ("Quality", m_dQuality)
+                                       .getToString ();
+  }
+}
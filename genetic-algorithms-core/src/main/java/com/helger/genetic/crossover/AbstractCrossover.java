@@ -16,8 +16,11 @@
  */
 package com.helger.genetic.crossover;
 
+import java.util.stream.IntStream;
+
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.Nonempty;
@@ -25,9 +28,20 @@ import com.helger.commons.collection.impl.CommonsArrayList;
 import com.helger.commons.collection.impl.ICommonsList;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
 import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.utils.random.ICounterBasedRandomGenerator;
+import com.helger.genetic.utils.random.IRandomGenerator;
+import com.helger.genetic.utils.random.RandomGenerator;
 
 /**
- * Abstract base implementation of {@link ICrossover}.
+ * Abstract base implementation of {@link ICrossover}.<br>
+ * All matings are executed in chunks of consecutive matings. With a
+ * parallelism &gt; 1 the chunks are executed in parallel, so the
+ * {@link #executeCrossover(IChromosome[])} implementation must be thread-safe
+ * in that case. Each chunk uses its own random generator, split from the one
+ * of the calling thread. If the calling thread uses an
+ * {@link ICounterBasedRandomGenerator}, each mating uses its own sub stream
+ * instead, so that the results are bit-identical for every parallelism. The
+ * decisions are always drawn sequentially before the execution.
  *
  * @author Philip Helger
  */
@@ -37,6 +51,7 @@ public abstract class AbstractCrossover implements ICrossover
   private IDecisionMaker m_aDescisionMaker;
   private int m_nTryCount = 0;
   private int m_nExecutionCount = 0;
+  private int m_nParallelism = 1;
 
   public AbstractCrossover (@Nonnegative final int nCrossoverChromosomeCount,
                             @Nonnull final IDecisionMaker aDescisionMaker)
@@ -79,12 +94,35 @@ public abstract class AbstractCrossover implements ICrossover
     return m_nExecutionCount;
   }
 
+  /**
+   * @return The maximum number of chunks to execute in parallel. Always &gt;
+   *         0. The default is 1.
+   */
+  @Nonnegative
+  public final int getParallelism ()
+  {
+    return m_nParallelism;
+  }
+
+  /**
+   * Set the maximum number of chunks to execute in parallel.
+   *
+   * @param nParallelism
+   *        The parallelism. Must be &gt; 0. Use 1 for sequential execution.
+   */
+  public final void setParallelism (@Nonnegative final int nParallelism)
+  {
+    ValueEnforcer.isGT0 (nParallelism, "Parallelism");
+    m_nParallelism = nParallelism;
+  }
+
   /**
    * Execute the crossover on the passed chromosomes.
    *
    * @param aChromosomes
    *        The chromosomes to crossover. The length of the array equals the
-   *        result of {@link #getExecutionCount()}.
+   *        result of {@link #getCrossoverChromosomeCount()}. The array is
+   *        reused by the caller, so no reference to it may be kept.
    * @return The modified chromosomes. The array must have the same length as
    *         the input array!
    */
@@ -92,6 +130,96 @@ public abstract class AbstractCrossover implements ICrossover
   @Nonempty
   public abstract IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes);
 
+  private void _executeChunk (@Nonnull final IChromosome [] aParents,
+                              @Nonnull final int [] [] aMatingPlan,
+                              @Nullable final boolean [] aDoIt,
+                              @Nonnull final IChromosome [] aTarget,
+                              final int nStartMating,
+                              final int nEndMating,
+                              @Nullable final ICounterBasedRandomGenerator aMatingRG)
+  {
+    final int nCount = m_nCrossoverChromosomeCount;
+    // Reused for all matings of this chunk
+    final IChromosome [] aSelected = new IChromosome [nCount];
+    final IRandomGenerator aOldRG = aMatingRG == null ? null : RandomGenerator.getThreadRandomGenerator ();
+    try
+    {
+      for (int nMating = nStartMating; nMating < nEndMating; ++nMating)
+      {
+        final int [] aMating = aMatingPlan[nMating];
+        for (int i = 0; i < nCount; ++i)
+          aSelected[i] = aParents[aMating[i]];
+
+        final int nTargetOffset = nMating * nCount;
+        if (aDoIt == null || aDoIt[nMating])
+        {
+          if (aMatingRG != null)
+          {
+            // Each mating has its own sub stream
+            RandomGenerator.setThreadRandomGenerator (aMatingRG.getSubStream (nMating));
+          }
+          final IChromosome [] aNewOnes = executeCrossover (aSelected);
+          System.arraycopy (aNewOnes, 0, aTarget, nTargetOffset, nCount);
+        }
+        else
+          System.arraycopy (aSelected, 0, aTarget, nTargetOffset, nCount);
+      }
+    }
+    finally
+    {
+      if (aMatingRG != null)
+        RandomGenerator.setThreadRandomGenerator (aOldRG);
+    }
+  }
+
+  private void _executeMatings (@Nonnull final IChromosome [] aParents,
+                                @Nonnull final int [] [] aMatingPlan,
+                                @Nullable final boolean [] aDoIt,
+                                @Nonnull final IChromosome [] aTarget)
+  {
+    // With a counter based generator, each mating uses its own sub stream, so
+    // that the results are independent of the parallelism
+    final IRandomGenerator aRG = RandomGenerator.getRandomGenerator ();
+    final ICounterBasedRandomGenerator aMatingRG;
+    if (aRG instanceof ICounterBasedRandomGenerator)
+      aMatingRG = ((ICounterBasedRandomGenerator) aRG).split ();
+    else
+      aMatingRG = null;
+
+    final int nMatings = aMatingPlan.length;
+    final int nChunks = Math.min (m_nParallelism, nMatings);
+    if (nChunks <= 1)
+      _executeChunk (aParents, aMatingPlan, aDoIt, aTarget, 0, nMatings, aMatingRG);
+    else
+    {
+      final int nChunkSize = (nMatings + nChunks - 1) / nChunks;
+      // Otherwise each chunk uses its own random generator
+      final IRandomGenerator [] aRGs = new IRandomGenerator [nChunks];
+      if (aMatingRG == null)
+        for (int i = 0; i < nChunks; ++i)
+          aRGs[i] = RandomGenerator.split ();
+      IntStream.range (0, nChunks).parallel ().forEach (nChunk -> {
+        final IRandomGenerator aOldRG = RandomGenerator.getThreadRandomGenerator ();
+        if (aMatingRG == null)
+          RandomGenerator.setThreadRandomGenerator (aRGs[nChunk]);
+        try
+        {
+          _executeChunk (aParents,
+                         aMatingPlan,
+                         aDoIt,
+                         aTarget,
+                         nChunk * nChunkSize,
+                         Math.min ((nChunk + 1) * nChunkSize, nMatings),
+                         aMatingRG);
+        }
+        finally
+        {
+          RandomGenerator.setThreadRandomGenerator (aOldRG);
+        }
+      });
+    }
+  }
+
   @Nonnull
   @Nonempty
   public final ICommonsList <IChromosome> crossover (@Nonnull final ICommonsList <IChromosome> aChromosomes)
@@ -105,23 +233,78 @@ public abstract class AbstractCrossover implements ICrossover
 
     m_nExecutionCount++;
 
+    // Mate consecutive chromosomes, wrapping around at the end
     final int nChromosomes = aChromosomes.size ();
-    final IChromosome [] aSelected = new IChromosome [m_nCrossoverChromosomeCount];
+    final int nCount = m_nCrossoverChromosomeCount;
+    final int nMatings = (nChromosomes + nCount - 1) / nCount;
+    final IChromosome [] aParents = aChromosomes.toArray (new IChromosome [nChromosomes]);
+    final int [] [] aMatingPlan = new int [nMatings] [nCount];
+    int nTotalIndex = 0;
+    for (final int [] aMating : aMatingPlan)
+      for (int i = 0; i < nCount; ++i)
+        aMating[i] = nTotalIndex++ % nChromosomes;
+
+    final IChromosome [] aTarget = new IChromosome [nMatings * nCount];
+    _executeMatings (aParents, aMatingPlan, null, aTarget);
+
     final ICommonsList <IChromosome> ret = new CommonsArrayList <> (nChromosomes);
+    for (int i = 0; i < nChromosomes; ++i)
+      ret.add (aTarget[i]);
+    return ret;
+  }
 
-    int nTotalIndex = 0;
-    outer: while (true)
+  public final void crossoverBatch (@Nonnull final IChromosome [] aParents,
+                                    @Nonnull final int [] [] aMatingPlan,
+                                    @Nonnull final IChromosome [] aTarget)
+  {
+    ValueEnforcer.notNull (aParents, "Parents");
+    ValueEnforcer.notNull (aMatingPlan, "MatingPlan");
+    ValueEnforcer.notNull (aTarget, "Target");
+    final int nMatings = aMatingPlan.length;
+    final int nCount = m_nCrossoverChromosomeCount;
+    ValueEnforcer.isTrue (aTarget.length >= nMatings * nCount,
+                          () -> "Target buffer too small: " + aTarget.length + " < " + (nMatings * nCount));
+    for (final int [] aMating : aMatingPlan)
+      ValueEnforcer.isTrue (aMating.length == nCount, () -> "Each mating must have " + nCount + " parents");
+
+    // Decide sequentially
+    final int [] aIndices = new int [nMatings];
+    final int nSelected = m_aDescisionMaker.getSelectedIndices (nMatings, aIndices);
+    m_nTryCount += nMatings;
+    m_nExecutionCount += nSelected;
+    final boolean [] aDoIt = new boolean [nMatings];
+    for (int i = 0; i < nSelected; ++i)
+      aDoIt[aIndices[i]] = true;
+
+    _executeMatings (aParents, aMatingPlan, aDoIt, aTarget);
+  }
+
+  public final void crossoverBatchSingleDecision (@Nonnull final IChromosome [] aParents,
+                                                  @Nonnull final int [] [] aMatingPlan,
+                                                  @Nonnull final IChromosome [] aTarget)
+  {
+    ValueEnforcer.notNull (aParents, "Parents");
+    ValueEnforcer.notNull (aMatingPlan, "MatingPlan");
+    ValueEnforcer.notNull (aTarget, "Target");
+    final int nMatings = aMatingPlan.length;
+    final int nCount = m_nCrossoverChromosomeCount;
+    ValueEnforcer.isTrue (aTarget.length >= nMatings * nCount,
+                          () -> "Target buffer too small: " + aTarget.length + " < " + (nMatings * nCount));
+    for (final int [] aMating : aMatingPlan)
+      ValueEnforcer.isTrue (aMating.length == nCount, () -> "Each mating must have " + nCount + " parents");
+
+    m_nTryCount++;
+    if (!m_aDescisionMaker.shouldDoIt ())
     {
-      for (int i = 0; i < m_nCrossoverChromosomeCount; ++i)
-        aSelected[i] = aChromosomes.get (nTotalIndex++ % nChromosomes);
-      final IChromosome [] aNewOnes = executeCrossover (aSelected);
-      for (int i = 0; i < m_nCrossoverChromosomeCount; ++i)
-      {
-        ret.add (aNewOnes[i]);
-        if (ret.size () >= nChromosomes)
-          break outer;
-      }
+      // Copy parents unchanged
+      int nTargetIndex = 0;
+      for (final int [] aMating : aMatingPlan)
+        for (final int nParentIndex : aMating)
+          aTarget[nTargetIndex++] = aParents[nParentIndex];
+      return;
     }
-    return ret;
+
+    m_nExecutionCount++;
+    _executeMatings (aParents, aMatingPlan, null, aTarget);
   }
 }
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.annotation.UnsupportedOperation;
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.adaptive.AdaptiveOperatorSelector;
+import com.helger.genetic.adaptive.EOperatorSelectionStrategy;
+import com.helger.genetic.adaptive.OperatorStatistics;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Crossover that holds a portfolio of crossovers and chooses the one to apply
+ * with an {@link AdaptiveOperatorSelector}. The improvement of a crossover is
+ * the fitness of the best child minus the fitness of the best parent. The time
+ * spent includes the fitness evaluation of the children. All crossovers must
+ * use the same number of chromosomes.
+ *
+ * @author Philip Helger
+ */
+public class CrossoverAdaptive extends AbstractCrossover
+{
+  private final ICommonsList <AbstractCrossover> m_aCrossovers;
+  private final AdaptiveOperatorSelector m_aSelector;
+
+  public CrossoverAdaptive (@Nonnull final IDecisionMaker aDescisionMaker,
+                            @Nonnull final EOperatorSelectionStrategy eStrategy,
+                            @Nonnull @Nonempty final AbstractCrossover... aCrossovers)
+  {
+    this (aDescisionMaker, new CommonsArrayList <> (aCrossovers), eStrategy);
+  }
+
+  public CrossoverAdaptive (@Nonnull final IDecisionMaker aDescisionMaker,
+                            @Nonnull @Nonempty final ICommonsList <? extends AbstractCrossover> aCrossovers,
+                            @Nonnull final EOperatorSelectionStrategy eStrategy)
+  {
+    this (aDescisionMaker, aCrossovers, new AdaptiveOperatorSelector (aCrossovers.size (), eStrategy));
+  }
+
+  private static int _getCrossoverChromosomeCount (@Nonnull @Nonempty final ICommonsList <? extends AbstractCrossover> aCrossovers)
+  {
+    ValueEnforcer.notEmptyNoNullValue (aCrossovers, "Crossovers");
+    return aCrossovers.getFirst ().getCrossoverChromosomeCount ();
+  }
+
+  /**
+   * Full constructor
+   *
+   * @param aDescisionMaker
+   *        Decision maker whether to do a crossover at all
+   * @param aCrossovers
+   *        The crossover portfolio. The decision makers of these crossovers are
+   *        ignored.
+   * @param aSelector
+   *        The selector to use. Must have one operator per crossover.
+   */
+  public CrossoverAdaptive (@Nonnull final IDecisionMaker aDescisionMaker,
+                            @Nonnull @Nonempty final ICommonsList <? extends AbstractCrossover> aCrossovers,
+                            @Nonnull final AdaptiveOperatorSelector aSelector)
+  {
+    super (_getCrossoverChromosomeCount (aCrossovers), aDescisionMaker);
+    ValueEnforcer.notNull (aSelector, "Selector");
+    ValueEnforcer.isTrue (aSelector.getOperatorCount () == aCrossovers.size (),
+                          "Selector operator count does not match the crossover count");
+    for (final AbstractCrossover aCrossover : aCrossovers)
+      ValueEnforcer.isTrue (aCrossover.getCrossoverChromosomeCount () == getCrossoverChromosomeCount (),
+                            "All crossovers must use the same number of chromosomes");
+    m_aCrossovers = new CommonsArrayList <> (aCrossovers);
+    m_aSelector = aSelector;
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  public final ICommonsList <AbstractCrossover> getAllCrossovers ()
+  {
+    return m_aCrossovers.getClone ();
+  }
+
+  @Nonnull
+  public final AdaptiveOperatorSelector getSelector ()
+  {
+    return m_aSelector;
+  }
+
+  /**
+   * @return A snapshot of the statistics of all crossovers, in the order of
+   *         {@link #getAllCrossovers()}.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public final ICommonsList <OperatorStatistics> getAllStatistics ()
+  {
+    return m_aSelector.getAllStatistics ();
+  }
+
+  private static double _getBestFitness (@Nonnull final IChromosome [] aChromosomes)
+  {
+    double ret = Double.NEGATIVE_INFINITY;
+    for (final IChromosome aChromosome : aChromosomes)
+      ret = Math.max (ret, aChromosome.getFitness ());
+    return ret;
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final int nOperator = m_aSelector.selectOperator ();
+    final double dOldFitness = _getBestFitness (aChromosomes);
+
+    final long nStart = System.nanoTime ();
+    final IChromosome [] ret = m_aCrossovers.get (nOperator).executeCrossover (aChromosomes);
+    final double dNewFitness = _getBestFitness (ret);
+    final long nNanos = System.nanoTime () - nStart;
+
+    m_aSelector.addResult (nOperator, dNewFitness - dOldFitness, nNanos);
+    return ret;
+  }
+}
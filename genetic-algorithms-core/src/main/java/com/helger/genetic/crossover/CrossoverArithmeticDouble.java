@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.UnsupportedOperation;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Whole arithmetic crossover for 2 double-chromosomes. A random weight
+ * <code>w</code> in the range [0, 1) is chosen per crossover, and the children
+ * are the weighted averages of the parents:
+ *
+ * <pre>
+ *     N1 = w * P1 + (1 - w) * P2
+ *     N2 = (1 - w) * P1 + w * P2
+ * </pre>
+ *
+ * @author Philip Helger
+ */
+public class CrossoverArithmeticDouble extends AbstractCrossover
+{
+  public CrossoverArithmeticDouble (@Nonnull final IDecisionMaker aDescisionMaker)
+  {
+    super (2, aDescisionMaker);
+  }
+
+  /**
+   * This method determines the weight of the first parent. This can be
+   * overridden for tests, to avoid the randomness
+   *
+   * @return The weight in the range [0, 1).
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  @Nonnegative
+  protected double getWeight ()
+  {
+    return RandomGenerator.getDouble ();
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final double [] aGenes0 = aChromosomes[0].getGeneDoubleArray ();
+    final double [] aGenes1 = aChromosomes[1].getGeneDoubleArray ();
+    final int nGenes = aGenes0.length;
+    final double dWeight0 = getWeight ();
+    final double dWeight1 = 1 - dWeight0;
+
+    final double [] aNewGenes0 = new double [nGenes];
+    final double [] aNewGenes1 = new double [nGenes];
+    for (int i = 0; i < nGenes; ++i)
+    {
+      final double dValue0 = aGenes0[i];
+      final double dValue1 = aGenes1[i];
+      aNewGenes0[i] = dWeight0 * dValue0 + dWeight1 * dValue1;
+      aNewGenes1[i] = dWeight1 * dValue0 + dWeight0 * dValue1;
+    }
+
+    final IChromosome aNew0 = Chromosome.createGenesDouble (aChromosomes[0], aNewGenes0);
+    final IChromosome aNew1 = Chromosome.createGenesDouble (aChromosomes[1], aNewGenes1);
+    return new IChromosome [] { aNew0, aNew1 };
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.UnsupportedOperation;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Blend crossover (BLX-&alpha;) for 2 double-chromosomes. For each gene the
+ * interval spanned by the two parent values is extended by &alpha; times its
+ * width on both sides, and each child value is drawn uniformly from the
+ * extended interval:
+ *
+ * <pre>
+ *     d = |P1[i] - P2[i]|
+ *     N[i] = uniform (min (P1[i], P2[i]) - &alpha; * d, max (P1[i], P2[i]) + &alpha; * d)
+ * </pre>
+ *
+ * @author Philip Helger
+ */
+public class CrossoverBlendAlphaDouble extends AbstractCrossover
+{
+  public static final double DEFAULT_ALPHA = 0.5;
+
+  private final double m_dAlpha;
+
+  public CrossoverBlendAlphaDouble (@Nonnull final IDecisionMaker aDescisionMaker)
+  {
+    this (aDescisionMaker, DEFAULT_ALPHA);
+  }
+
+  public CrossoverBlendAlphaDouble (@Nonnull final IDecisionMaker aDescisionMaker, @Nonnegative final double dAlpha)
+  {
+    super (2, aDescisionMaker);
+    ValueEnforcer.isGE0 (dAlpha, "Alpha");
+    m_dAlpha = dAlpha;
+  }
+
+  @Nonnegative
+  public final double getAlpha ()
+  {
+    return m_dAlpha;
+  }
+
+  /**
+   * Fill the passed array with uniformly distributed random values in the
+   * range [0, 1). This can be overridden for tests, to avoid the randomness
+   *
+   * @param aDst
+   *        The array to be filled. Never <code>null</code>.
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected void fillRandomValues (@Nonnull final double [] aDst)
+  {
+    RandomGenerator.fillDoubles (aDst);
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final double [] aGenes0 = aChromosomes[0].getGeneDoubleArray ();
+    final double [] aGenes1 = aChromosomes[1].getGeneDoubleArray ();
+    final int nGenes = aGenes0.length;
+
+    // Draw all random values first, so that the main loop is free of calls
+    final double [] aRandom = new double [2 * nGenes];
+    fillRandomValues (aRandom);
+
+    final double dAlpha = m_dAlpha;
+    final double dWidthFactor = 1 + 2 * dAlpha;
+    final double [] aNewGenes0 = new double [nGenes];
+    final double [] aNewGenes1 = new double [nGenes];
+    for (int i = 0; i < nGenes; ++i)
+    {
+      final double dMin = Math.min (aGenes0[i], aGenes1[i]);
+      final double dRange = Math.abs (aGenes0[i] - aGenes1[i]);
+      final double dStart = dMin - dAlpha * dRange;
+      final double dWidth = dWidthFactor * dRange;
+      aNewGenes0[i] = dStart + aRandom[i] * dWidth;
+      aNewGenes1[i] = dStart + aRandom[nGenes + i] * dWidth;
+    }
+
+    final IChromosome aNew0 = Chromosome.createGenesDouble (aChromosomes[0], aNewGenes0);
+    final IChromosome aNew1 = Chromosome.createGenesDouble (aChromosomes[1], aNewGenes1);
+    return new IChromosome [] { aNew0, aNew1 };
+  }
+}
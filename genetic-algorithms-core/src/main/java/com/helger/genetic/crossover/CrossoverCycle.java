@@ -21,7 +21,7 @@ import javax.annotation.Nonnull;
 import com.helger.commons.annotation.Nonempty;
 import com.helger.commons.annotation.UnsupportedOperation;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
-import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
 import com.helger.genetic.model.chromosome.IChromosome;
 
 /**
@@ -110,8 +110,8 @@ public class CrossoverCycle extends AbstractCrossover
       aGenes1.setNewValue (i, aGenes0.getOldValue (i));
     }
 
-    final IChromosome aNew0 = Chromosome.createGenesInt (aChromosomes[0], aGenes0.getAllNewGenes ());
-    final IChromosome aNew1 = Chromosome.createGenesInt (aChromosomes[1], aGenes1.getAllNewGenes ());
+    final IChromosome aNew0 = ChromosomeInt.createExclusive (aChromosomes[0], aGenes0.getAllNewGenes ());
+    final IChromosome aNew1 = ChromosomeInt.createExclusive (aChromosomes[1], aGenes1.getAllNewGenes ());
     return new IChromosome [] { aNew0, aNew1 };
   }
 }
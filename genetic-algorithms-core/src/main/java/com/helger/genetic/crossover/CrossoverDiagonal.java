@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.UnsupportedOperation;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.model.gene.IGene;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Diagonal crossover for n parents. n-1 crossover points are selected and the
+ * chromosomes are cut into n segments. Each child is composed of the segments
+ * along a "diagonal" of the parents. Example for 3 parents:
+ *
+ * <pre>
+ *     P1 = (a1 a2 | a3 a4 | a5 a6)
+ *     P2 = (b1 b2 | b3 b4 | b5 b6)
+ *     P3 = (c1 c2 | c3 c4 | c5 c6)
+ *
+ *     N1 = (a1 a2 | b3 b4 | c5 c6)
+ *     N2 = (b1 b2 | c3 c4 | a5 a6)
+ *     N3 = (c1 c2 | a3 a4 | b5 b6)
+ * </pre>
+ *
+ * Works with all gene types, but does not preserve the uniqueness of genes, so
+ * it is not suitable for permutation chromosomes.
+ *
+ * @author Philip Helger
+ */
+public class CrossoverDiagonal extends AbstractCrossover
+{
+  public CrossoverDiagonal (@Nonnegative final int nParentCount, @Nonnull final IDecisionMaker aDescisionMaker)
+  {
+    super (nParentCount, aDescisionMaker);
+  }
+
+  /**
+   * This method determines the crossover points. This can be overridden for
+   * tests, to avoid the randomness
+   *
+   * @param nCount
+   *        The number of crossover points to create. Always &ge; 1.
+   * @param nGenes
+   *        The number of genes.
+   * @return An array of nCount ascending, unique indices in the range 1 to
+   *         nGenes-1. Each index is the first index of a new segment.
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected int [] getCrossoverIndices (@Nonnegative final int nCount, @Nonnegative final int nGenes)
+  {
+    final int [] ret;
+    if (nCount == 1)
+      ret = new int [] { RandomGenerator.getIntInRange (nGenes - 1) };
+    else
+      ret = RandomGenerator.getMultipleUniqueIntsInRange (nCount, nGenes - 1);
+    // Avoid empty segments at the start
+    for (int i = 0; i < nCount; ++i)
+      ret[i]++;
+    return ret;
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final int nParents = aChromosomes.length;
+    final int nGenes = aChromosomes[0].getGeneCount ();
+    ValueEnforcer.isTrue (nGenes >= nParents, "Each chromosome must have at least as many genes as there are parents");
+
+    final int [] aCrossoverIndices = getCrossoverIndices (nParents - 1, nGenes);
+
+    final IGene [] [] aParentGenes = new IGene [nParents] [];
+    for (int p = 0; p < nParents; ++p)
+      aParentGenes[p] = aChromosomes[p].getGeneArray ();
+
+    final IChromosome [] ret = new IChromosome [nParents];
+    for (int nChild = 0; nChild < nParents; ++nChild)
+    {
+      final IGene [] aNewGenes = new IGene [nGenes];
+      for (int nSegment = 0; nSegment < nParents; ++nSegment)
+      {
+        final int nStart = nSegment == 0 ? 0 : aCrossoverIndices[nSegment - 1];
+        final int nEnd = nSegment == nParents - 1 ? nGenes : aCrossoverIndices[nSegment];
+        final IGene [] aSrc = aParentGenes[(nChild + nSegment) % nParents];
+        System.arraycopy (aSrc, nStart, aNewGenes, nStart, nEnd - nStart);
+      }
+      ret[nChild] = new Chromosome (aChromosomes[nChild], aNewGenes);
+    }
+    return ret;
+  }
+}
@@ -16,14 +16,15 @@
  */
 package com.helger.genetic.crossover;
 
-import java.util.BitSet;
+import java.util.Arrays;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 import com.helger.commons.annotation.Nonempty;
 import com.helger.commons.annotation.UnsupportedOperation;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
-import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
 import com.helger.genetic.model.chromosome.IChromosome;
 
 /**
@@ -32,7 +33,7 @@ import com.helger.genetic.model.chromosome.IChromosome;
  * >Source</a> and
  * <a href="http://en.wikipedia.org/wiki/Edge_recombination_operator">Source</a>
  * <br>
- * Crossover for 2 int-chromosomes, having unique genes only. This is a
+ * Crossover for 2 or more int-chromosomes, having unique genes only. This is a
  * crossover techniques for permutation (ordered) chromosomes. It strives to
  * introduce the fewest paths possible. In problems such as the travelling
  * salesman, introducing a stray edge between two nodes is usually very bad for
@@ -71,110 +72,224 @@ import com.helger.genetic.model.chromosome.IChromosome;
  *    X = Z
  * </pre>
  *
+ * Implementation notes: the neighbor lists are stored in fixed size int arrays
+ * (at most 2 neighbors per parent and gene) together with a degree counter per
+ * gene. All not yet used genes are kept in buckets by their number of remaining
+ * neighbors, so that the "random node not already in CHILD" is the node with
+ * the fewest remaining neighbors and can be determined in constant time. Ties
+ * are resolved by choosing the first candidate, so the operator is
+ * deterministic. Overall this results in O(n) per child. The first child starts
+ * with the first gene of the first parent, the second child starts with the
+ * first gene of the second parent etc. With more than 2 parents the neighbor
+ * lists contain the edges of all parents.
+ *
  * @author Philip Helger
  */
 public class CrossoverEdgeRecombination extends AbstractCrossover
 {
   public CrossoverEdgeRecombination (@Nonnull final IDecisionMaker aDescisionMaker)
   {
-    super (2, aDescisionMaker);
+    this (2, aDescisionMaker);
   }
 
-  @Override
-  @UnsupportedOperation
-  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  /**
+   * Constructor for a multi-parent edge recombination.
+   *
+   * @param nParentCount
+   *        The number of parents and children per crossover. Must be &ge; 2.
+   * @param aDescisionMaker
+   *        Decision maker
+   */
+  public CrossoverEdgeRecombination (@Nonnegative final int nParentCount,
+                                     @Nonnull final IDecisionMaker aDescisionMaker)
   {
-    final int nGenes = aChromosomes[0].getGeneCount ();
-    final int nLastIdx = nGenes - 1;
+    super (nParentCount, aDescisionMaker);
+  }
 
-    final CCW aGenes0 = new CCW (aChromosomes[0]);
-    final CCW aGenes1 = new CCW (aChromosomes[1]);
+  private static void _addNeighbor (@Nonnull final int [] aNeighbors,
+                                    @Nonnull final int [] aDegrees,
+                                    final int nMaxNeighbors,
+                                    final int nValue,
+                                    final int nNeighbor)
+  {
+    final int nOffset = nValue * nMaxNeighbors;
+    final int nDegree = aDegrees[nValue];
+    // Avoid duplicate edges (edges contained in more than one parent)
+    for (int i = 0; i < nDegree; ++i)
+      if (aNeighbors[nOffset + i] == nNeighbor)
+        return;
+    aNeighbors[nOffset + nDegree] = nNeighbor;
+    aDegrees[nValue] = nDegree + 1;
+  }
 
-    // Init adjacency matrices
-    final BitSet [] aAdjacencyMatrices = new BitSet [nGenes];
-    for (int i = 0; i < nGenes; ++i)
-      aAdjacencyMatrices[i] = new BitSet (nGenes);
+  /**
+   * Create a single child from the provided neighbor lists.
+   *
+   * @param aNeighbors
+   *        The neighbor list of all genes. Each gene has nMaxNeighbors slots.
+   *        Modified by this method.
+   * @param aDegrees
+   *        The number of used neighbor slots per gene. Modified by this method.
+   * @param nMaxNeighbors
+   *        Maximum number of neighbors per gene.
+   * @param nStartValue
+   *        The first gene of the child.
+   * @return The new child genes. Never <code>null</code>.
+   */
+  @Nonnull
+  private static int [] _createChild (@Nonnull final int [] aNeighbors,
+                                      @Nonnull final int [] aDegrees,
+                                      final int nMaxNeighbors,
+                                      final int nStartValue)
+  {
+    final int nGenes = aDegrees.length;
 
-    // Fill adjacency matrices
-    {
-      final int nFirst = aGenes0.getOldValue (0);
-      final int nLast = aGenes0.getOldValue (nLastIdx);
-      int nPrev = nLast;
-      int nCur = nFirst;
-      for (int i = 1; i < nGenes; ++i)
-      {
-        final int nNext = aGenes0.getOldValue (i);
-        aAdjacencyMatrices[nCur].set (nPrev);
-        aAdjacencyMatrices[nCur].set (nNext);
-        nPrev = nCur;
-        nCur = nNext;
-      }
-      aAdjacencyMatrices[nCur].set (nPrev);
-      aAdjacencyMatrices[nCur].set (nFirst);
-    }
+    // Bucket all genes by their degree - double linked lists
+    final int [] aBucketHead = new int [nMaxNeighbors + 1];
+    Arrays.fill (aBucketHead, -1);
+    final int [] aBucketNext = new int [nGenes];
+    final int [] aBucketPrev = new int [nGenes];
+    for (int nValue = nGenes - 1; nValue >= 0; --nValue)
     {
-      final int nFirst = aGenes1.getOldValue (0);
-      final int nLast = aGenes1.getOldValue (nLastIdx);
-      int nPrev = nLast;
-      int nCur = nFirst;
-      for (int i = 1; i < nGenes; ++i)
-      {
-        final int nNext = aGenes1.getOldValue (i);
-        aAdjacencyMatrices[nCur].set (nPrev);
-        aAdjacencyMatrices[nCur].set (nNext);
-        nPrev = nCur;
-        nCur = nNext;
-      }
-      aAdjacencyMatrices[nCur].set (nPrev);
-      aAdjacencyMatrices[nCur].set (nFirst);
+      final int nDegree = aDegrees[nValue];
+      final int nHead = aBucketHead[nDegree];
+      aBucketNext[nValue] = nHead;
+      aBucketPrev[nValue] = -1;
+      if (nHead >= 0)
+        aBucketPrev[nHead] = nValue;
+      aBucketHead[nDegree] = nValue;
     }
 
+    final int [] ret = new int [nGenes];
     int nDstIndex = 0;
     // Our x
-    int nCurValue = aGenes0.getOldValue (nDstIndex);
-    while (nDstIndex < nGenes)
+    int nCurValue = nStartValue;
+    while (true)
     {
       // Append x
-      aGenes0.setNewValue (nDstIndex, nCurValue);
+      ret[nDstIndex++] = nCurValue;
+
+      // Remove x from its bucket
+      {
+        final int nPrev = aBucketPrev[nCurValue];
+        final int nNext = aBucketNext[nCurValue];
+        if (nPrev >= 0)
+          aBucketNext[nPrev] = nNext;
+        else
+          aBucketHead[aDegrees[nCurValue]] = nNext;
+        if (nNext >= 0)
+          aBucketPrev[nNext] = nPrev;
+      }
+
+      if (nDstIndex == nGenes)
+        break;
+
+      // remove x from neighbor list of all its neighbors
+      final int nCurOffset = nCurValue * nMaxNeighbors;
+      final int nCurDegree = aDegrees[nCurValue];
+      for (int i = 0; i < nCurDegree; ++i)
+      {
+        final int nNeighbor = aNeighbors[nCurOffset + i];
+        final int nOffset = nNeighbor * nMaxNeighbors;
+        final int nDegree = aDegrees[nNeighbor];
+        for (int j = 0; j < nDegree; ++j)
+          if (aNeighbors[nOffset + j] == nCurValue)
+          {
+            // Replace with the last one
+            aNeighbors[nOffset + j] = aNeighbors[nOffset + nDegree - 1];
+            break;
+          }
 
-      // remove x from neighbor list
-      for (final BitSet aAdjacencyMatrice : aAdjacencyMatrices)
-        aAdjacencyMatrice.set (nCurValue, false);
+        // Move neighbor one bucket down
+        final int nPrev = aBucketPrev[nNeighbor];
+        final int nNext = aBucketNext[nNeighbor];
+        if (nPrev >= 0)
+          aBucketNext[nPrev] = nNext;
+        else
+          aBucketHead[nDegree] = nNext;
+        if (nNext >= 0)
+          aBucketPrev[nNext] = nPrev;
+
+        final int nNewDegree = nDegree - 1;
+        final int nHead = aBucketHead[nNewDegree];
+        aBucketNext[nNeighbor] = nHead;
+        aBucketPrev[nNeighbor] = -1;
+        if (nHead >= 0)
+          aBucketPrev[nHead] = nNeighbor;
+        aBucketHead[nNewDegree] = nNeighbor;
+        aDegrees[nNeighbor] = nNewDegree;
+      }
 
-      // Get neighbors of x
-      final BitSet aNeighbors = aAdjacencyMatrices[nCurValue];
       // Our z
-      int nNextValue;
-      if (aNeighbors.cardinality () == 0)
+      int nNextValue = -1;
+      if (nCurDegree == 0)
       {
-        // No neighbors present
-        nNextValue = aGenes0.getNextUnusedNewValue (0);
+        // No neighbors present - use the unused node with the fewest neighbors
+        for (final int nHead : aBucketHead)
+          if (nHead >= 0)
+          {
+            nNextValue = nHead;
+            break;
+          }
       }
       else
       {
         // Determine neighbor of x that has fewest neighbors
         int nShortestCount = Integer.MAX_VALUE;
-        int nShortestIndex = -1;
-        for (int i = aNeighbors.nextSetBit (0); i >= 0; i = aNeighbors.nextSetBit (i + 1))
+        for (int i = 0; i < nCurDegree; ++i)
         {
-          final BitSet aBitSet = aAdjacencyMatrices[i];
-          // BitSet had x as neighbor
-          final int nCount = aBitSet.cardinality ();
+          final int nNeighbor = aNeighbors[nCurOffset + i];
+          final int nCount = aDegrees[nNeighbor];
           if (nCount < nShortestCount)
           {
             nShortestCount = nCount;
-            nShortestIndex = i;
+            nNextValue = nNeighbor;
           }
         }
-        nNextValue = nShortestIndex;
       }
       // x = z
       nCurValue = nNextValue;
-      nDstIndex++;
+    }
+    return ret;
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final int nParents = aChromosomes.length;
+    final int nGenes = aChromosomes[0].getGeneCount ();
+    final int nMaxNeighbors = 2 * nParents;
+
+    // Fill neighbor lists of all parents
+    final int [] aNeighbors = new int [nGenes * nMaxNeighbors];
+    final int [] aDegrees = new int [nGenes];
+    final int [] [] aParentGenes = new int [nParents] [];
+    for (int p = 0; p < nParents; ++p)
+    {
+      final int [] aGenes = aChromosomes[p].getGeneIntArray ();
+      aParentGenes[p] = aGenes;
+      int nPrev = aGenes[nGenes - 1];
+      for (final int nCur : aGenes)
+      {
+        _addNeighbor (aNeighbors, aDegrees, nMaxNeighbors, nCur, nPrev);
+        _addNeighbor (aNeighbors, aDegrees, nMaxNeighbors, nPrev, nCur);
+        nPrev = nCur;
+      }
     }
 
-    final IChromosome aNew0 = Chromosome.createGenesInt (aChromosomes[0], aGenes0.getAllNewGenes ());
-    final IChromosome aNew1 = Chromosome.createGenesInt (aChromosomes[1], aGenes0.getAllNewGenes ());
-    return new IChromosome [] { aNew0, aNew1 };
+    // Each child starts with the first gene of a different parent
+    final IChromosome [] ret = new IChromosome [nParents];
+    for (int p = 0; p < nParents; ++p)
+    {
+      // The last child may consume the original lists
+      final boolean bLast = p == nParents - 1;
+      final int [] aChildGenes = _createChild (bLast ? aNeighbors : aNeighbors.clone (),
+                                              bLast ? aDegrees : aDegrees.clone (),
+                                              nMaxNeighbors,
+                                              aParentGenes[p][0]);
+      ret[p] = ChromosomeInt.createExclusive (aChromosomes[p], aChildGenes);
+    }
+    return ret;
   }
 }
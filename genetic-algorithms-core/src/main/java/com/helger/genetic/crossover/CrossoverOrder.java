@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import javax.annotation.Nonnull;
+
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.UnsupportedOperation;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Order crossover (OX1) Operator. Crossover for 2 int-chromosomes, having unique
+ * genes only. Select a part of the parent chromosomes that is directly copied to
+ * its children:
+ *
+ * <pre>
+ *     E1 = (1 - 2 - 3 - 4 - 5 - 6 - 7 - 8 - 9)
+ *     E2 = (9 - 3 - 7 - 8 - 2 - 6 - 5 - 1 - 4)
+ *                      +-------------+
+ *     N1 = (x - x - x - 4 - 5 - 6 - 7 - x - x)
+ *     N2 = (x - x - x - 8 - 2 - 6 - 5 - x - x)
+ * </pre>
+ *
+ * Starting after the selected part, the remaining positions are filled with
+ * the unused genes of the other parent in the order they appear in the other
+ * parent, also starting after the selected part (wrapping around at the end):
+ *
+ * <pre>
+ *     N1 = (3 - 8 - 2 - 4 - 5 - 6 - 7 - 1 - 9)
+ *     N2 = (3 - 4 - 7 - 8 - 2 - 6 - 5 - 9 - 1)
+ * </pre>
+ *
+ * Each child is created in a single O(n) pass.
+ *
+ * @author Philip Helger
+ */
+public class CrossoverOrder extends AbstractCrossover
+{
+  public CrossoverOrder (@Nonnull final IDecisionMaker aDescisionMaker)
+  {
+    super (2, aDescisionMaker);
+  }
+
+  /**
+   * This method determines the 2 indices that define the part to be copied.
+   * This can be overridden for tests, to avoid the randomness
+   *
+   * @param nGenes
+   *        The maximum index (exclusive)
+   * @return An array of 2 ints, where the first one must be lower than the
+   *         second one
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected int [] getCrossoverIndices (final int nGenes)
+  {
+    return RandomGenerator.getMultipleUniqueIntsInRange (2, nGenes);
+  }
+
+  @Nonnull
+  private static int [] _createChild (@Nonnull final int [] aParent,
+                                      @Nonnull final int [] aOtherParent,
+                                      final int nStartIndex,
+                                      final int nEndIndex)
+  {
+    final int nGenes = aParent.length;
+    final int [] ret = new int [nGenes];
+    final boolean [] aUsed = new boolean [nGenes];
+
+    // Copy the selected part
+    for (int i = nStartIndex; i < nEndIndex; ++i)
+    {
+      final int nValue = aParent[i];
+      ret[i] = nValue;
+      aUsed[nValue] = true;
+    }
+
+    // Fill the rest in the order of the other parent
+    int nDstIndex = nEndIndex % nGenes;
+    for (int i = 0; i < nGenes; ++i)
+    {
+      final int nValue = aOtherParent[(nEndIndex + i) % nGenes];
+      if (!aUsed[nValue])
+      {
+        ret[nDstIndex] = nValue;
+        nDstIndex = (nDstIndex + 1) % nGenes;
+      }
+    }
+    return ret;
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final int nGenes = aChromosomes[0].getGeneCount ();
+    final int [] aCrossoverIndeces = getCrossoverIndices (nGenes);
+
+    final int [] aGenes0 = aChromosomes[0].getGeneIntArray ();
+    final int [] aGenes1 = aChromosomes[1].getGeneIntArray ();
+
+    final int [] aNewGenes0 = _createChild (aGenes0, aGenes1, aCrossoverIndeces[0], aCrossoverIndeces[1]);
+    final int [] aNewGenes1 = _createChild (aGenes1, aGenes0, aCrossoverIndeces[0], aCrossoverIndeces[1]);
+
+    final IChromosome aNew0 = ChromosomeInt.createExclusive (aChromosomes[0], aNewGenes0);
+    final IChromosome aNew1 = ChromosomeInt.createExclusive (aChromosomes[1], aNewGenes1);
+    return new IChromosome [] { aNew0, aNew1 };
+  }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import javax.annotation.Nonnull;
+
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.UnsupportedOperation;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Order-based crossover (OX2) Operator. Crossover for 2 int-chromosomes, having
+ * unique genes only. Select a random set of positions. The genes of the second
+ * parent at these positions are searched in the first parent and re-ordered so
+ * that they appear in the same order as in the second parent. All other genes
+ * of the first parent remain unchanged:
+ *
+ * <pre>
+ *     E1 = (1 - 2 - 3 - 4 - 5 - 6 - 7 - 8)
+ *     E2 = (2 - 4 - 6 - 8 - 7 - 5 - 3 - 1)
+ *               +       +   +       +
+ *     Selected genes of E2 in order: 4 - 8 - 7 - 3
+ *     N1 = (1 - 2 - 4 - 8 - 5 - 6 - 7 - 3)
+ * </pre>
+ *
+ * The second child is created accordingly with swapped parents. Each child is
+ * created in a single O(n) pass.
+ *
+ * @author Philip Helger
+ */
+public class CrossoverOrderBased extends AbstractCrossover
+{
+  public CrossoverOrderBased (@Nonnull final IDecisionMaker aDescisionMaker)
+  {
+    super (2, aDescisionMaker);
+  }
+
+  /**
+   * This method determines the positions that are selected. Every position is
+   * selected with a probability of 50%. This can be overridden for tests, to
+   * avoid the randomness
+   *
+   * @param nGenes
+   *        The number of genes.
+   * @return An array with all selected positions in ascending order. May be
+   *         empty.
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected int [] getSelectedPositions (final int nGenes)
+  {
+    final int [] aPositions = new int [nGenes];
+    int nCount = 0;
+    for (int i = 0; i < nGenes; ++i)
+      if (RandomGenerator.getIntInRange (2) == 0)
+        aPositions[nCount++] = i;
+    final int [] ret = new int [nCount];
+    System.arraycopy (aPositions, 0, ret, 0, nCount);
+    return ret;
+  }
+
+  @Nonnull
+  private static int [] _createChild (@Nonnull final int [] aParent,
+                                      @Nonnull final int [] aOtherParent,
+                                      @Nonnull final int [] aPositions)
+  {
+    final int nGenes = aParent.length;
+    final int nPositions = aPositions.length;
+
+    // The selected genes in the order of the other parent
+    final int [] aOrderedValues = new int [nPositions];
+    final boolean [] aSelected = new boolean [nGenes];
+    for (int i = 0; i < nPositions; ++i)
+    {
+      final int nValue = aOtherParent[aPositions[i]];
+      aOrderedValues[i] = nValue;
+      aSelected[nValue] = true;
+    }
+
+    // Replace all selected genes in order
+    final int [] ret = new int [nGenes];
+    int nOrderedIndex = 0;
+    for (int i = 0; i < nGenes; ++i)
+    {
+      final int nValue = aParent[i];
+      ret[i] = aSelected[nValue] ? aOrderedValues[nOrderedIndex++] : nValue;
+    }
+    return ret;
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final int nGenes = aChromosomes[0].getGeneCount ();
+    final int [] aPositions = getSelectedPositions (nGenes);
+
+    final int [] aGenes0 = aChromosomes[0].getGeneIntArray ();
+    final int [] aGenes1 = aChromosomes[1].getGeneIntArray ();
+
+    final IChromosome aNew0 = ChromosomeInt.createExclusive (aChromosomes[0], _createChild (aGenes0, aGenes1, aPositions));
+    final IChromosome aNew1 = ChromosomeInt.createExclusive (aChromosomes[1], _createChild (aGenes1, aGenes0, aPositions));
+    return new IChromosome [] { aNew0, aNew1 };
+  }
+}
@@ -23,7 +23,7 @@ import com.helger.commons.annotation.OverrideOnDemand;
 import com.helger.commons.annotation.UnsupportedOperation;
 import com.helger.commons.annotation.VisibleForTesting;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
-import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
 import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.utils.random.RandomGenerator;
 
@@ -113,13 +113,23 @@ public class CrossoverPartiallyMapped extends AbstractCrossover
       }
 
     // Fill missing elements
+    // The lowest unused value is monotonically increasing, so the search can
+    // always continue from the last found value
+    int nUnusedValue0 = 0;
     for (int i = aGenes0.getNextNewUnusedIndex (0); i < nGenes; i = aGenes0.getNextNewUnusedIndex (i + 1))
-      aGenes0.setNewValue (i, aGenes0.getNextUnusedNewValue (0));
+    {
+      nUnusedValue0 = aGenes0.getNextUnusedNewValue (nUnusedValue0);
+      aGenes0.setNewValue (i, nUnusedValue0);
+    }
+    int nUnusedValue1 = 0;
     for (int i = aGenes1.getNextNewUnusedIndex (0); i < nGenes; i = aGenes1.getNextNewUnusedIndex (i + 1))
-      aGenes1.setNewValue (i, aGenes1.getNextUnusedNewValue (0));
+    {
+      nUnusedValue1 = aGenes1.getNextUnusedNewValue (nUnusedValue1);
+      aGenes1.setNewValue (i, nUnusedValue1);
+    }
 
-    final IChromosome aNew0 = Chromosome.createGenesInt (aChromosomes[0], aGenes0.getAllNewGenes ());
-    final IChromosome aNew1 = Chromosome.createGenesInt (aChromosomes[1], aGenes1.getAllNewGenes ());
+    final IChromosome aNew0 = ChromosomeInt.createExclusive (aChromosomes[0], aGenes0.getAllNewGenes ());
+    final IChromosome aNew1 = ChromosomeInt.createExclusive (aChromosomes[1], aGenes1.getAllNewGenes ());
     return new IChromosome [] { aNew0, aNew1 };
   }
 }
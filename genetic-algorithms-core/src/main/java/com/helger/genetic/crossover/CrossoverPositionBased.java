@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import javax.annotation.Nonnull;
+
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.UnsupportedOperation;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Position-based crossover (POS) Operator. Crossover for 2 int-chromosomes,
+ * having unique genes only. Select a random set of positions. The child takes
+ * the genes of the first parent at these positions. The remaining positions
+ * are filled from left to right with the unused genes in the order of the
+ * second parent:
+ *
+ * <pre>
+ *     E1 = (1 - 2 - 3 - 4 - 5 - 6 - 7 - 8)
+ *     E2 = (2 - 4 - 6 - 8 - 7 - 5 - 3 - 1)
+ *               +       +   +       +
+ *     N1 = (x - 2 - x - 4 - 5 - x - 7 - x)
+ *     N1 = (6 - 2 - 8 - 4 - 5 - 3 - 7 - 1)
+ * </pre>
+ *
+ * The second child is created accordingly with swapped parents. Each child is
+ * created in a single O(n) pass.
+ *
+ * @author Philip Helger
+ */
+public class CrossoverPositionBased extends AbstractCrossover
+{
+  public CrossoverPositionBased (@Nonnull final IDecisionMaker aDescisionMaker)
+  {
+    super (2, aDescisionMaker);
+  }
+
+  /**
+   * This method determines the positions that are selected. Every position is
+   * selected with a probability of 50%. This can be overridden for tests, to
+   * avoid the randomness
+   *
+   * @param nGenes
+   *        The number of genes.
+   * @return An array with all selected positions in ascending order. May be
+   *         empty.
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected int [] getSelectedPositions (final int nGenes)
+  {
+    final int [] aPositions = new int [nGenes];
+    int nCount = 0;
+    for (int i = 0; i < nGenes; ++i)
+      if (RandomGenerator.getIntInRange (2) == 0)
+        aPositions[nCount++] = i;
+    final int [] ret = new int [nCount];
+    System.arraycopy (aPositions, 0, ret, 0, nCount);
+    return ret;
+  }
+
+  @Nonnull
+  private static int [] _createChild (@Nonnull final int [] aParent,
+                                      @Nonnull final int [] aOtherParent,
+                                      @Nonnull final int [] aPositions)
+  {
+    final int nGenes = aParent.length;
+    final int [] ret = new int [nGenes];
+    final boolean [] aUsedIndex = new boolean [nGenes];
+    final boolean [] aUsedValue = new boolean [nGenes];
+
+    // Keep the genes at the selected positions
+    for (final int nPos : aPositions)
+    {
+      final int nValue = aParent[nPos];
+      ret[nPos] = nValue;
+      aUsedIndex[nPos] = true;
+      aUsedValue[nValue] = true;
+    }
+
+    // Fill the free positions in the order of the other parent
+    int nDstIndex = 0;
+    for (final int nValue : aOtherParent)
+      if (!aUsedValue[nValue])
+      {
+        while (aUsedIndex[nDstIndex])
+          nDstIndex++;
+        ret[nDstIndex++] = nValue;
+      }
+    return ret;
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final int nGenes = aChromosomes[0].getGeneCount ();
+    final int [] aPositions = getSelectedPositions (nGenes);
+
+    final int [] aGenes0 = aChromosomes[0].getGeneIntArray ();
+    final int [] aGenes1 = aChromosomes[1].getGeneIntArray ();
+
+    final IChromosome aNew0 = ChromosomeInt.createExclusive (aChromosomes[0], _createChild (aGenes0, aGenes1, aPositions));
+    final IChromosome aNew1 = ChromosomeInt.createExclusive (aChromosomes[1], _createChild (aGenes1, aGenes0, aPositions));
+    return new IChromosome [] { aNew0, aNew1 };
+  }
+}
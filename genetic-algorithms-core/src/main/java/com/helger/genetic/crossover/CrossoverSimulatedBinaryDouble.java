@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.UnsupportedOperation;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Simulated binary crossover (SBX) for 2 double-chromosomes. For each gene a
+ * spread factor &beta; is derived from a uniform random value <code>u</code>
+ * and the distribution index &eta;:
+ *
+ * <pre>
+ *     &beta; = (2u)^(1/(&eta;+1))             if u &le; 0.5
+ *     &beta; = (1/(2(1-u)))^(1/(&eta;+1))     otherwise
+ *
+ *     N1[i] = 0.5 * ((1 + &beta;) * P1[i] + (1 - &beta;) * P2[i])
+ *     N2[i] = 0.5 * ((1 - &beta;) * P1[i] + (1 + &beta;) * P2[i])
+ * </pre>
+ *
+ * A large &eta; creates children close to the parents, a small &eta; creates
+ * children far away from the parents.
+ *
+ * @author Philip Helger
+ */
+public class CrossoverSimulatedBinaryDouble extends AbstractCrossover
+{
+  public static final double DEFAULT_ETA = 15;
+
+  private final double m_dEta;
+
+  public CrossoverSimulatedBinaryDouble (@Nonnull final IDecisionMaker aDescisionMaker)
+  {
+    this (aDescisionMaker, DEFAULT_ETA);
+  }
+
+  public CrossoverSimulatedBinaryDouble (@Nonnull final IDecisionMaker aDescisionMaker,
+                                         @Nonnegative final double dEta)
+  {
+    super (2, aDescisionMaker);
+    ValueEnforcer.isGE0 (dEta, "Eta");
+    m_dEta = dEta;
+  }
+
+  @Nonnegative
+  public final double getEta ()
+  {
+    return m_dEta;
+  }
+
+  /**
+   * Fill the passed array with uniformly distributed random values in the
+   * range [0, 1). This can be overridden for tests, to avoid the randomness
+   *
+   * @param aDst
+   *        The array to be filled. Never <code>null</code>.
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected void fillRandomValues (@Nonnull final double [] aDst)
+  {
+    RandomGenerator.fillDoubles (aDst);
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final double [] aGenes0 = aChromosomes[0].getGeneDoubleArray ();
+    final double [] aGenes1 = aChromosomes[1].getGeneDoubleArray ();
+    final int nGenes = aGenes0.length;
+
+    // Convert the random values to spread factors in place
+    final double [] aBeta = new double [nGenes];
+    fillRandomValues (aBeta);
+    final double dExponent = 1 / (m_dEta + 1);
+    for (int i = 0; i < nGenes; ++i)
+    {
+      final double u = aBeta[i];
+      aBeta[i] = u <= 0.5 ? Math.pow (2 * u, dExponent) : Math.pow (1 / (2 * (1 - u)), dExponent);
+    }
+
+    final double [] aNewGenes0 = new double [nGenes];
+    final double [] aNewGenes1 = new double [nGenes];
+    for (int i = 0; i < nGenes; ++i)
+    {
+      final double dSum = aGenes0[i] + aGenes1[i];
+      final double dDiff = aBeta[i] * (aGenes0[i] - aGenes1[i]);
+      aNewGenes0[i] = 0.5 * (dSum + dDiff);
+      aNewGenes1[i] = 0.5 * (dSum - dDiff);
+    }
+
+    final IChromosome aNew0 = Chromosome.createGenesDouble (aChromosomes[0], aNewGenes0);
+    final IChromosome aNew1 = Chromosome.createGenesDouble (aChromosomes[1], aNewGenes1);
+    return new IChromosome [] { aNew0, aNew1 };
+  }
+}
@@ -19,6 +19,8 @@ package com.helger.genetic.crossover;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.collection.impl.CommonsArrayList;
 import com.helger.commons.collection.impl.ICommonsList;
 import com.helger.genetic.decisionmaker.IDecidingAction;
 import com.helger.genetic.model.chromosome.IChromosome;
@@ -46,4 +48,90 @@ public interface ICrossover extends IDecidingAction
    */
   @Nonnull
   ICommonsList <IChromosome> crossover (@Nonnull ICommonsList <IChromosome> aChromosomes);
+
+  /**
+   * Perform the crossover for a complete mating plan at once. For each mating
+   * the decision maker is asked separately. If the decision is negative, the
+   * parents are copied unchanged to the target.
+   *
+   * @param aParents
+   *        All chromosomes that may be used as parents. May not be
+   *        <code>null</code>.
+   * @param aMatingPlan
+   *        The mating plan. Each entry contains the indices of
+   *        {@link #getCrossoverChromosomeCount()} parents within aParents. May
+   *        not be <code>null</code>.
+   * @param aTarget
+   *        The target buffer. The offspring of mating <code>i</code> are
+   *        stored at index <code>i * getCrossoverChromosomeCount ()</code> and
+   *        the following. Must have at least
+   *        <code>aMatingPlan.length * getCrossoverChromosomeCount ()</code>
+   *        elements.
+   */
+  default void crossoverBatch (@Nonnull final IChromosome [] aParents,
+                               @Nonnull final int [] [] aMatingPlan,
+                               @Nonnull final IChromosome [] aTarget)
+  {
+    ValueEnforcer.notNull (aParents, "Parents");
+    ValueEnforcer.notNull (aMatingPlan, "MatingPlan");
+    ValueEnforcer.notNull (aTarget, "Target");
+    final int nCount = getCrossoverChromosomeCount ();
+    ValueEnforcer.isTrue (aTarget.length >= aMatingPlan.length * nCount, "Target buffer too small");
+
+    // One crossover call per mating
+    int nTargetIndex = 0;
+    for (final int [] aMating : aMatingPlan)
+    {
+      ValueEnforcer.isTrue (aMating.length == nCount, () -> "Each mating must have " + nCount + " parents");
+      final ICommonsList <IChromosome> aMatingParents = new CommonsArrayList <> (nCount);
+      for (final int nParentIndex : aMating)
+        aMatingParents.add (aParents[nParentIndex]);
+      for (final IChromosome aOffspring : crossover (aMatingParents))
+        aTarget[nTargetIndex++] = aOffspring;
+    }
+  }
+
+  /**
+   * Perform the crossover for a complete mating plan with a single decision
+   * for all matings - like {@link #crossover(ICommonsList)} does for all passed
+   * chromosomes. If the decision is negative, all parents are copied unchanged
+   * to the target.
+   *
+   * @param aParents
+   *        All chromosomes that may be used as parents. May not be
+   *        <code>null</code>.
+   * @param aMatingPlan
+   *        The mating plan. Each entry contains the indices of
+   *        {@link #getCrossoverChromosomeCount()} parents within aParents. May
+   *        not be <code>null</code>.
+   * @param aTarget
+   *        The target buffer. The offspring of mating <code>i</code> are
+   *        stored at index <code>i * getCrossoverChromosomeCount ()</code> and
+   *        the following. Must have at least
+   *        <code>aMatingPlan.length * getCrossoverChromosomeCount ()</code>
+   *        elements.
+   * @see #crossoverBatch(IChromosome[], int[][], IChromosome[])
+   */
+  default void crossoverBatchSingleDecision (@Nonnull final IChromosome [] aParents,
+                                             @Nonnull final int [] [] aMatingPlan,
+                                             @Nonnull final IChromosome [] aTarget)
+  {
+    ValueEnforcer.notNull (aParents, "Parents");
+    ValueEnforcer.notNull (aMatingPlan, "MatingPlan");
+    ValueEnforcer.notNull (aTarget, "Target");
+    final int nCount = getCrossoverChromosomeCount ();
+    ValueEnforcer.isTrue (aTarget.length >= aMatingPlan.length * nCount, "Target buffer too small");
+
+    // crossover mates consecutive chromosomes - so simply flatten the plan
+    final ICommonsList <IChromosome> aAllParents = new CommonsArrayList <> (aMatingPlan.length * nCount);
+    for (final int [] aMating : aMatingPlan)
+    {
+      ValueEnforcer.isTrue (aMating.length == nCount, () -> "Each mating must have " + nCount + " parents");
+      for (final int nParentIndex : aMating)
+        aAllParents.add (aParents[nParentIndex]);
+    }
+    int nTargetIndex = 0;
+    for (final IChromosome aOffspring : crossover (aAllParents))
+      aTarget[nTargetIndex++] = aOffspring;
+  }
 }
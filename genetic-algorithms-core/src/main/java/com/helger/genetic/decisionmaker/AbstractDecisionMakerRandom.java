@@ -16,6 +16,9 @@
  */
 package com.helger.genetic.decisionmaker;
 
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
 import com.helger.genetic.utils.random.RandomGenerator;
 
 /**
@@ -46,4 +49,55 @@ public abstract class AbstractDecisionMakerRandom implements IDecisionMaker
     final int nRandom = getNextRandom ();
     return useRandomNumber (nRandom / 100.0);
   }
+
+  /**
+   * Geometric skip sampling: select each of the provided trials independently
+   * with the provided probability. Instead of drawing one random number per
+   * trial, the distance to the next selected trial is drawn directly, so the
+   * effort is proportional to the number of selected trials only.
+   *
+   * @param dProbability
+   *        The probability of each trial to be selected. Between 0 and 1.
+   * @param nOffset
+   *        The index of the first trial. Must be &ge; 0.
+   * @param nTrials
+   *        The number of trials. Must be &ge; 0.
+   * @param aDst
+   *        The destination array for the indices of the selected trials. May
+   *        not be <code>null</code>.
+   * @param nDstIndex
+   *        The first index in aDst to be written. Must be &ge; 0.
+   * @return The index in aDst after the last written index.
+   */
+  @Nonnegative
+  protected static int fillSkipSampledIndices (final double dProbability,
+                                               @Nonnegative final int nOffset,
+                                               @Nonnegative final int nTrials,
+                                               @Nonnull final int [] aDst,
+                                               @Nonnegative final int nDstIndex)
+  {
+    final int nEnd = nOffset + nTrials;
+    int ret = nDstIndex;
+    if (dProbability >= 1)
+    {
+      for (int i = nOffset; i < nEnd; ++i)
+        aDst[ret++] = i;
+      return ret;
+    }
+    if (dProbability <= 0)
+      return ret;
+
+    // floor (E / -ln (1 - p)) with E ~ Exp(1) is geometrically distributed
+    final double dRate = -Math.log1p (-dProbability);
+    long nIndex = nOffset;
+    while (true)
+    {
+      nIndex += (long) Math.min (RandomGenerator.getExponential () / dRate, Integer.MAX_VALUE);
+      if (nIndex >= nEnd)
+        break;
+      aDst[ret++] = (int) nIndex;
+      ++nIndex;
+    }
+    return ret;
+  }
 }
@@ -18,6 +18,8 @@ package com.helger.genetic.decisionmaker;
 
 import javax.annotation.Nonnull;
 
+import com.helger.commons.ValueEnforcer;
+
 /**
  * Always do it.
  * 
@@ -41,4 +43,14 @@ public final class DecisionMakerAlways implements IDecisionMaker
     // Always
     return true;
   }
+
+  @Override
+  public int getSelectedIndices (final int nTrials, @Nonnull final int [] aDst)
+  {
+    ValueEnforcer.isGE0 (nTrials, "Trials");
+    ValueEnforcer.isTrue (aDst.length >= nTrials, "Destination array too small");
+    for (int i = 0; i < nTrials; ++i)
+      aDst[i] = i;
+    return nTrials;
+  }
 }
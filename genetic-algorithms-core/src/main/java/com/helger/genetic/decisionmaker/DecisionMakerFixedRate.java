@@ -17,6 +17,7 @@
 package com.helger.genetic.decisionmaker;
 
 import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
 
 import com.helger.commons.ValueEnforcer;
 
@@ -58,4 +59,17 @@ public class DecisionMakerFixedRate implements IDecisionMaker
     m_nCall++;
     return bShouldDoIt;
   }
+
+  @Override
+  public int getSelectedIndices (final int nTrials, @Nonnull final int [] aDst)
+  {
+    ValueEnforcer.isGE0 (nTrials, "Trials");
+    ValueEnforcer.isTrue (aDst.length >= nTrials, "Destination array too small");
+    // Offset of the first matching call - the rest follows every "of" calls
+    int ret = 0;
+    for (int i = (m_nEvery - m_nCall % m_nOf + m_nOf) % m_nOf; i < nTrials; i += m_nOf)
+      aDst[ret++] = i;
+    m_nCall += nTrials;
+    return ret;
+  }
 }
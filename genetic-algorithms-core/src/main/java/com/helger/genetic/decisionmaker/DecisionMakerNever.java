@@ -18,6 +18,8 @@ package com.helger.genetic.decisionmaker;
 
 import javax.annotation.Nonnull;
 
+import com.helger.commons.ValueEnforcer;
+
 /**
  * Do it never.
  * 
@@ -41,4 +43,11 @@ public final class DecisionMakerNever implements IDecisionMaker
     // Never
     return false;
   }
+
+  @Override
+  public int getSelectedIndices (final int nTrials, @Nonnull final int [] aDst)
+  {
+    ValueEnforcer.isGE0 (nTrials, "Trials");
+    return 0;
+  }
 }
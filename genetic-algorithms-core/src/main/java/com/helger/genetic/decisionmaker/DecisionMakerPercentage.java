@@ -17,8 +17,11 @@
 package com.helger.genetic.decisionmaker;
 
 import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
 
 import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.VisibleForTesting;
 
 /**
  * Do it for a certain percentage, based on a random number.
@@ -28,6 +31,9 @@ import com.helger.commons.ValueEnforcer;
 public class DecisionMakerPercentage extends AbstractDecisionMakerRandom
 {
   private double m_dPercentage;
+  private long m_nStep = 0;
+  // Number of following steps not requiring onStep
+  private long m_nConstantSteps = 0;
 
   protected static boolean isValidPercentage (final double dPercentage)
   {
@@ -53,10 +59,79 @@ public class DecisionMakerPercentage extends AbstractDecisionMakerRandom
     m_dPercentage = dPercentage;
   }
 
+  /**
+   * Called before each decision made via {@link #shouldDoIt()}, so that the
+   * percentage can be modified.
+   *
+   * @param nStep
+   *        The 1-based number of the current decision.
+   * @return The number of following decisions for which this method would not
+   *         modify the percentage and therefore does not need to be called.
+   *         This allows {@link #getSelectedIndices(int, int[])} to sample
+   *         these decisions at once. Return 0 to be called for every decision.
+   */
+  @OverrideOnDemand
+  @Nonnegative
+  protected long onStep (final long nStep)
+  {
+    // Never changes
+    return Long.MAX_VALUE;
+  }
+
   @Override
-  public boolean useRandomNumber (final double dRandom)
+  public final boolean useRandomNumber (final double dRandom)
   {
+    ++m_nStep;
+    m_nConstantSteps = onStep (m_nStep);
     final boolean bUse = dRandom <= m_dPercentage;
     return bUse;
   }
+
+  /**
+   * Get the exact probability that {@link #shouldDoIt()} returns
+   * <code>true</code> for the passed percentage.
+   *
+   * @param dPercentage
+   *        The percentage to use. Between 0 and 100.
+   * @return The probability between 0 and 1.
+   */
+  @VisibleForTesting
+  protected static double getProbability (final double dPercentage)
+  {
+    // The random number is in the range [0 - 10000] divided by 100 and the
+    // percentage check is inclusive
+    int nMax = (int) Math.min (Math.floor (dPercentage * 100), 10000);
+    while (nMax < 10000 && (nMax + 1) / 100.0 <= dPercentage)
+      nMax++;
+    while (nMax >= 0 && nMax / 100.0 > dPercentage)
+      nMax--;
+    return (nMax + 1) / 10001.0;
+  }
+
+  @Override
+  public final int getSelectedIndices (@Nonnegative final int nTrials, @Nonnull final int [] aDst)
+  {
+    ValueEnforcer.isGE0 (nTrials, "Trials");
+    ValueEnforcer.isTrue (aDst.length >= nTrials, "Destination array too small");
+    int ret = 0;
+    int nOffset = 0;
+    while (nOffset < nTrials)
+    {
+      // The percentage is constant for the next steps
+      final int nCount = (int) Math.min (m_nConstantSteps, nTrials - nOffset);
+      ret = fillSkipSampledIndices (getProbability (m_dPercentage), nOffset, nCount, aDst, ret);
+      m_nStep += nCount;
+      m_nConstantSteps -= nCount;
+      nOffset += nCount;
+
+      if (nOffset < nTrials)
+      {
+        // A step that may change the percentage
+        if (shouldDoIt ())
+          aDst[ret++] = nOffset;
+        nOffset++;
+      }
+    }
+    return ret;
+  }
 }
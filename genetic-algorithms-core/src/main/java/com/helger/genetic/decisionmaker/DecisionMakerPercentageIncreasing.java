@@ -30,7 +30,6 @@ public class DecisionMakerPercentageIncreasing extends DecisionMakerPercentage
 {
   private final double m_dMaxPercentage;
   private final double m_dDeltaPercentage;
-  private long m_nStep = 0;
   private final long m_nChangeStep;
 
   public DecisionMakerPercentageIncreasing (@Nonnegative final double dInitialPercentage,
@@ -72,10 +71,9 @@ public class DecisionMakerPercentageIncreasing extends DecisionMakerPercentage
   {}
 
   @Override
-  public boolean useRandomNumber (final double dRandom)
+  protected long onStep (final long nStep)
   {
-    ++m_nStep;
-    if ((m_nStep % m_nChangeStep) == 0)
+    if ((nStep % m_nChangeStep) == 0)
     {
       final double dCurPerc = getPercentage ();
       if (dCurPerc < m_dMaxPercentage)
@@ -85,7 +83,7 @@ public class DecisionMakerPercentageIncreasing extends DecisionMakerPercentage
         onPercentageChange ();
       }
     }
-
-    return super.useRandomNumber (dRandom);
+    // Unchanged until the next change step
+    return m_nChangeStep - 1 - nStep % m_nChangeStep;
   }
 }
@@ -18,6 +18,11 @@ package com.helger.genetic.decisionmaker;
 
 import java.io.Serializable;
 
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+
 /**
  * Functional interface for making decisions.
  * 
@@ -29,4 +34,31 @@ public interface IDecisionMaker extends Serializable
    * @return <code>true</code> to do it, <code>false</code> to not do it
    */
   boolean shouldDoIt ();
+
+  /**
+   * Make the decision for multiple consecutive trials at once. The result is
+   * identical (in terms of distribution and internal state) to calling
+   * {@link #shouldDoIt()} for each trial, but implementations may determine
+   * the positive trials directly, without a decision per trial.
+   *
+   * @param nTrials
+   *        The number of trials to decide. Must be &ge; 0.
+   * @param aDst
+   *        The array to be filled with the ascending 0-based indices of all
+   *        trials that should be done. The length must be &ge; nTrials. May
+   *        not be <code>null</code>.
+   * @return The number of selected trials. The indices are stored in aDst at
+   *         positions [0 - return value[.
+   */
+  @Nonnegative
+  default int getSelectedIndices (@Nonnegative final int nTrials, @Nonnull final int [] aDst)
+  {
+    ValueEnforcer.isGE0 (nTrials, "Trials");
+    ValueEnforcer.isTrue (aDst.length >= nTrials, "Destination array too small");
+    int ret = 0;
+    for (int i = 0; i < nTrials; ++i)
+      if (shouldDoIt ())
+        aDst[ret++] = i;
+    return ret;
+  }
 }
@@ -89,6 +89,7 @@ public class Population implements IMutablePopulation
   {
     ValueEnforcer.notNull (aChromosome, "Chromosome");
 
+    aChromosome.releaseOwnership ();
     m_aChromosomes.add (aChromosome);
     // Reset cache
     m_aFittestChromosome = null;
@@ -98,7 +99,11 @@ public class Population implements IMutablePopulation
   {
     ValueEnforcer.notNull (aChromosomes, "Chromosomes");
 
-    m_aChromosomes.addAll (aChromosomes);
+    for (final IChromosome aChromosome : aChromosomes)
+    {
+      aChromosome.releaseOwnership ();
+      m_aChromosomes.add (aChromosome);
+    }
     // Reset cache
     m_aFittestChromosome = null;
   }
@@ -107,6 +112,7 @@ public class Population implements IMutablePopulation
   {
     ValueEnforcer.notNull (aChromosome, "Chromosome");
 
+    aChromosome.releaseOwnership ();
     m_aChromosomes.set (nIndex, aChromosome);
     // Reset cache
     m_aFittestChromosome = null;
@@ -0,0 +1,296 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.model.chromosome;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.annotation.ReturnsMutableObject;
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.commons.string.ToStringGenerator;
+import com.helger.genetic.model.IFitnessFunction;
+import com.helger.genetic.model.gene.GeneInt;
+import com.helger.genetic.model.gene.IGene;
+
+/**
+ * Implementation of {@link IChromosome} that stores int genes in a primitive
+ * array. {@link IGene} objects are only created on demand.<br>
+ * A chromosome may be exclusively owned, which means that only the creator
+ * (e.g. the crossover that created it) holds a reference. In that case the
+ * genes may be modified in place via {@link #internalGetGeneIntArray()}, and
+ * the cached fitness must be adjusted via {@link #invalidateFitness()} or
+ * {@link #adjustFitness(double)}. As soon as the chromosome is handed out
+ * (e.g. added to a population), {@link #releaseOwnership()} must be called.
+ *
+ * @author Philip Helger
+ */
+public class ChromosomeInt implements IChromosome
+{
+  private final IFitnessFunction m_aFitnessFunction;
+  private final IChromsomeValidator m_aChromsomeValidator;
+  private final int [] m_aGenes;
+  private boolean m_bExclusivelyOwned;
+  // Status cache
+  private Double m_aFitness;
+
+  /**
+   * Constructor
+   *
+   * @param aFitnessFunction
+   *        Fitness function. May not be <code>null</code>.
+   * @param aChromsomeValidator
+   *        Validator. May be <code>null</code>.
+   * @param aGenes
+   *        The genes. The array is not copied, so the caller may not modify it
+   *        afterwards.
+   * @param aFitness
+   *        The already known fitness. May be <code>null</code>.
+   * @param bExclusivelyOwned
+   *        <code>true</code> if the caller is the only owner of the new
+   *        chromosome.
+   */
+  public ChromosomeInt (@Nonnull final IFitnessFunction aFitnessFunction,
+                        @Nullable final IChromsomeValidator aChromsomeValidator,
+                        @Nonnull @Nonempty final int [] aGenes,
+                        @Nullable final Double aFitness,
+                        final boolean bExclusivelyOwned)
+  {
+    if (aFitnessFunction == null)
+      throw new NullPointerException ("fitnessFunction");
+    if (aGenes == null || aGenes.length == 0)
+      throw new IllegalArgumentException ("No genes provided!");
+    m_aFitnessFunction = aFitnessFunction;
+    m_aChromsomeValidator = aChromsomeValidator;
+    m_aGenes = aGenes;
+    m_aFitness = aFitness;
+    m_bExclusivelyOwned = bExclusivelyOwned;
+  }
+
+  @Nonnegative
+  public int getGeneCount ()
+  {
+    return m_aGenes.length;
+  }
+
+  @Nonnull
+  public IGene getGene (@Nonnegative final int nIndex)
+  {
+    return new GeneInt (m_aGenes[nIndex]);
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <IGene> getAllGenes ()
+  {
+    final ICommonsList <IGene> ret = new CommonsArrayList <> (m_aGenes.length);
+    for (final int nValue : m_aGenes)
+      ret.add (new GeneInt (nValue));
+    return ret;
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  public IGene [] getGeneArray ()
+  {
+    final IGene [] ret = new IGene [m_aGenes.length];
+    for (int i = 0; i < ret.length; ++i)
+      ret[i] = new GeneInt (m_aGenes[i]);
+    return ret;
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  public int [] getGeneIntArray ()
+  {
+    return m_aGenes.clone ();
+  }
+
+  /**
+   * @return The internal gene array. It may only be modified if this
+   *         chromosome is exclusively owned.
+   */
+  @Nonnull
+  @ReturnsMutableObject ("Performance")
+  public int [] internalGetGeneIntArray ()
+  {
+    // ESCA-JAVA0259:
+    return m_aGenes;
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  public double [] getGeneDoubleArray ()
+  {
+    final double [] ret = new double [m_aGenes.length];
+    for (int i = 0; i < ret.length; ++i)
+      ret[i] = m_aGenes[i];
+    return ret;
+  }
+
+  @Nonnull
+  public IFitnessFunction getFitnessFunction ()
+  {
+    return m_aFitnessFunction;
+  }
+
+  @Nonnull
+  public Double getFitnessObj ()
+  {
+    // Lazy calculation with caching
+    if (m_aFitness == null)
+      m_aFitness = Double.valueOf (m_aFitnessFunction.getFitness (this));
+    return m_aFitness;
+  }
+
+  public double getFitness ()
+  {
+    return getFitnessObj ().doubleValue ();
+  }
+
+  public boolean isFitterThan (@Nonnull final IChromosome aChromosome)
+  {
+    return getFitnessObj ().compareTo (aChromosome.getFitnessObj ()) > 0;
+  }
+
+  private void _checkExclusivelyOwned ()
+  {
+    if (!m_bExclusivelyOwned)
+      throw new IllegalStateException ("The chromosome is not exclusively owned and therefore immutable");
+  }
+
+  /**
+   * Reset the cached fitness after the genes were modified in place. Only
+   * allowed if this chromosome is exclusively owned.
+   */
+  public void invalidateFitness ()
+  {
+    _checkExclusivelyOwned ();
+    m_aFitness = null;
+  }
+
+  /**
+   * Adjust the cached fitness by the passed delta after the genes were
+   * modified in place. If the fitness was not yet calculated, nothing happens.
+   * Only allowed if this chromosome is exclusively owned.
+   *
+   * @param dFitnessDelta
+   *        The fitness difference caused by the modification.
+   */
+  public void adjustFitness (final double dFitnessDelta)
+  {
+    _checkExclusivelyOwned ();
+    if (m_aFitness != null)
+      m_aFitness = Double.valueOf (m_aFitness.doubleValue () + dFitnessDelta);
+  }
+
+  @Nullable
+  public IChromsomeValidator getValidator ()
+  {
+    return m_aChromsomeValidator;
+  }
+
+  public boolean isValid ()
+  {
+    return m_aChromsomeValidator == null || m_aChromsomeValidator.isValidChromosome (this);
+  }
+
+  @Override
+  public boolean isExclusivelyOwned ()
+  {
+    return m_bExclusivelyOwned;
+  }
+
+  @Override
+  public void releaseOwnership ()
+  {
+    m_bExclusivelyOwned = false;
+  }
+
+  @Override
+  public boolean equals (final Object o)
+  {
+    if (o == this)
+      return true;
+    if (o == null || !getClass ().equals (o.getClass ()))
+      return false;
+    final ChromosomeInt rhs = (ChromosomeInt) o;
+    // fitness function and fitness are irrelevant
+    return Arrays.equals (m_aGenes, rhs.m_aGenes);
+  }
+
+  @Override
+  public int hashCode ()
+  {
+    // fitness function and fitness are irrelevant
+    return Arrays.hashCode (m_aGenes);
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("genes", m_aGenes)
+                                       .append ("fitness", m_aFitness)
+                                       .append ("exclusivelyOwned", m_bExclusivelyOwned)
+                                       .getToString ();
+  }
+
+  /**
+   * Create a new exclusively owned chromosome, e.g. as the result of a
+   * crossover.
+   *
+   * @param aChromosome
+   *        The source chromosome to take fitness function and validator from.
+   * @param aGeneValues
+   *        The gene values. The array is not copied.
+   * @return The new chromosome. Never <code>null</code>.
+   */
+  @Nonnull
+  public static ChromosomeInt createExclusive (@Nonnull final IChromosome aChromosome,
+                                               @Nonnull @Nonempty final int... aGeneValues)
+  {
+    return new ChromosomeInt (aChromosome.getFitnessFunction (), aChromosome.getValidator (), aGeneValues, null, true);
+  }
+
+  /**
+   * Create a new exclusively owned chromosome with an already known fitness.
+   *
+   * @param aChromosome
+   *        The source chromosome to take fitness function and validator from.
+   * @param dFitness
+   *        The fitness of the new chromosome.
+   * @param aGeneValues
+   *        The gene values. The array is not copied.
+   * @return The new chromosome. Never <code>null</code>.
+   */
+  @Nonnull
+  public static ChromosomeInt createExclusiveWithFitness (@Nonnull final IChromosome aChromosome,
+                                                          final double dFitness,
+                                                          @Nonnull @Nonempty final int... aGeneValues)
+  {
+    return new ChromosomeInt (aChromosome.getFitnessFunction (),
+                              aChromosome.getValidator (),
+                              aGeneValues,
+                              Double.valueOf (dFitness),
+                              true);
+  }
+}
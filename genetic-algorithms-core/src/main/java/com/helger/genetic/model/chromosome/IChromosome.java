@@ -122,6 +122,24 @@ public interface IChromosome extends Serializable
    */
   boolean isValid ();
 
+  /**
+   * @return <code>true</code> if only the creator holds a reference to this
+   *         chromosome, so that it may be modified in place. The default is
+   *         <code>false</code>.
+   */
+  default boolean isExclusivelyOwned ()
+  {
+    return false;
+  }
+
+  /**
+   * Mark this chromosome as shared, so that it will not be modified in place
+   * anymore. This must be called, as soon as the chromosome is handed out -
+   * e.g. when it is added to a population.
+   */
+  default void releaseOwnership ()
+  {}
+
   @Nonnull
   static Comparator <IChromosome> comparatorFitness ()
   {
@@ -22,6 +22,7 @@ import javax.annotation.Nonnull;
 import com.helger.commons.ValueEnforcer;
 import com.helger.commons.collection.impl.ICommonsList;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
 import com.helger.genetic.model.chromosome.IChromosome;
 
 /**
@@ -64,23 +65,103 @@ public abstract class AbstractMutation implements IMutation
     return m_nExecutionCount;
   }
 
+  /**
+   * Get the int genes of the passed chromosome to be mutated. If the
+   * chromosome is an exclusively owned {@link ChromosomeInt} the internal array
+   * is returned and may be modified in place. Otherwise a copy is returned.
+   *
+   * @param aChromosome
+   *        The source chromosome. May not be <code>null</code>.
+   * @return The gene array to be modified. Never <code>null</code>.
+   */
   @Nonnull
-  public abstract IChromosome executeMutation (@Nonnull final IChromosome aChromosome);
+  protected static int [] getGeneIntArrayForMutation (@Nonnull final IChromosome aChromosome)
+  {
+    if (aChromosome instanceof ChromosomeInt && aChromosome.isExclusivelyOwned ())
+      return ((ChromosomeInt) aChromosome).internalGetGeneIntArray ();
+    return aChromosome.getGeneIntArray ();
+  }
 
+  /**
+   * Create the result of a mutation from the genes retrieved via
+   * {@link #getGeneIntArrayForMutation(IChromosome)}.
+   *
+   * @param aChromosome
+   *        The source chromosome. May not be <code>null</code>.
+   * @param aGenes
+   *        The modified genes. May not be <code>null</code>.
+   * @return The source chromosome with invalidated fitness if it was modified
+   *         in place, a new chromosome otherwise.
+   */
   @Nonnull
-  public ICommonsList <IChromosome> mutate (@Nonnull final ICommonsList <IChromosome> aChromosomes)
+  protected static IChromosome createMutatedChromosome (@Nonnull final IChromosome aChromosome,
+                                                        @Nonnull final int [] aGenes)
+  {
+    if (aChromosome instanceof ChromosomeInt && aChromosome.isExclusivelyOwned ())
+    {
+      final ChromosomeInt aChromosomeInt = (ChromosomeInt) aChromosome;
+      if (aChromosomeInt.internalGetGeneIntArray () == aGenes)
+      {
+        aChromosomeInt.invalidateFitness ();
+        return aChromosomeInt;
+      }
+    }
+    return new ChromosomeInt (aChromosome.getFitnessFunction (), aChromosome.getValidator (), aGenes, null, false);
+  }
+
+  /**
+   * Create the result of a mutation from the genes retrieved via
+   * {@link #getGeneIntArrayForMutation(IChromosome)}, if the fitness difference
+   * caused by the mutation is known.
+   *
+   * @param aChromosome
+   *        The source chromosome. May not be <code>null</code>.
+   * @param aGenes
+   *        The modified genes. May not be <code>null</code>.
+   * @param dFitnessDelta
+   *        The fitness difference between the mutated and the source
+   *        chromosome.
+   * @return The source chromosome with adjusted fitness if it was modified in
+   *         place, a new chromosome otherwise.
+   */
+  @Nonnull
+  protected static IChromosome createMutatedChromosome (@Nonnull final IChromosome aChromosome,
+                                                        @Nonnull final int [] aGenes,
+                                                        final double dFitnessDelta)
   {
-    int nIndex = 0;
-    for (final IChromosome aChromosome : aChromosomes)
+    if (aChromosome instanceof ChromosomeInt && aChromosome.isExclusivelyOwned ())
     {
-      m_nTryCount++;
-      if (m_aDescisionMaker.shouldDoIt ())
+      final ChromosomeInt aChromosomeInt = (ChromosomeInt) aChromosome;
+      if (aChromosomeInt.internalGetGeneIntArray () == aGenes)
       {
-        m_nExecutionCount++;
-        final IChromosome aMutatedChromosome = executeMutation (aChromosome);
-        aChromosomes.set (nIndex, aMutatedChromosome);
+        aChromosomeInt.adjustFitness (dFitnessDelta);
+        return aChromosomeInt;
       }
-      ++nIndex;
+    }
+    return new ChromosomeInt (aChromosome.getFitnessFunction (),
+                              aChromosome.getValidator (),
+                              aGenes,
+                              Double.valueOf (aChromosome.getFitness () + dFitnessDelta),
+                              false);
+  }
+
+  @Nonnull
+  public abstract IChromosome executeMutation (@Nonnull final IChromosome aChromosome);
+
+  @Nonnull
+  public ICommonsList <IChromosome> mutate (@Nonnull final ICommonsList <IChromosome> aChromosomes)
+  {
+    // Determine all chromosomes to be mutated at once
+    final int nTrials = aChromosomes.size ();
+    final int [] aIndices = new int [nTrials];
+    final int nSelected = m_aDescisionMaker.getSelectedIndices (nTrials, aIndices);
+    m_nTryCount += nTrials;
+    m_nExecutionCount += nSelected;
+    for (int i = 0; i < nSelected; ++i)
+    {
+      final int nIndex = aIndices[i];
+      final IChromosome aMutatedChromosome = executeMutation (aChromosomes.get (nIndex));
+      aChromosomes.set (nIndex, aMutatedChromosome);
     }
     return aChromosomes;
   }
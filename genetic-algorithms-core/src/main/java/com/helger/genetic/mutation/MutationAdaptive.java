@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.mutation;
+
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.adaptive.AdaptiveOperatorSelector;
+import com.helger.genetic.adaptive.EOperatorSelectionStrategy;
+import com.helger.genetic.adaptive.OperatorStatistics;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Mutation that holds a portfolio of mutations and chooses the one to apply
+ * with an {@link AdaptiveOperatorSelector}. For each application the fitness
+ * improvement and the time spent (including the fitness evaluation of the
+ * result) are measured, so that the CPU time is spent on the mutations that
+ * pay off at the current stage of the search.
+ *
+ * @author Philip Helger
+ */
+public class MutationAdaptive extends AbstractMutation
+{
+  private final ICommonsList <AbstractMutation> m_aMutations;
+  private final AdaptiveOperatorSelector m_aSelector;
+
+  public MutationAdaptive (@Nonnull final IDecisionMaker aDescisionMaker,
+                           @Nonnull final EOperatorSelectionStrategy eStrategy,
+                           @Nonnull @Nonempty final AbstractMutation... aMutations)
+  {
+    this (aDescisionMaker, new CommonsArrayList <> (aMutations), eStrategy);
+  }
+
+  public MutationAdaptive (@Nonnull final IDecisionMaker aDescisionMaker,
+                           @Nonnull @Nonempty final ICommonsList <? extends AbstractMutation> aMutations,
+                           @Nonnull final EOperatorSelectionStrategy eStrategy)
+  {
+    this (aDescisionMaker, aMutations, new AdaptiveOperatorSelector (aMutations.size (), eStrategy));
+  }
+
+  /**
+   * Full constructor
+   *
+   * @param aDescisionMaker
+   *        Decision maker whether to mutate at all
+   * @param aMutations
+   *        The mutation portfolio. The decision makers of these mutations are
+   *        ignored.
+   * @param aSelector
+   *        The selector to use. Must have one operator per mutation.
+   */
+  public MutationAdaptive (@Nonnull final IDecisionMaker aDescisionMaker,
+                           @Nonnull @Nonempty final ICommonsList <? extends AbstractMutation> aMutations,
+                           @Nonnull final AdaptiveOperatorSelector aSelector)
+  {
+    super (aDescisionMaker);
+    ValueEnforcer.notEmptyNoNullValue (aMutations, "Mutations");
+    ValueEnforcer.notNull (aSelector, "Selector");
+    ValueEnforcer.isTrue (aSelector.getOperatorCount () == aMutations.size (),
+                          "Selector operator count does not match the mutation count");
+    m_aMutations = new CommonsArrayList <> (aMutations);
+    m_aSelector = aSelector;
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  public final ICommonsList <AbstractMutation> getAllMutations ()
+  {
+    return m_aMutations.getClone ();
+  }
+
+  @Nonnull
+  public final AdaptiveOperatorSelector getSelector ()
+  {
+    return m_aSelector;
+  }
+
+  /**
+   * @return A snapshot of the statistics of all mutations, in the order of
+   *         {@link #getAllMutations()}.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public final ICommonsList <OperatorStatistics> getAllStatistics ()
+  {
+    return m_aSelector.getAllStatistics ();
+  }
+
+  @Override
+  @Nonnull
+  public IChromosome executeMutation (@Nonnull final IChromosome aChromosome)
+  {
+    final int nOperator = m_aSelector.selectOperator ();
+    // Must be read before, as the mutation may work in place
+    final double dOldFitness = aChromosome.getFitness ();
+
+    final long nStart = System.nanoTime ();
+    final IChromosome ret = m_aMutations.get (nOperator).executeMutation (aChromosome);
+    final double dNewFitness = ret.getFitness ();
+    final long nNanos = System.nanoTime () - nStart;
+
+    m_aSelector.addResult (nOperator, dNewFitness - dOldFitness, nNanos);
+    return ret;
+  }
+}
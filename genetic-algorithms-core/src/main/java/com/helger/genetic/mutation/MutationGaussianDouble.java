@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.mutation;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Mutation for double-chromosomes that adds normally distributed noise with
+ * mean 0 and the configured standard deviation &sigma; to each gene.
+ *
+ * @author Philip Helger
+ */
+public class MutationGaussianDouble extends AbstractMutation
+{
+  private final double m_dSigma;
+
+  public MutationGaussianDouble (@Nonnull final IDecisionMaker aDescisionMaker, @Nonnegative final double dSigma)
+  {
+    super (aDescisionMaker);
+    ValueEnforcer.isGT0 (dSigma, "Sigma");
+    m_dSigma = dSigma;
+  }
+
+  @Nonnegative
+  public final double getSigma ()
+  {
+    return m_dSigma;
+  }
+
+  /**
+   * Fill the passed array with standard normally distributed random values,
+   * using the ziggurat method of the random generator. This can be overridden
+   * for tests, to avoid the randomness
+   *
+   * @param aDst
+   *        The array to be filled. Never <code>null</code>.
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected void fillGaussianValues (@Nonnull final double [] aDst)
+  {
+    RandomGenerator.fillGaussian (aDst);
+  }
+
+  @Override
+  @Nonnull
+  public IChromosome executeMutation (@Nonnull final IChromosome aChromosome)
+  {
+    final double [] aGenes = aChromosome.getGeneDoubleArray ();
+    final int nGenes = aGenes.length;
+
+    final double [] aNoise = new double [nGenes];
+    fillGaussianValues (aNoise);
+
+    final double dSigma = m_dSigma;
+    for (int i = 0; i < nGenes; ++i)
+      aGenes[i] += dSigma * aNoise[i];
+    return Chromosome.createGenesDouble (aChromosome, aGenes);
+  }
+}
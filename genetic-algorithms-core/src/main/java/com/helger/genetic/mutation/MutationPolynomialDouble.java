@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.mutation;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Polynomial mutation for double-chromosomes with fixed lower and upper
+ * bounds. For each gene a perturbation &delta; is derived from a uniform random
+ * value <code>u</code> and the distribution index &eta;:
+ *
+ * <pre>
+ *     &delta; = (2u)^(1/(&eta;+1)) - 1           if u &lt; 0.5
+ *     &delta; = 1 - (2(1-u))^(1/(&eta;+1))       otherwise
+ *
+ *     N[i] = P[i] + &delta; * (upper - lower)
+ * </pre>
+ *
+ * The result is clamped to the bounds.
+ *
+ * @author Philip Helger
+ */
+public class MutationPolynomialDouble extends AbstractMutation
+{
+  public static final double DEFAULT_ETA = 20;
+
+  private final double m_dEta;
+  private final double m_dLowerBound;
+  private final double m_dUpperBound;
+
+  public MutationPolynomialDouble (@Nonnull final IDecisionMaker aDescisionMaker,
+                                   final double dLowerBound,
+                                   final double dUpperBound)
+  {
+    this (aDescisionMaker, DEFAULT_ETA, dLowerBound, dUpperBound);
+  }
+
+  public MutationPolynomialDouble (@Nonnull final IDecisionMaker aDescisionMaker,
+                                   @Nonnegative final double dEta,
+                                   final double dLowerBound,
+                                   final double dUpperBound)
+  {
+    super (aDescisionMaker);
+    ValueEnforcer.isGE0 (dEta, "Eta");
+    ValueEnforcer.isTrue (dLowerBound < dUpperBound, "Lower bound must be lower than the upper bound");
+    m_dEta = dEta;
+    m_dLowerBound = dLowerBound;
+    m_dUpperBound = dUpperBound;
+  }
+
+  @Nonnegative
+  public final double getEta ()
+  {
+    return m_dEta;
+  }
+
+  public final double getLowerBound ()
+  {
+    return m_dLowerBound;
+  }
+
+  public final double getUpperBound ()
+  {
+    return m_dUpperBound;
+  }
+
+  /**
+   * Fill the passed array with uniformly distributed random values in the
+   * range [0, 1). This can be overridden for tests, to avoid the randomness
+   *
+   * @param aDst
+   *        The array to be filled. Never <code>null</code>.
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected void fillRandomValues (@Nonnull final double [] aDst)
+  {
+    RandomGenerator.fillDoubles (aDst);
+  }
+
+  @Override
+  @Nonnull
+  public IChromosome executeMutation (@Nonnull final IChromosome aChromosome)
+  {
+    final double [] aGenes = aChromosome.getGeneDoubleArray ();
+    final int nGenes = aGenes.length;
+
+    // Convert the random values to perturbations in place
+    final double [] aDelta = new double [nGenes];
+    fillRandomValues (aDelta);
+    final double dExponent = 1 / (m_dEta + 1);
+    for (int i = 0; i < nGenes; ++i)
+    {
+      final double u = aDelta[i];
+      aDelta[i] = u < 0.5 ? Math.pow (2 * u, dExponent) - 1 : 1 - Math.pow (2 * (1 - u), dExponent);
+    }
+
+    final double dLower = m_dLowerBound;
+    final double dUpper = m_dUpperBound;
+    final double dRange = dUpper - dLower;
+    for (int i = 0; i < nGenes; ++i)
+      aGenes[i] = Math.min (dUpper, Math.max (dLower, aGenes[i] + aDelta[i] * dRange));
+    return Chromosome.createGenesDouble (aChromosome, aGenes);
+  }
+}
@@ -21,6 +21,7 @@ import javax.annotation.Nonnull;
 import com.helger.commons.collection.impl.ICommonsList;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
 import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
 import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.model.gene.IGene;
 import com.helger.genetic.utils.random.RandomGenerator;
@@ -67,6 +68,16 @@ public class MutationRandomExchange extends AbstractMutation
     final int nIndex1 = aIndices[0];
     final int nIndex2 = aIndices[1];
 
+    if (aChromosome instanceof ChromosomeInt)
+    {
+      // Primitive path - exchange in place if possible
+      final int [] aIntGenes = getGeneIntArrayForMutation (aChromosome);
+      final int nTmp = aIntGenes[nIndex1];
+      aIntGenes[nIndex1] = aIntGenes[nIndex2];
+      aIntGenes[nIndex2] = nTmp;
+      return createMutatedChromosome (aChromosome, aIntGenes);
+    }
+
     // Create a copy of the genes
     final ICommonsList <IGene> aGenes = aChromosome.getAllGenes ();
     // And exchange gene 1 and 2
@@ -22,6 +22,7 @@ import com.helger.commons.collection.impl.CommonsArrayList;
 import com.helger.commons.collection.impl.ICommonsList;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
 import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
 import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.model.gene.IGene;
 import com.helger.genetic.utils.random.RandomGenerator;
@@ -72,6 +73,21 @@ public class MutationRandomMoveMultiple extends AbstractMutation
     final int nIndexSrc = aIndices[0];
     final int nIndexDst = aIndices[1];
 
+    if (aChromosome instanceof ChromosomeInt)
+    {
+      // Primitive path - remember the moved block and shift the elements in
+      // between
+      final int [] aIntGenes = getGeneIntArrayForMutation (aChromosome);
+      final int [] aBlock = new int [nElementsToMove];
+      System.arraycopy (aIntGenes, nIndexSrc, aBlock, 0, nElementsToMove);
+      if (nIndexSrc < nIndexDst)
+        System.arraycopy (aIntGenes, nIndexSrc + nElementsToMove, aIntGenes, nIndexSrc, nIndexDst - nIndexSrc);
+      else
+        System.arraycopy (aIntGenes, nIndexDst, aIntGenes, nIndexDst + nElementsToMove, nIndexSrc - nIndexDst);
+      System.arraycopy (aBlock, 0, aIntGenes, nIndexDst, nElementsToMove);
+      return createMutatedChromosome (aChromosome, aIntGenes);
+    }
+
     // Create a copy of the genes
     final ICommonsList <IGene> aGenes = aChromosome.getAllGenes ();
     // Remove all from the source position
@@ -21,6 +21,7 @@ import javax.annotation.Nonnull;
 import com.helger.commons.collection.impl.ICommonsList;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
 import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
 import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.model.gene.IGene;
 import com.helger.genetic.utils.random.RandomGenerator;
@@ -67,6 +68,19 @@ public class MutationRandomMoveSingle extends AbstractMutation
     final int nIndexSrc = aIndices[0];
     final int nIndexDst = aIndices[1];
 
+    if (aChromosome instanceof ChromosomeInt)
+    {
+      // Primitive path - shift the elements in between by one
+      final int [] aIntGenes = getGeneIntArrayForMutation (aChromosome);
+      final int nValue = aIntGenes[nIndexSrc];
+      if (nIndexSrc < nIndexDst)
+        System.arraycopy (aIntGenes, nIndexSrc + 1, aIntGenes, nIndexSrc, nIndexDst - nIndexSrc);
+      else
+        System.arraycopy (aIntGenes, nIndexDst, aIntGenes, nIndexDst + 1, nIndexSrc - nIndexDst);
+      aIntGenes[nIndexDst] = nValue;
+      return createMutatedChromosome (aChromosome, aIntGenes);
+    }
+
     // Create a copy of the genes
     final ICommonsList <IGene> aGenes = aChromosome.getAllGenes ();
     // Remove from the source position
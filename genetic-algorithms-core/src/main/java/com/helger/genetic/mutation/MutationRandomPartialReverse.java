@@ -24,6 +24,7 @@ import com.helger.commons.collection.impl.ICommonsList;
 import com.helger.commons.math.MathHelper;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
 import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
 import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.model.gene.IGene;
 import com.helger.genetic.utils.random.RandomGenerator;
@@ -76,6 +77,21 @@ public class MutationRandomPartialReverse extends AbstractMutation
       // 2 elements
     } while (MathHelper.abs (nIndex1 - nIndex2) < 2);
 
+    if (aChromosome instanceof ChromosomeInt)
+    {
+      // Primitive path - reverse in place if possible
+      final int [] aIntGenes = getGeneIntArrayForMutation (aChromosome);
+      int nLow = Math.min (nIndex1, nIndex2);
+      int nHigh = Math.max (nIndex1, nIndex2) - 1;
+      while (nLow < nHigh)
+      {
+        final int nTmp = aIntGenes[nLow];
+        aIntGenes[nLow++] = aIntGenes[nHigh];
+        aIntGenes[nHigh--] = nTmp;
+      }
+      return createMutatedChromosome (aChromosome, aIntGenes);
+    }
+
     // Create a copy of all genes
     final ICommonsList <IGene> aGenes = aChromosome.getAllGenes ();
     // Partially reverse stuff
@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+/**
+ * The ranking scheme used by {@link SelectorRank}. Rank 0 is the fittest
+ * chromosome, rank n-1 the least fit one.
+ *
+ * @author Philip Helger
+ */
+public enum ERankingScheme
+{
+  /**
+   * Linear ranking: the selection probability decreases linearly with the
+   * rank. The parameter is the selection pressure in the range [1,2] - the
+   * expected number of copies of the fittest chromosome.
+   */
+  LINEAR,
+  /**
+   * Exponential ranking: the selection probability of rank i is proportional
+   * to c<sup>i</sup>. The parameter is the base c in the range ]0,1].
+   */
+  EXPONENTIAL;
+}
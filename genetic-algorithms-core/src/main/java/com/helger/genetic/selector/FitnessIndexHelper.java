@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Helper methods for selectors working on primitive fitness arrays.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+public final class FitnessIndexHelper
+{
+  private FitnessIndexHelper ()
+  {}
+
+  /**
+   * Get the fitness values of all chromosomes.
+   *
+   * @param aChromosomes
+   *        The chromosomes to use. May not be <code>null</code>.
+   * @return An array with the fitness of each chromosome, in list order.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static double [] getAllFitnesses (@Nonnull final ICommonsList <? extends IChromosome> aChromosomes)
+  {
+    final int nChromosomes = aChromosomes.size ();
+    final double [] ret = new double [nChromosomes];
+    for (int i = 0; i < nChromosomes; ++i)
+      ret[i] = aChromosomes.get (i).getFitness ();
+    return ret;
+  }
+
+  /**
+   * @return <code>true</code> if index 1 is worse than index 2. On equal
+   *         fitness the higher index is worse, so that the order is stable.
+   */
+  private static boolean _isWorse (@Nonnull final double [] aFitnesses, final int n1, final int n2)
+  {
+    final double d1 = aFitnesses[n1];
+    final double d2 = aFitnesses[n2];
+    return d1 < d2 || (d1 == d2 && n1 > n2);
+  }
+
+  private static void _siftDown (@Nonnull final double [] aFitnesses,
+                                 @Nonnull final int [] aHeap,
+                                 final int nSize,
+                                 final int nStart)
+  {
+    int nPos = nStart;
+    final int nValue = aHeap[nPos];
+    while (true)
+    {
+      int nChild = 2 * nPos + 1;
+      if (nChild >= nSize)
+        break;
+      if (nChild + 1 < nSize && _isWorse (aFitnesses, aHeap[nChild + 1], aHeap[nChild]))
+        ++nChild;
+      if (!_isWorse (aFitnesses, aHeap[nChild], nValue))
+        break;
+      aHeap[nPos] = aHeap[nChild];
+      nPos = nChild;
+    }
+    aHeap[nPos] = nValue;
+  }
+
+  /**
+   * Get the indices of the fittest entries without sorting all of them. A
+   * bounded heap (with the worst retained entry on top) is used, so the effort
+   * is O(n log k) in the worst case and O(n + k log k) typically.
+   *
+   * @param aFitnesses
+   *        The fitness values to choose from. May not be <code>null</code>.
+   * @param nCount
+   *        The number of indices to return (k). Must be &gt; 0. If it is larger
+   *        than the number of fitness values, all indices are returned.
+   * @return The indices of the fittest entries, in descending fitness order. On
+   *         equal fitness the lower index comes first.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static int [] getBestIndices (@Nonnull final double [] aFitnesses, @Nonnegative final int nCount)
+  {
+    ValueEnforcer.notNull (aFitnesses, "Fitnesses");
+    ValueEnforcer.isGT0 (nCount, "Count");
+
+    final int [] ret = new int [Math.min (nCount, aFitnesses.length)];
+    fillBestIndices (aFitnesses, ret);
+    return ret;
+  }
+
+  /**
+   * Fill the indices of the fittest entries into the provided array, without
+   * allocating any memory. See {@link #getBestIndices(double[], int)} for
+   * details.
+   *
+   * @param aFitnesses
+   *        The fitness values to choose from. May not be <code>null</code>.
+   * @param aDst
+   *        The destination array. Its length defines the number of indices to
+   *        determine and may not be larger than the number of fitness values.
+   *        Is filled with the indices of the fittest entries, in descending
+   *        fitness order. On equal fitness the lower index comes first.
+   */
+  public static void fillBestIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aDst)
+  {
+    final int nEntries = aFitnesses.length;
+    final int nHeapSize = aDst.length;
+    ValueEnforcer.isTrue (nHeapSize <= nEntries, "Destination array is larger than the fitness array");
+
+    final int [] aHeap = aDst;
+    for (int i = 0; i < nHeapSize; ++i)
+      aHeap[i] = i;
+    for (int i = nHeapSize / 2 - 1; i >= 0; --i)
+      _siftDown (aFitnesses, aHeap, nHeapSize, i);
+
+    for (int i = nHeapSize; i < nEntries; ++i)
+      if (_isWorse (aFitnesses, aHeap[0], i))
+      {
+        aHeap[0] = i;
+        _siftDown (aFitnesses, aHeap, nHeapSize, 0);
+      }
+
+    // Heap sort - the worst entries are moved to the end
+    for (int nSize = nHeapSize - 1; nSize > 0; --nSize)
+    {
+      final int nTmp = aHeap[0];
+      aHeap[0] = aHeap[nSize];
+      aHeap[nSize] = nTmp;
+      _siftDown (aFitnesses, aHeap, nSize, 0);
+    }
+  }
+
+  /**
+   * @param aFitnesses
+   *        The fitness values to choose from. May neither be <code>null</code>
+   *        nor empty.
+   * @return The index of the fittest entry. On equal fitness the lowest index
+   *         is returned.
+   */
+  @Nonnegative
+  public static int getBestIndex (@Nonnull final double [] aFitnesses)
+  {
+    ValueEnforcer.notEmpty (aFitnesses, "Fitnesses");
+    int ret = 0;
+    for (int i = 1; i < aFitnesses.length; ++i)
+      if (aFitnesses[i] > aFitnesses[ret])
+        ret = i;
+    return ret;
+  }
+}
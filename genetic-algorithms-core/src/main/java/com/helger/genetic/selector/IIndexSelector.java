@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import javax.annotation.Nonnull;
+
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Selector that works on dense primitive arrays only: it receives the fitness
+ * values of all chromosomes and fills the indices of the selected chromosomes.
+ * The list based {@link ISelector} API is implemented on top of it.
+ *
+ * @author Philip Helger
+ */
+public interface IIndexSelector extends ISelector
+{
+  /**
+   * Select the chromosomes that should survive.
+   *
+   * @param aFitnesses
+   *        The fitness values of all chromosomes of the last population. Must
+   *        not be modified. Never <code>null</code> nor empty.
+   * @param aSelectedIndices
+   *        The array to be filled with the indices of the selected chromosomes.
+   *        Each entry must be set to a value in the range [0 -
+   *        aFitnesses.length[. Usually it has the same length as the fitness
+   *        array. Never <code>null</code>.
+   */
+  void selectIndices (@Nonnull double [] aFitnesses, @Nonnull int [] aSelectedIndices);
+
+  @Override
+  @Nonnull
+  @ReturnsMutableCopy
+  default ICommonsList <IChromosome> selectSurvivingChromosomes (@Nonnull final ICommonsList <IChromosome> aChromosomes)
+  {
+    final int nChromosomes = aChromosomes.size ();
+    final int [] aSelectedIndices = new int [nChromosomes];
+    selectIndices (FitnessIndexHelper.getAllFitnesses (aChromosomes), aSelectedIndices);
+
+    final ICommonsList <IChromosome> ret = new CommonsArrayList <> (nChromosomes);
+    for (final int nIndex : aSelectedIndices)
+      ret.add (aChromosomes.get (nIndex));
+    return ret;
+  }
+}
@@ -18,9 +18,6 @@ package com.helger.genetic.selector;
 
 import javax.annotation.Nonnull;
 
-import com.helger.commons.collection.impl.ICommonsList;
-import com.helger.genetic.model.chromosome.IChromosome;
-
 /**
  * Cross over selector:
  * <ul>
@@ -30,12 +27,13 @@ import com.helger.genetic.model.chromosome.IChromosome;
  *
  * @author Philip Helger
  */
-public class SelectorAllSortedAll extends AbstractSelector
+public class SelectorAllSortedAll extends AbstractSelector implements IIndexSelector
 {
-  @Nonnull
-  public ICommonsList <IChromosome> selectSurvivingChromosomes (@Nonnull final ICommonsList <IChromosome> aChromosomes)
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
   {
     // Sort all chromosomes by descending fitness
-    return aChromosomes.getSortedInline (IChromosome.comparatorFitness ().reversed ());
+    final int [] aSorted = FitnessIndexHelper.getBestIndices (aFitnesses, aFitnesses.length);
+    for (int i = 0; i < aSelectedIndices.length; ++i)
+      aSelectedIndices[i] = aSorted[i % aSorted.length];
   }
 }
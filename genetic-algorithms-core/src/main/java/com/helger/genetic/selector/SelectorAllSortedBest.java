@@ -20,9 +20,6 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 import com.helger.commons.ValueEnforcer;
-import com.helger.commons.collection.impl.CommonsArrayList;
-import com.helger.commons.collection.impl.ICommonsList;
-import com.helger.genetic.model.chromosome.IChromosome;
 
 /**
  * Cross over selector:
@@ -33,7 +30,7 @@ import com.helger.genetic.model.chromosome.IChromosome;
  *
  * @author Philip Helger
  */
-public class SelectorAllSortedBest extends AbstractSelector
+public class SelectorAllSortedBest extends AbstractSelector implements IIndexSelector
 {
   private final int m_nBestCount;
 
@@ -49,17 +46,11 @@ public class SelectorAllSortedBest extends AbstractSelector
     return m_nBestCount;
   }
 
-  @Nonnull
-  public ICommonsList <IChromosome> selectSurvivingChromosomes (@Nonnull final ICommonsList <IChromosome> aChromosomes)
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
   {
-    // Sort all chromosomes by descending fitness
-    final ICommonsList <IChromosome> aSortedChromosome = aChromosomes.getSortedInline (IChromosome.comparatorFitness ()
-                                                                                                  .reversed ());
-
-    final int nChromosomes = aChromosomes.size ();
-    final ICommonsList <IChromosome> ret = new CommonsArrayList <> (nChromosomes);
-    for (int i = 0; i < nChromosomes; ++i)
-      ret.add (aSortedChromosome.get (i % m_nBestCount));
-    return ret;
+    // Determine the best chromosomes by descending fitness
+    final int [] aBest = FitnessIndexHelper.getBestIndices (aFitnesses, m_nBestCount);
+    for (int i = 0; i < aSelectedIndices.length; ++i)
+      aSelectedIndices[i] = aBest[i % aBest.length];
   }
 }
@@ -16,11 +16,9 @@
  */
 package com.helger.genetic.selector;
 
-import javax.annotation.Nonnull;
+import java.util.Arrays;
 
-import com.helger.commons.collection.impl.CommonsArrayList;
-import com.helger.commons.collection.impl.ICommonsList;
-import com.helger.genetic.model.chromosome.IChromosome;
+import javax.annotation.Nonnull;
 
 /**
  * Cross over selector:
@@ -31,19 +29,11 @@ import com.helger.genetic.model.chromosome.IChromosome;
  *
  * @author Philip Helger
  */
-public class SelectorAllSortedBestOnly extends AbstractSelector
+public class SelectorAllSortedBestOnly extends AbstractSelector implements IIndexSelector
 {
-  @Nonnull
-  public ICommonsList <IChromosome> selectSurvivingChromosomes (@Nonnull final ICommonsList <IChromosome> aChromosomes)
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
   {
-    // Sort all chromosomes by descending fitness
-    final IChromosome aFittestChromosome = aChromosomes.getSortedInline (IChromosome.comparatorFitness ().reversed ())
-                                                       .getFirst ();
-
-    final int nChromosomes = aChromosomes.size ();
-    final ICommonsList <IChromosome> ret = new CommonsArrayList <> ();
-    for (int i = 0; i < nChromosomes; ++i)
-      ret.add (aFittestChromosome);
-    return ret;
+    // Determine the best chromosome
+    Arrays.fill (aSelectedIndices, FitnessIndexHelper.getBestIndex (aFitnesses));
   }
 }
@@ -27,8 +27,15 @@ import com.helger.genetic.model.chromosome.IChromosome;
  *
  * @author Philip Helger
  */
-public class SelectorAllUnsortedAll extends AbstractSelector
+public class SelectorAllUnsortedAll extends AbstractSelector implements IIndexSelector
 {
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
+  {
+    for (int i = 0; i < aSelectedIndices.length; ++i)
+      aSelectedIndices[i] = i % aFitnesses.length;
+  }
+
+  @Override
   @Nonnull
   @Nonempty
   public ICommonsList <IChromosome> selectSurvivingChromosomes (@Nonnull final ICommonsList <IChromosome> aChromosomes)
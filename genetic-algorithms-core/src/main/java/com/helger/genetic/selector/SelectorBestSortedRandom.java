@@ -16,15 +16,10 @@
  */
 package com.helger.genetic.selector;
 
-import java.util.List;
-
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 import com.helger.commons.ValueEnforcer;
-import com.helger.commons.collection.impl.CommonsArrayList;
-import com.helger.commons.collection.impl.ICommonsList;
-import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.utils.random.RandomGenerator;
 
 /**
@@ -36,7 +31,7 @@ import com.helger.genetic.utils.random.RandomGenerator;
  *
  * @author Philip Helger
  */
-public class SelectorBestSortedRandom extends AbstractSelector
+public class SelectorBestSortedRandom extends AbstractSelector implements IIndexSelector
 {
   private final int m_nTournamentSize;
 
@@ -52,17 +47,11 @@ public class SelectorBestSortedRandom extends AbstractSelector
     return m_nTournamentSize;
   }
 
-  @Nonnull
-  public ICommonsList <IChromosome> selectSurvivingChromosomes (@Nonnull final ICommonsList <IChromosome> aChromosomes)
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
   {
-    final List <IChromosome> aSortedChromosomes = aChromosomes.getSortedInline (IChromosome.comparatorFitness ()
-                                                                                           .reversed ())
-                                                              .subList (0, m_nTournamentSize);
-
-    final int nChromosomes = aChromosomes.size ();
-    final ICommonsList <IChromosome> ret = new CommonsArrayList <> ();
-    for (int i = 0; i < nChromosomes; ++i)
-      ret.add (aSortedChromosomes.get (RandomGenerator.getIntInRange (m_nTournamentSize)));
-    return ret;
+    // Determine the best chromosomes by descending fitness
+    final int [] aBest = FitnessIndexHelper.getBestIndices (aFitnesses, m_nTournamentSize);
+    for (int i = 0; i < aSelectedIndices.length; ++i)
+      aSelectedIndices[i] = aBest[RandomGenerator.getIntInRange (aBest.length)];
   }
 }
@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import java.util.stream.IntStream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.genetic.utils.random.IRandomGenerator;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Cross over selector (k-tournament):
+ * <ul>
+ * <li>For each chromosome to select, draw k random participants (with
+ * replacement)</li>
+ * <li>With probability p the fittest participant wins, with probability p(1-p)
+ * the second fittest etc. The weakest participant takes the remaining
+ * probability.</li>
+ * </ul>
+ * Nothing is sorted and no intermediate lists are created - the fitness values
+ * are passed as a primitive array. With p=1 each pick is O(k). Otherwise the
+ * participants are rescanned once for every rank that is skipped, so the
+ * expected effort is O(k&middot;min(k, 1/p)).<br>
+ * Populations with at least the parallel threshold of chromosomes are
+ * processed in parallel chunks, each chunk using an independent random
+ * generator that is split from the one of the calling thread.
+ *
+ * @author Philip Helger
+ */
+public class SelectorKTournament extends AbstractSelector implements IIndexSelector
+{
+  public static final double DEFAULT_PROBABILITY = 1;
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+  /** The minimum number of chromosomes per parallel chunk */
+  private static final int CHUNK_SIZE = 1_000;
+
+  private final int m_nTournamentSize;
+  private final double m_dProbability;
+  private final int m_nParallelThreshold;
+
+  public SelectorKTournament (@Nonnegative final int nTournamentSize)
+  {
+    this (nTournamentSize, DEFAULT_PROBABILITY, DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param nTournamentSize
+   *        Number of participants per tournament (k). Must be &gt; 0.
+   * @param dProbability
+   *        The probability that the fittest participant wins (p). Must be &gt;
+   *        0 and &le; 1.
+   * @param nParallelThreshold
+   *        The minimum population size to select in parallel. Use
+   *        {@link Integer#MAX_VALUE} to always select sequentially.
+   */
+  public SelectorKTournament (@Nonnegative final int nTournamentSize,
+                              final double dProbability,
+                              @Nonnegative final int nParallelThreshold)
+  {
+    ValueEnforcer.isGT0 (nTournamentSize, "TournamentSize");
+    ValueEnforcer.isTrue (dProbability > 0 && dProbability <= 1, "Probability must be in the range ]0,1]");
+    ValueEnforcer.isGT0 (nParallelThreshold, "ParallelThreshold");
+    m_nTournamentSize = nTournamentSize;
+    m_dProbability = dProbability;
+    m_nParallelThreshold = nParallelThreshold;
+  }
+
+  @Nonnegative
+  public final int getTournamentSize ()
+  {
+    return m_nTournamentSize;
+  }
+
+  public final double getProbability ()
+  {
+    return m_dProbability;
+  }
+
+  @Nonnegative
+  public final int getParallelThreshold ()
+  {
+    return m_nParallelThreshold;
+  }
+
+  /**
+   * Run a single tournament.
+   *
+   * @param aFitnesses
+   *        The fitness values of all chromosomes.
+   * @param aParticipants
+   *        Buffer of tournament size to be used for the participant indices.
+   * @param aRG
+   *        The random generator to use.
+   * @return The index of the winning chromosome.
+   */
+  @Nonnegative
+  @OverrideOnDemand
+  protected int selectIndex (@Nonnull final double [] aFitnesses,
+                             @Nonnull final int [] aParticipants,
+                             @Nonnull final IRandomGenerator aRG)
+  {
+    final int nParticipants = aParticipants.length;
+    final int nPopulation = aFitnesses.length;
+
+    if (m_dProbability >= 1)
+    {
+      // Simply the fittest participant
+      int nBest = aRG.getIntInRange (nPopulation);
+      for (int i = 1; i < nParticipants; ++i)
+      {
+        final int n = aRG.getIntInRange (nPopulation);
+        if (aFitnesses[n] > aFitnesses[nBest])
+          nBest = n;
+      }
+      return nBest;
+    }
+
+    for (int i = 0; i < nParticipants; ++i)
+      aParticipants[i] = aRG.getIntInRange (nPopulation);
+
+    // Determine the rank of the winner
+    int nRank = 0;
+    while (nRank < nParticipants - 1 && aRG.getDouble () >= m_dProbability)
+      ++nRank;
+
+    // Remove the fittest participants until the rank is reached
+    int nRemaining = nParticipants;
+    while (true)
+    {
+      int nBestPos = 0;
+      for (int i = 1; i < nRemaining; ++i)
+        if (aFitnesses[aParticipants[i]] > aFitnesses[aParticipants[nBestPos]])
+          nBestPos = i;
+      if (nRank == 0)
+        return aParticipants[nBestPos];
+      aParticipants[nBestPos] = aParticipants[--nRemaining];
+      --nRank;
+    }
+  }
+
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
+  {
+    final int nSelect = aSelectedIndices.length;
+    if (nSelect < m_nParallelThreshold)
+    {
+      final IRandomGenerator aRG = RandomGenerator.getRandomGenerator ();
+      final int [] aParticipants = new int [m_nTournamentSize];
+      for (int i = 0; i < nSelect; ++i)
+        aSelectedIndices[i] = selectIndex (aFitnesses, aParticipants, aRG);
+    }
+    else
+    {
+      // The chunks only depend on the size, so that the result does not
+      // depend on the number of threads
+      final int nChunks = Math.max (1, nSelect / CHUNK_SIZE);
+      // Split the generators upfront to stay reproducible
+      final IRandomGenerator [] aRGs = new IRandomGenerator [nChunks];
+      for (int i = 0; i < nChunks; ++i)
+        aRGs[i] = RandomGenerator.split ();
+
+      IntStream.range (0, nChunks).parallel ().forEach (nChunk -> {
+        final IRandomGenerator aRG = aRGs[nChunk];
+        final int [] aParticipants = new int [m_nTournamentSize];
+        final int nEnd = (int) ((long) nSelect * (nChunk + 1) / nChunks);
+        for (int i = (int) ((long) nSelect * nChunk / nChunks); i < nEnd; ++i)
+          aSelectedIndices[i] = selectIndex (aFitnesses, aParticipants, aRG);
+      });
+    }
+  }
+}
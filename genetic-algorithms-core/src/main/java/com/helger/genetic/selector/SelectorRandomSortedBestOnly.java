@@ -16,26 +16,24 @@
  */
 package com.helger.genetic.selector;
 
+import java.util.Arrays;
+
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 import com.helger.commons.ValueEnforcer;
-import com.helger.commons.collection.impl.CommonsArrayList;
-import com.helger.commons.collection.impl.ICommonsList;
-import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.utils.random.RandomGenerator;
 
 /**
  * Cross over selector:
  * <ul>
  * <li>Take a random subset of chromosomes to choose from</li>
- * <li>Sorted the chosen chromosomes by their fitness</li>
- * <li>Always use the absolute fittest chromosome</li>
+ * <li>Always use the fittest of the chosen chromosomes</li>
  * </ul>
  *
  * @author Philip Helger
  */
-public class SelectorRandomSortedBestOnly extends AbstractSelector
+public class SelectorRandomSortedBestOnly extends AbstractSelector implements IIndexSelector
 {
   private final int m_nTournamentSize;
 
@@ -51,25 +49,17 @@ public class SelectorRandomSortedBestOnly extends AbstractSelector
     return m_nTournamentSize;
   }
 
-  @Nonnull
-  public ICommonsList <IChromosome> selectSurvivingChromosomes (@Nonnull final ICommonsList <IChromosome> aChromosomes)
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
   {
-    final int nChromosomes = aChromosomes.size ();
-
     // Randomly choose tournament participants
-    final int [] aSelected = RandomGenerator.getMultipleUniqueIntsInRange (m_nTournamentSize, nChromosomes);
+    final int [] aSelected = RandomGenerator.getMultipleUniqueIntsInRange (m_nTournamentSize, aFitnesses.length);
 
-    // Retrieve the tournament participants
-    final ICommonsList <IChromosome> aChosen = new CommonsArrayList <> (m_nTournamentSize);
-    for (final int nSelected : aSelected)
-      aChosen.add (aChromosomes.get (nSelected));
+    // Determine the fittest participant - no need to sort
+    int nBest = aSelected[0];
+    for (int i = 1; i < aSelected.length; ++i)
+      if (aFitnesses[aSelected[i]] > aFitnesses[nBest])
+        nBest = aSelected[i];
 
-    // Sort all chosen chromosomes by descending fitness
-    final IChromosome aFittestChromosome = aChosen.getSortedInline (IChromosome.comparatorFitness ().reversed ())
-                                                  .getFirst ();
-    final ICommonsList <IChromosome> ret = new CommonsArrayList <> (nChromosomes);
-    for (int i = 0; i < nChromosomes; ++i)
-      ret.add (aFittestChromosome);
-    return ret;
+    Arrays.fill (aSelectedIndices, nBest);
   }
 }
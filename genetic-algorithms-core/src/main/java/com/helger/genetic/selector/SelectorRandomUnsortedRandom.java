@@ -20,9 +20,6 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 import com.helger.commons.ValueEnforcer;
-import com.helger.commons.collection.impl.CommonsArrayList;
-import com.helger.commons.collection.impl.ICommonsList;
-import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.utils.random.RandomGenerator;
 
 /**
@@ -34,7 +31,7 @@ import com.helger.genetic.utils.random.RandomGenerator;
  *
  * @author Philip Helger
  */
-public class SelectorRandomUnsortedRandom extends AbstractSelector
+public class SelectorRandomUnsortedRandom extends AbstractSelector implements IIndexSelector
 {
   private final int m_nTournamentSize;
 
@@ -44,17 +41,14 @@ public class SelectorRandomUnsortedRandom extends AbstractSelector
     m_nTournamentSize = nTournamentSize;
   }
 
-  @Nonnull
-  public ICommonsList <IChromosome> selectSurvivingChromosomes (@Nonnull final ICommonsList <IChromosome> aChromosomes)
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
   {
-    final int nChromosomeCount = aChromosomes.size ();
-    final IChromosome [] aChosen = new IChromosome [m_nTournamentSize];
+    final int nChromosomeCount = aFitnesses.length;
+    final int [] aChosen = new int [m_nTournamentSize];
     for (int i = 0; i < m_nTournamentSize; ++i)
-      aChosen[i] = aChromosomes.get (RandomGenerator.getIntInRange (nChromosomeCount));
+      aChosen[i] = RandomGenerator.getIntInRange (nChromosomeCount);
 
-    final ICommonsList <IChromosome> ret = new CommonsArrayList <> (nChromosomeCount);
-    for (int i = 0; i < nChromosomeCount; ++i)
-      ret.add (aChosen[RandomGenerator.getIntInRange (m_nTournamentSize)]);
-    return ret;
+    for (int i = 0; i < aSelectedIndices.length; ++i)
+      aSelectedIndices[i] = aChosen[RandomGenerator.getIntInRange (m_nTournamentSize)];
   }
 }
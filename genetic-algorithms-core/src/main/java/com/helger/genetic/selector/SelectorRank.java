@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.genetic.utils.random.AliasTable;
+
+/**
+ * Cross over selector (rank based):
+ * <ul>
+ * <li>Sort all chromosomes by descending fitness</li>
+ * <li>Choose each chromosome with a probability depending only on its rank -
+ * see {@link ERankingScheme}</li>
+ * </ul>
+ * As the probabilities only depend on the population size, the
+ * {@link AliasTable} of the ranks and the index buffer are created once per
+ * population size and reused afterwards. Each generation only needs a sort of
+ * the indices by fitness, so the effort is O(n log n) without any allocation
+ * in steady state. Because of the cached state an instance may not be used
+ * concurrently.
+ *
+ * @author Philip Helger
+ */
+@NotThreadSafe
+public class SelectorRank extends AbstractSelector implements IIndexSelector
+{
+  public static final double DEFAULT_LINEAR_PRESSURE = 1.5;
+  public static final double DEFAULT_EXPONENTIAL_BASE = 0.99;
+
+  private final ERankingScheme m_eScheme;
+  private final double m_dParameter;
+  // Status vars
+  private transient AliasTable m_aRankTable;
+  private transient int [] m_aSortedIndices;
+
+  public SelectorRank (@Nonnull final ERankingScheme eScheme)
+  {
+    this (eScheme, eScheme == ERankingScheme.LINEAR ? DEFAULT_LINEAR_PRESSURE : DEFAULT_EXPONENTIAL_BASE);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param eScheme
+   *        The ranking scheme to use. May not be <code>null</code>.
+   * @param dParameter
+   *        The selection pressure for linear ranking (range [1,2]) or the base
+   *        for exponential ranking (range ]0,1]).
+   */
+  public SelectorRank (@Nonnull final ERankingScheme eScheme, final double dParameter)
+  {
+    ValueEnforcer.notNull (eScheme, "Scheme");
+    if (eScheme == ERankingScheme.LINEAR)
+      ValueEnforcer.isBetweenInclusive (dParameter, "Pressure", 1, 2);
+    else
+      ValueEnforcer.isTrue (dParameter > 0 && dParameter <= 1, "Base must be in the range ]0,1]");
+    m_eScheme = eScheme;
+    m_dParameter = dParameter;
+  }
+
+  @Nonnull
+  public final ERankingScheme getScheme ()
+  {
+    return m_eScheme;
+  }
+
+  public final double getParameter ()
+  {
+    return m_dParameter;
+  }
+
+  /**
+   * Get the selection weights of all ranks.
+   *
+   * @param nCount
+   *        The number of ranks. Must be &gt; 0.
+   * @return An array with the (not necessarily normalized) weight per rank,
+   *         where index 0 is the fittest rank.
+   */
+  @Nonnull
+  public double [] getRankWeights (@Nonnegative final int nCount)
+  {
+    ValueEnforcer.isGT0 (nCount, "Count");
+    final double [] ret = new double [nCount];
+    if (nCount == 1)
+      ret[0] = 1;
+    else
+      if (m_eScheme == ERankingScheme.LINEAR)
+      {
+        // Expected copies: pressure for the best, 2-pressure for the worst
+        for (int i = 0; i < nCount; ++i)
+          ret[i] = m_dParameter - (2 * m_dParameter - 2) * i / (nCount - 1);
+      }
+      else
+      {
+        double dWeight = 1;
+        for (int i = 0; i < nCount; ++i)
+        {
+          ret[i] = dWeight;
+          dWeight *= m_dParameter;
+        }
+      }
+    return ret;
+  }
+
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
+  {
+    final int nChromosomes = aFitnesses.length;
+    if (m_aRankTable == null || m_aRankTable.getSize () != nChromosomes)
+    {
+      m_aRankTable = new AliasTable (getRankWeights (nChromosomes));
+      m_aSortedIndices = new int [nChromosomes];
+    }
+
+    // Sort all chromosomes by descending fitness
+    FitnessIndexHelper.fillBestIndices (aFitnesses, m_aSortedIndices);
+
+    for (int i = 0; i < aSelectedIndices.length; ++i)
+      aSelectedIndices[i] = m_aSortedIndices[m_aRankTable.sample ()];
+  }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import javax.annotation.Nonnull;
+
+import com.helger.genetic.utils.random.AliasTable;
+
+/**
+ * Cross over selector (roulette wheel, fitness proportionate):
+ * <ul>
+ * <li>Choose each chromosome with a probability proportional to its
+ * fitness</li>
+ * </ul>
+ * Uses an {@link AliasTable} that is built once per selection, so the overall
+ * effort is O(n). All fitness values must be &ge; 0.
+ *
+ * @author Philip Helger
+ */
+public class SelectorRoulette extends AbstractSelector implements IIndexSelector
+{
+  public SelectorRoulette ()
+  {}
+
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
+  {
+    final AliasTable aTable = new AliasTable (aFitnesses);
+    for (int i = 0; i < aSelectedIndices.length; ++i)
+      aSelectedIndices[i] = aTable.sample ();
+  }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import javax.annotation.Nonnull;
+
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Cross over selector (stochastic universal sampling):
+ * <ul>
+ * <li>Lay out all chromosomes on a wheel, each one with a size proportional to
+ * its fitness</li>
+ * <li>Choose n chromosomes with n equally spaced pointers and a single random
+ * offset</li>
+ * <li>Shuffle the chosen chromosomes, so that the crossover does not combine
+ * copies of the same chromosome</li>
+ * </ul>
+ * Compared to {@link SelectorRoulette} the number of copies of each chromosome
+ * deviates at most by 1 from its expected value. The overall effort is O(n).
+ * All fitness values must be &ge; 0.
+ *
+ * @author Philip Helger
+ */
+public class SelectorStochasticUniversalSampling extends AbstractSelector implements IIndexSelector
+{
+  public SelectorStochasticUniversalSampling ()
+  {}
+
+  public void selectIndices (@Nonnull final double [] aFitnesses, @Nonnull final int [] aSelectedIndices)
+  {
+    final int nChromosomes = aFitnesses.length;
+    final int nSelect = aSelectedIndices.length;
+    double dTotalFitness = 0;
+    for (final double dFitness : aFitnesses)
+    {
+      if (dFitness < 0)
+        throw new IllegalArgumentException ("Negative fitness " + dFitness + " is not supported");
+      dTotalFitness += dFitness;
+    }
+
+    if (dTotalFitness <= 0)
+    {
+      // All fitness values are 0 - choose every chromosome once
+      for (int i = 0; i < nSelect; ++i)
+        aSelectedIndices[i] = i % nChromosomes;
+    }
+    else
+    {
+      final double dStep = dTotalFitness / nSelect;
+      double dPointer = RandomGenerator.getDouble () * dStep;
+      double dCumulated = 0;
+      int nSrcIndex = -1;
+      for (int i = 0; i < nSelect; ++i)
+      {
+        // Avoid running over the end because of rounding errors
+        while (dCumulated <= dPointer && nSrcIndex < nChromosomes - 1)
+          dCumulated += aFitnesses[++nSrcIndex];
+        aSelectedIndices[i] = nSrcIndex;
+        dPointer += dStep;
+      }
+    }
+
+    RandomGenerator.shuffle (aSelectedIndices);
+  }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import java.io.Serializable;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+
+/**
+ * Walker's alias table (in the variant of Vose) for sampling indices with
+ * probabilities proportional to a set of non-negative weights. Building the
+ * table takes O(n) and each sample takes O(1) - one random int and one random
+ * double. If all weights are 0, all indices are equally probable.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+public final class AliasTable implements Serializable
+{
+  private final double [] m_aProbability;
+  private final int [] m_aAlias;
+
+  public AliasTable (@Nonnull final double [] aWeights)
+  {
+    ValueEnforcer.notEmpty (aWeights, "Weights");
+    final int nCount = aWeights.length;
+
+    double dTotal = 0;
+    for (final double dWeight : aWeights)
+    {
+      ValueEnforcer.isTrue (dWeight >= 0 && !Double.isInfinite (dWeight), () -> "Illegal weight " + dWeight);
+      dTotal += dWeight;
+    }
+
+    m_aProbability = new double [nCount];
+    m_aAlias = new int [nCount];
+
+    if (dTotal <= 0)
+    {
+      // All weights are 0 - uniform distribution
+      for (int i = 0; i < nCount; ++i)
+      {
+        m_aProbability[i] = 1;
+        m_aAlias[i] = i;
+      }
+      return;
+    }
+
+    // Scale so that the average weight is 1
+    final double [] aScaled = new double [nCount];
+    // Both work lists share one array: small from the start, large from the end
+    final int [] aWork = new int [nCount];
+    int nSmall = 0;
+    int nLarge = nCount;
+    for (int i = 0; i < nCount; ++i)
+    {
+      final double dScaled = aWeights[i] * nCount / dTotal;
+      aScaled[i] = dScaled;
+      if (dScaled < 1)
+        aWork[nSmall++] = i;
+      else
+        aWork[--nLarge] = i;
+    }
+
+    while (nSmall > 0 && nLarge < nCount)
+    {
+      final int nLess = aWork[--nSmall];
+      final int nMore = aWork[nLarge++];
+      m_aProbability[nLess] = aScaled[nLess];
+      m_aAlias[nLess] = nMore;
+
+      final double dRest = aScaled[nMore] + aScaled[nLess] - 1;
+      aScaled[nMore] = dRest;
+      if (dRest < 1)
+        aWork[nSmall++] = nMore;
+      else
+        aWork[--nLarge] = nMore;
+    }
+
+    // Remaining entries are (up to rounding errors) exactly 1
+    while (nSmall > 0)
+    {
+      final int n = aWork[--nSmall];
+      m_aProbability[n] = 1;
+      m_aAlias[n] = n;
+    }
+    while (nLarge < nCount)
+    {
+      final int n = aWork[nLarge++];
+      m_aProbability[n] = 1;
+      m_aAlias[n] = n;
+    }
+  }
+
+  /**
+   * @return The number of indices in this table. Always &gt; 0.
+   */
+  @Nonnegative
+  public int getSize ()
+  {
+    return m_aProbability.length;
+  }
+
+  /**
+   * @return A random index in the range [0 - size[, chosen with a probability
+   *         proportional to its weight.
+   */
+  @Nonnegative
+  public int sample ()
+  {
+    final int nIndex = RandomGenerator.getIntInRange (m_aProbability.length);
+    return RandomGenerator.getDouble () < m_aProbability[nIndex] ? nIndex : m_aAlias[nIndex];
+  }
+}
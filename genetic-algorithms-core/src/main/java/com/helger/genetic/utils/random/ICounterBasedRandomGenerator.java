@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Interface for counter based random generators. The sequence of such a
+ * generator is a pure function of its key and its position, so sub streams can
+ * be addressed directly - e.g. one per mating - and the results do not depend
+ * on the number of threads or on the scheduling.
+ *
+ * @author Philip Helger
+ */
+public interface ICounterBasedRandomGenerator extends IRandomGenerator
+{
+  /**
+   * Get a generator for the sub stream with the provided index. Calling this
+   * method twice with the same index on the same generator state returns
+   * generators with the same sequence. This generator is not modified.
+   *
+   * @param nIndex
+   *        The index of the sub stream - e.g. the chromosome or mating index.
+   * @return A new generator positioned at the start of the sub stream. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  ICounterBasedRandomGenerator getSubStream (long nIndex);
+
+  /**
+   * {@inheritDoc} For counter based generators the new generator is derived
+   * deterministically from this generator's key, stream and the number of
+   * previous splits.
+   */
+  @Override
+  @Nonnull
+  ICounterBasedRandomGenerator split ();
+}
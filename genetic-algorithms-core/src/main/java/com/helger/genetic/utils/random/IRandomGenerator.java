@@ -21,6 +21,7 @@ import java.io.Serializable;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
+import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.Nonempty;
 
 /**
@@ -46,6 +47,144 @@ public interface IRandomGenerator extends Serializable
   @Nonnegative
   int getIntInRange (@Nonnegative int nMaxValueExcl);
 
+  /**
+   * @return A random int value using all 32 bits. The default implementation
+   *         combines two 16 bit values.
+   */
+  default int getInt ()
+  {
+    return (getIntInRange (1 << 16) << 16) | getIntInRange (1 << 16);
+  }
+
+  /**
+   * @return A standard normally distributed random value (mean 0, standard
+   *         deviation 1). The default implementation uses the ziggurat method.
+   */
+  default double getGaussian ()
+  {
+    return Ziggurat.getGaussian (this);
+  }
+
+  /**
+   * @return An exponentially distributed random value with rate 1 (mean 1).
+   *         The default implementation uses the ziggurat method.
+   */
+  default double getExponential ()
+  {
+    return Ziggurat.getExponential (this);
+  }
+
+  /**
+   * @return A standard Cauchy distributed random value (location 0, scale 1).
+   */
+  default double getCauchy ()
+  {
+    return Ziggurat.getCauchy (this);
+  }
+
+  /**
+   * Fill the passed array with random double values between 0 and 1.
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   */
+  default void fillDoubles (@Nonnull final double [] aDst)
+  {
+    for (int i = 0; i < aDst.length; ++i)
+      aDst[i] = getDouble ();
+  }
+
+  /**
+   * Fill the passed array with standard normally distributed random values.
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   * @see #getGaussian()
+   */
+  default void fillGaussian (@Nonnull final double [] aDst)
+  {
+    for (int i = 0; i < aDst.length; ++i)
+      aDst[i] = getGaussian ();
+  }
+
+  /**
+   * Fill the passed array with exponentially distributed random values with
+   * rate 1.
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   * @see #getExponential()
+   */
+  default void fillExponential (@Nonnull final double [] aDst)
+  {
+    for (int i = 0; i < aDst.length; ++i)
+      aDst[i] = getExponential ();
+  }
+
+  /**
+   * Fill the passed array with standard Cauchy distributed random values.
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   * @see #getCauchy()
+   */
+  default void fillCauchy (@Nonnull final double [] aDst)
+  {
+    for (int i = 0; i < aDst.length; ++i)
+      aDst[i] = getCauchy ();
+  }
+
+  /**
+   * Fill the passed array with random int values in the range from [0 -
+   * max_value[
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   * @param nMaxValueExcl
+   *        The maximum value (exclusive) to be created
+   */
+  default void fillIntsInRange (@Nonnull final int [] aDst, @Nonnegative final int nMaxValueExcl)
+  {
+    for (int i = 0; i < aDst.length; ++i)
+      aDst[i] = getIntInRange (nMaxValueExcl);
+  }
+
+  /**
+   * Randomly shuffle the passed array in place with the Fisher-Yates algorithm,
+   * so that each permutation is equally probable.
+   *
+   * @param aArray
+   *        The array to be shuffled. May not be <code>null</code>.
+   */
+  default void shuffle (@Nonnull final int [] aArray)
+  {
+    for (int i = aArray.length - 1; i > 0; --i)
+    {
+      final int j = getIntInRange (i + 1);
+      final int nTmp = aArray[i];
+      aArray[i] = aArray[j];
+      aArray[j] = nTmp;
+    }
+  }
+
+  /**
+   * Fill the passed array with a uniformly distributed random permutation of
+   * the values [0 - length[. Uses the "inside-out" variant of the Fisher-Yates
+   * algorithm, so this is a single O(n) pass.
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   */
+  default void fillPermutation (@Nonnull final int [] aDst)
+  {
+    for (int i = 0; i < aDst.length; ++i)
+    {
+      final int j = getIntInRange (i + 1);
+      aDst[i] = aDst[j];
+      aDst[j] = i;
+    }
+  }
+
   /**
    * Get multiple unique random int values in a range from [0 - max_value[
    *
@@ -54,8 +193,60 @@ public interface IRandomGenerator extends Serializable
    * @param nMaxValueExcl
    *        The maximum value (exclusive) to be created
    * @return The int array, in value ascending order. Never <code>null</code>.
+   * @see #fillMultipleUniqueIntsInRange(int[], int)
    */
   @Nonnull
   @Nonempty
-  int [] getMultipleUniqueIntsInRange (@Nonnegative int nCount, @Nonnegative int nMaxValueExcl);
+  default int [] getMultipleUniqueIntsInRange (@Nonnegative final int nCount, @Nonnegative final int nMaxValueExcl)
+  {
+    ValueEnforcer.isTrue (nCount >= 2, "Must create at least 2 values!");
+    final int [] ret = new int [nCount];
+    fillMultipleUniqueIntsInRange (ret, nMaxValueExcl);
+    return ret;
+  }
+
+  /**
+   * Fill the passed array with unique random int values in a range from [0 -
+   * max_value[. The effort only depends on the array length (k) and not on the
+   * maximum value: for small k the values are drawn by rejection and if k is a
+   * large fraction of the maximum value, selection sampling is used - both
+   * without any allocation. Otherwise Floyd's algorithm is used, which
+   * allocates a temporary hash set of O(k) size.
+   *
+   * @param aDst
+   *        The array to be filled. Its length is the number of values to
+   *        create. May not be <code>null</code>. Filled in value ascending
+   *        order.
+   * @param nMaxValueExcl
+   *        The maximum value (exclusive) to be created. Must be &ge; the array
+   *        length.
+   */
+  default void fillMultipleUniqueIntsInRange (@Nonnull final int [] aDst, @Nonnegative final int nMaxValueExcl)
+  {
+    final int nCount = aDst.length;
+    ValueEnforcer.isTrue (nMaxValueExcl >= nCount, () -> "Must create at least " + nCount + " different value!");
+
+    if (nCount <= UniqueIntSampler.REJECTION_THRESHOLD)
+      UniqueIntSampler.fillByRejection (this, aDst, nMaxValueExcl);
+    else
+      if (nMaxValueExcl / UniqueIntSampler.SELECTION_FACTOR <= nCount)
+        UniqueIntSampler.fillBySelection (this, aDst, nMaxValueExcl);
+      else
+        UniqueIntSampler.fillByFloyd (this, aDst, nMaxValueExcl);
+  }
+
+  /**
+   * Create a new generator that shares no mutable state with this one, so
+   * that it can be used by another thread. The default implementation creates
+   * a {@link RandomGeneratorSplitMix} seeded from this generator.
+   *
+   * @return The new generator. Never <code>null</code>.
+   */
+  @Nonnull
+  default IRandomGenerator split ()
+  {
+    // 64 random bits
+    final long nSeed = ((long) getInt () << 32) | (getInt () & 0xffffffffL);
+    return new RandomGeneratorSplitMix (nSeed);
+  }
 }
@@ -16,32 +16,126 @@
  */
 package com.helger.genetic.utils.random;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
 
 import com.helger.commons.annotation.Nonempty;
 
 /**
- * The central class for creating random values.
+ * The central class for creating random values. It delegates to the random
+ * generator of the calling thread, which is determined in this order:
+ * <ol>
+ * <li>The generator explicitly set for the current thread via
+ * {@link #setThreadRandomGenerator(IRandomGenerator)} - e.g. for an island or
+ * a run.</li>
+ * <li>The global generator set via
+ * {@link #setRandomGenerator(IRandomGenerator)} - mainly for reproducible
+ * single threaded runs.</li>
+ * <li>A {@link RandomGeneratorSplitMix} that is split from a common root for
+ * each thread on first usage.</li>
+ * </ol>
+ * So by default each thread has its own generator and parallel execution works
+ * without contention or shared state.
  *
  * @author Philip Helger
  */
-@NotThreadSafe
+@ThreadSafe
 public final class RandomGenerator
 {
-  private static IRandomGenerator s_aRG = new RandomGeneratorRandom (ThreadLocalRandom.current ());
+  /**
+   * The per-thread state. Stored in a single object so that only one thread
+   * local lookup is needed per call.
+   */
+  private static final class ThreadContext
+  {
+    private IRandomGenerator m_aExplicitRG;
+    private IRandomGenerator m_aDefaultRG;
+  }
+
+  private static final RandomGeneratorSplitMix s_aRootRG = new RandomGeneratorSplitMix ();
+  private static final ThreadLocal <ThreadContext> s_aContext = ThreadLocal.withInitial (ThreadContext::new);
+  private static volatile IRandomGenerator s_aGlobalRG;
 
   private RandomGenerator ()
   {}
 
+  /**
+   * Set the random generator to be used by all threads that have no explicit
+   * thread generator. Note: the provided generator is shared between threads
+   * and must therefore be thread-safe if used concurrently.
+   *
+   * @param aRG
+   *        The generator to use. May not be <code>null</code>.
+   */
   public static void setRandomGenerator (@Nonnull final IRandomGenerator aRG)
   {
     if (aRG == null)
       throw new NullPointerException ("randomGenerator");
-    s_aRG = aRG;
+    s_aGlobalRG = aRG;
+  }
+
+  /**
+   * Set the random generator to be used by the current thread only.
+   *
+   * @param aRG
+   *        The generator to use. May be <code>null</code> to remove the thread
+   *        specific generator.
+   */
+  public static void setThreadRandomGenerator (@Nullable final IRandomGenerator aRG)
+  {
+    s_aContext.get ().m_aExplicitRG = aRG;
+  }
+
+  /**
+   * @return The random generator explicitly set for the current thread. May be
+   *         <code>null</code>.
+   */
+  @Nullable
+  public static IRandomGenerator getThreadRandomGenerator ()
+  {
+    return s_aContext.get ().m_aExplicitRG;
+  }
+
+  /**
+   * @return The random generator used by the current thread. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  public static IRandomGenerator getRandomGenerator ()
+  {
+    final ThreadContext aCtx = s_aContext.get ();
+    if (aCtx.m_aExplicitRG != null)
+      return aCtx.m_aExplicitRG;
+
+    final IRandomGenerator aGlobalRG = s_aGlobalRG;
+    if (aGlobalRG != null)
+      return aGlobalRG;
+
+    IRandomGenerator ret = aCtx.m_aDefaultRG;
+    if (ret == null)
+    {
+      synchronized (s_aRootRG)
+      {
+        ret = s_aRootRG.split ();
+      }
+      aCtx.m_aDefaultRG = ret;
+    }
+    return ret;
+  }
+
+  /**
+   * Create a new independent random generator from the generator of the
+   * current thread. Use this to provide worker threads with generators that
+   * are derived from a (potentially seeded) parent generator.
+   *
+   * @return The new generator. Never <code>null</code>.
+   */
+  @Nonnull
+  public static IRandomGenerator split ()
+  {
+    return getRandomGenerator ().split ();
   }
 
   /**
@@ -50,7 +144,7 @@ public final class RandomGenerator
   @Nonnegative
   public static double getDouble ()
   {
-    return s_aRG.getDouble ();
+    return getRandomGenerator ().getDouble ();
   }
 
   /**
@@ -63,7 +157,30 @@ public final class RandomGenerator
   @Nonnegative
   public static int getIntInRange (@Nonnegative final int nMaxValueExcl)
   {
-    return s_aRG.getIntInRange (nMaxValueExcl);
+    return getRandomGenerator ().getIntInRange (nMaxValueExcl);
+  }
+
+  /**
+   * Randomly shuffle the passed array in place with the Fisher-Yates algorithm.
+   *
+   * @param aArray
+   *        The array to be shuffled. May not be <code>null</code>.
+   */
+  public static void shuffle (@Nonnull final int [] aArray)
+  {
+    getRandomGenerator ().shuffle (aArray);
+  }
+
+  /**
+   * Fill the passed array with a uniformly distributed random permutation of
+   * the values [0 - length[ in O(n).
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   */
+  public static void fillPermutation (@Nonnull final int [] aDst)
+  {
+    getRandomGenerator ().fillPermutation (aDst);
   }
 
   /**
@@ -80,6 +197,107 @@ public final class RandomGenerator
   public static int [] getMultipleUniqueIntsInRange (@Nonnegative final int nCount,
                                                      @Nonnegative final int nMaxValueExcl)
   {
-    return s_aRG.getMultipleUniqueIntsInRange (nCount, nMaxValueExcl);
+    return getRandomGenerator ().getMultipleUniqueIntsInRange (nCount, nMaxValueExcl);
+  }
+
+  /**
+   * @return A standard normally distributed random value (mean 0, standard
+   *         deviation 1).
+   */
+  public static double getGaussian ()
+  {
+    return getRandomGenerator ().getGaussian ();
+  }
+
+  /**
+   * @return An exponentially distributed random value with rate 1 (mean 1).
+   */
+  public static double getExponential ()
+  {
+    return getRandomGenerator ().getExponential ();
+  }
+
+  /**
+   * @return A standard Cauchy distributed random value (location 0, scale 1).
+   */
+  public static double getCauchy ()
+  {
+    return getRandomGenerator ().getCauchy ();
+  }
+
+  /**
+   * Fill the passed array with random double values between 0 and 1.
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   */
+  public static void fillDoubles (@Nonnull final double [] aDst)
+  {
+    getRandomGenerator ().fillDoubles (aDst);
+  }
+
+  /**
+   * Fill the passed array with standard normally distributed random values.
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   */
+  public static void fillGaussian (@Nonnull final double [] aDst)
+  {
+    getRandomGenerator ().fillGaussian (aDst);
+  }
+
+  /**
+   * Fill the passed array with exponentially distributed random values with
+   * rate 1.
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   */
+  public static void fillExponential (@Nonnull final double [] aDst)
+  {
+    getRandomGenerator ().fillExponential (aDst);
+  }
+
+  /**
+   * Fill the passed array with standard Cauchy distributed random values.
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   */
+  public static void fillCauchy (@Nonnull final double [] aDst)
+  {
+    getRandomGenerator ().fillCauchy (aDst);
+  }
+
+  /**
+   * Fill the passed array with random int values in the range from [0 -
+   * max_value[
+   *
+   * @param aDst
+   *        The array to be filled. May not be <code>null</code>.
+   * @param nMaxValueExcl
+   *        The maximum value (exclusive) to be created
+   */
+  public static void fillIntsInRange (@Nonnull final int [] aDst, @Nonnegative final int nMaxValueExcl)
+  {
+    getRandomGenerator ().fillIntsInRange (aDst, nMaxValueExcl);
+  }
+
+  /**
+   * Fill the passed array with unique random int values in a range from [0 -
+   * max_value[
+   *
+   * @param aDst
+   *        The array to be filled. Its length is the number of values to
+   *        create. May not be <code>null</code>. Filled in value ascending
+   *        order.
+   * @param nMaxValueExcl
+   *        The maximum value (exclusive) to be created. Must be &ge; the array
+   *        length.
+   */
+  public static void fillMultipleUniqueIntsInRange (@Nonnull final int [] aDst, @Nonnegative final int nMaxValueExcl)
+  {
+    getRandomGenerator ().fillMultipleUniqueIntsInRange (aDst, nMaxValueExcl);
   }
 }
@@ -0,0 +1,255 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+
+/**
+ * Counter based random generator using the Philox4x32-10 algorithm (Salmon et
+ * al., "Parallel Random Numbers: As Easy as 1, 2, 3"). Each block of 4 ints is
+ * the encryption of a 128 bit counter with a 64 bit key, so the sequence is a
+ * pure function of:
+ * <ul>
+ * <li>the key - usually the seed of a run</li>
+ * <li>the 64 bit stream ID - e.g. created with
+ * {@link #getStreamID(int, int)} from the generation and the chromosome
+ * index</li>
+ * <li>the 64 bit draw position within the stream</li>
+ * </ul>
+ * Sub streams and split generators use hashed stream IDs, so they don't
+ * overlap with a probability close to 1.
+ *
+ * @author Philip Helger
+ */
+@NotThreadSafe
+public class RandomGeneratorPhilox implements ICounterBasedRandomGenerator
+{
+  private static final int M0 = 0xD2511F53;
+  private static final int M1 = 0xCD9E8D57;
+  private static final int W0 = 0x9E3779B9;
+  private static final int W1 = 0xBB67AE85;
+  private static final int ROUNDS = 10;
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  private final int m_nKey0;
+  private final int m_nKey1;
+  private final long m_nStream;
+  private long m_nBlock;
+  private long m_nSplitCount;
+  private final int [] m_aBuffer = new int [4];
+  private int m_nBufferPos = 4;
+
+  /**
+   * Constructor for stream 0.
+   *
+   * @param nKey
+   *        The key - usually the seed of the run.
+   */
+  public RandomGeneratorPhilox (final long nKey)
+  {
+    this (nKey, 0);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param nKey
+   *        The key - usually the seed of the run.
+   * @param nStream
+   *        The stream ID.
+   * @see #getStreamID(int, int)
+   */
+  public RandomGeneratorPhilox (final long nKey, final long nStream)
+  {
+    m_nKey0 = (int) nKey;
+    m_nKey1 = (int) (nKey >>> 32);
+    m_nStream = nStream;
+  }
+
+  /**
+   * Create a stream ID from a generation and a chromosome index.
+   *
+   * @param nGeneration
+   *        Generation
+   * @param nIndex
+   *        Chromosome index
+   * @return The stream ID.
+   */
+  public static long getStreamID (final int nGeneration, final int nIndex)
+  {
+    return ((long) nGeneration << 32) | (nIndex & 0xffffffffL);
+  }
+
+  /**
+   * @return The key of this generator.
+   */
+  public final long getKey ()
+  {
+    return ((long) m_nKey1 << 32) | (m_nKey0 & 0xffffffffL);
+  }
+
+  /**
+   * @return The stream ID of this generator.
+   */
+  public final long getStream ()
+  {
+    return m_nStream;
+  }
+
+  /**
+   * @return The number of 128 bit blocks already created.
+   */
+  @Nonnegative
+  public final long getBlockCount ()
+  {
+    return m_nBlock;
+  }
+
+  private static int _mulHi (final int a, final int b)
+  {
+    return (int) (((a & 0xffffffffL) * (b & 0xffffffffL)) >>> 32);
+  }
+
+  /**
+   * The Philox4x32-10 bijection.
+   *
+   * @param aCounter
+   *        The 4 counter values. Is overwritten with the result.
+   * @param nKey0
+   *        Lower key part
+   * @param nKey1
+   *        Upper key part
+   */
+  static void philox (@Nonnull final int [] aCounter, final int nKey0, final int nKey1)
+  {
+    int c0 = aCounter[0];
+    int c1 = aCounter[1];
+    int c2 = aCounter[2];
+    int c3 = aCounter[3];
+    int k0 = nKey0;
+    int k1 = nKey1;
+    for (int nRound = 0; nRound < ROUNDS; ++nRound)
+    {
+      if (nRound > 0)
+      {
+        k0 += W0;
+        k1 += W1;
+      }
+      final int nHi0 = _mulHi (M0, c0);
+      final int nLo0 = M0 * c0;
+      final int nHi1 = _mulHi (M1, c2);
+      final int nLo1 = M1 * c2;
+      c0 = nHi1 ^ c1 ^ k0;
+      c1 = nLo1;
+      c2 = nHi0 ^ c3 ^ k1;
+      c3 = nLo0;
+    }
+    aCounter[0] = c0;
+    aCounter[1] = c1;
+    aCounter[2] = c2;
+    aCounter[3] = c3;
+  }
+
+  /**
+   * Get the block at the provided position without changing the state of
+   * this generator.
+   *
+   * @param nBlock
+   *        Block index within the stream.
+   * @return An array with 4 random ints. Never <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public int [] getBlock (final long nBlock)
+  {
+    final int [] ret = { (int) nBlock, (int) (nBlock >>> 32), (int) m_nStream, (int) (m_nStream >>> 32) };
+    philox (ret, m_nKey0, m_nKey1);
+    return ret;
+  }
+
+  @Override
+  public int getInt ()
+  {
+    if (m_nBufferPos == 4)
+    {
+      final int [] aBuffer = m_aBuffer;
+      aBuffer[0] = (int) m_nBlock;
+      aBuffer[1] = (int) (m_nBlock >>> 32);
+      aBuffer[2] = (int) m_nStream;
+      aBuffer[3] = (int) (m_nStream >>> 32);
+      philox (aBuffer, m_nKey0, m_nKey1);
+      m_nBlock++;
+      m_nBufferPos = 0;
+    }
+    return m_aBuffer[m_nBufferPos++];
+  }
+
+  @Nonnegative
+  public double getDouble ()
+  {
+    final long nHigh = (getInt () >>> 6) & 0x3ffffffL;
+    final long nLow = (getInt () >>> 5) & 0x7ffffffL;
+    return ((nHigh << 27) | nLow) * DOUBLE_UNIT;
+  }
+
+  @Nonnegative
+  public int getIntInRange (@Nonnegative final int nMaxValueExcl)
+  {
+    ValueEnforcer.isGT0 (nMaxValueExcl, "MaxValueExcl");
+    // Lemire's nearly divisionless method
+    long m = (getInt () & 0xffffffffL) * nMaxValueExcl;
+    int nLow = (int) m;
+    if (Integer.compareUnsigned (nLow, nMaxValueExcl) < 0)
+    {
+      final int nThreshold = Integer.remainderUnsigned (-nMaxValueExcl, nMaxValueExcl);
+      while (Integer.compareUnsigned (nLow, nThreshold) < 0)
+      {
+        m = (getInt () & 0xffffffffL) * nMaxValueExcl;
+        nLow = (int) m;
+      }
+    }
+    return (int) (m >>> 32);
+  }
+
+  private static long _mix64 (final long n)
+  {
+    long z = n;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  @Nonnull
+  public RandomGeneratorPhilox getSubStream (final long nIndex)
+  {
+    return new RandomGeneratorPhilox (getKey (), _mix64 (m_nStream ^ _mix64 (nIndex)));
+  }
+
+  @Override
+  @Nonnull
+  public RandomGeneratorPhilox split ()
+  {
+    m_nSplitCount++;
+    // Use a different constant than for the sub streams
+    return new RandomGeneratorPhilox (getKey (), _mix64 (m_nStream + _mix64 (~m_nSplitCount)));
+  }
+}
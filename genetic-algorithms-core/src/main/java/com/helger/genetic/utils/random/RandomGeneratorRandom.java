@@ -16,14 +16,12 @@
  */
 package com.helger.genetic.utils.random;
 
-import java.util.BitSet;
 import java.util.Random;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 import com.helger.commons.ValueEnforcer;
-import com.helger.commons.annotation.Nonempty;
 
 /**
  * Implementation of {@link IRandomGenerator} based on {@link java.util.Random}
@@ -52,27 +50,9 @@ public class RandomGeneratorRandom implements IRandomGenerator
     return m_aRandom.nextInt (nMaxValueExcl);
   }
 
-  @Nonnull
-  @Nonempty
-  public int [] getMultipleUniqueIntsInRange (@Nonnegative final int nCount, @Nonnegative final int nMaxValueExcl)
+  @Override
+  public int getInt ()
   {
-    ValueEnforcer.isTrue (nCount >= 2, "Must create at least 2 values!");
-    ValueEnforcer.isTrue (nMaxValueExcl >= nCount, () -> "Must create at least " + nCount + " different value!");
-
-    // Select unique ints
-    final BitSet aBitSet = new BitSet (nMaxValueExcl);
-    while (aBitSet.cardinality () < nCount)
-      aBitSet.set (m_aRandom.nextInt (nMaxValueExcl));
-
-    // Get all selected bits
-    final int [] ret = new int [nCount];
-    int nRetIndex = 0;
-    for (int i = aBitSet.nextSetBit (0); i >= 0; i = aBitSet.nextSetBit (i + 1))
-      ret[nRetIndex++] = i;
-
-    // consistency checks
-    if (nRetIndex != nCount)
-      throw new IllegalStateException ("Selection did not work. Having " + nRetIndex + " but expected " + nCount);
-    return ret;
+    return m_aRandom.nextInt ();
   }
 }
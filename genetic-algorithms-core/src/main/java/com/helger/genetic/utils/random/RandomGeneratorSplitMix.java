@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+
+/**
+ * Fast splittable implementation of {@link IRandomGenerator} based on the
+ * SplitMix64 algorithm - the same algorithm as
+ * {@link java.util.SplittableRandom}, but serializable. Each instance must only
+ * be used by a single thread. Use {@link #split()} to create independent
+ * generators for other threads.
+ *
+ * @author Philip Helger
+ */
+@NotThreadSafe
+public class RandomGeneratorSplitMix implements IRandomGenerator
+{
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+  private static final AtomicLong s_aDefaultSeed = new AtomicLong (_mix64 (System.currentTimeMillis ()) ^
+                                                                   _mix64 (System.nanoTime ()));
+
+  private long m_nSeed;
+  private final long m_nGamma;
+
+  /**
+   * Constructor with a seed that is different for each instance.
+   */
+  public RandomGeneratorSplitMix ()
+  {
+    this (s_aDefaultSeed.getAndAdd (2 * GOLDEN_GAMMA));
+  }
+
+  /**
+   * Constructor with a fixed seed, for reproducible sequences.
+   *
+   * @param nSeed
+   *        The seed to use.
+   */
+  public RandomGeneratorSplitMix (final long nSeed)
+  {
+    this (_mix64 (nSeed), GOLDEN_GAMMA);
+  }
+
+  private RandomGeneratorSplitMix (final long nSeed, final long nGamma)
+  {
+    m_nSeed = nSeed;
+    m_nGamma = nGamma;
+  }
+
+  private static long _mix64 (final long n)
+  {
+    long z = n;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  private static int _mix32 (final long n)
+  {
+    long z = n;
+    z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+    return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+  }
+
+  private static long _mixGamma (final long n)
+  {
+    long z = n;
+    z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+    z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    z = (z ^ (z >>> 33)) | 1L;
+    // Avoid gammas with too few bit transitions
+    return Long.bitCount (z ^ (z >>> 1)) < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+  }
+
+  private long _nextSeed ()
+  {
+    m_nSeed += m_nGamma;
+    return m_nSeed;
+  }
+
+  /**
+   * @return A random long value using all 64 bits.
+   */
+  public long getLong ()
+  {
+    return _mix64 (_nextSeed ());
+  }
+
+  @Override
+  public int getInt ()
+  {
+    return _mix32 (_nextSeed ());
+  }
+
+  @Nonnegative
+  public double getDouble ()
+  {
+    return (_mix64 (_nextSeed ()) >>> 11) * DOUBLE_UNIT;
+  }
+
+  @Nonnegative
+  public int getIntInRange (@Nonnegative final int nMaxValueExcl)
+  {
+    ValueEnforcer.isGT0 (nMaxValueExcl, "MaxValueExcl");
+    int r = _mix32 (_nextSeed ());
+    final int m = nMaxValueExcl - 1;
+    if ((nMaxValueExcl & m) == 0)
+    {
+      // power of two
+      return r & m;
+    }
+
+    // Reject over-represented candidates
+    for (int u = r >>> 1; u + m - (r = u % nMaxValueExcl) < 0; u = _mix32 (_nextSeed ()) >>> 1)
+    {}
+    return r;
+  }
+
+  /**
+   * Create a new generator that shares no mutable state with this one. The
+   * sequence of the new generator is statistically independent from this one.
+   *
+   * @return The new generator. Never <code>null</code>.
+   */
+  @Override
+  @Nonnull
+  public RandomGeneratorSplitMix split ()
+  {
+    return new RandomGeneratorSplitMix (_mix64 (_nextSeed ()), _mixGamma (_nextSeed ()));
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Internal helper for {@link IRandomGenerator} to draw unique ints.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+final class UniqueIntSampler
+{
+  /**
+   * Up to this count, values are drawn by rejection with a sorted insert -
+   * O(k^2) comparisons but no allocation.
+   */
+  static final int REJECTION_THRESHOLD = 32;
+
+  /**
+   * If the maximum value is at most this factor times the count, selection
+   * sampling is used - O(max) = O(k) draws and no allocation.
+   */
+  static final int SELECTION_FACTOR = 4;
+
+  private UniqueIntSampler ()
+  {}
+
+  static void fillByRejection (@Nonnull final IRandomGenerator aRG,
+                               @Nonnull final int [] aDst,
+                               @Nonnegative final int nMaxValueExcl)
+  {
+    final int nCount = aDst.length;
+    int nFilled = 0;
+    while (nFilled < nCount)
+    {
+      final int nValue = aRG.getIntInRange (nMaxValueExcl);
+      final int nPos = Arrays.binarySearch (aDst, 0, nFilled, nValue);
+      if (nPos < 0)
+      {
+        // Not yet contained - insert sorted
+        final int nInsert = -nPos - 1;
+        System.arraycopy (aDst, nInsert, aDst, nInsert + 1, nFilled - nInsert);
+        aDst[nInsert] = nValue;
+        ++nFilled;
+      }
+    }
+  }
+
+  /**
+   * Knuth's selection sampling (Algorithm S): each value is selected with the
+   * probability (remaining count / remaining values). The result is sorted
+   * without any extra effort and no allocation is needed.
+   */
+  static void fillBySelection (@Nonnull final IRandomGenerator aRG,
+                               @Nonnull final int [] aDst,
+                               @Nonnegative final int nMaxValueExcl)
+  {
+    final int nCount = aDst.length;
+    int nFilled = 0;
+    for (int nValue = 0; nFilled < nCount; ++nValue)
+      if (aRG.getIntInRange (nMaxValueExcl - nValue) < nCount - nFilled)
+        aDst[nFilled++] = nValue;
+  }
+
+  /**
+   * Floyd's algorithm with an open addressing hash set. This needs a temporary
+   * table of O(k) size, but the effort is independent of the maximum value.
+   */
+  static void fillByFloyd (@Nonnull final IRandomGenerator aRG,
+                           @Nonnull final int [] aDst,
+                           @Nonnegative final int nMaxValueExcl)
+  {
+    final int nCount = aDst.length;
+
+    // Open addressing hash set with a load factor of at most 0.5
+    final int nTableSize = Integer.highestOneBit (nCount * 2 - 1) << 1;
+    final int nMask = nTableSize - 1;
+    // Fibonacci hashing - use the upper bits of the product
+    final int nShift = 32 - Integer.numberOfTrailingZeros (nTableSize);
+    final int [] aTable = new int [nTableSize];
+    // 0 marks an empty slot, so value+1 is stored
+    int nFilled = 0;
+    for (int j = nMaxValueExcl - nCount; j < nMaxValueExcl; ++j)
+    {
+      final int t = aRG.getIntInRange (j + 1);
+      // Use t if it is not yet contained, else j (which cannot be contained)
+      int nSlot = (t * 0x9E3779B9) >>> nShift;
+      boolean bFound = false;
+      while (aTable[nSlot] != 0)
+      {
+        if (aTable[nSlot] == t + 1)
+        {
+          bFound = true;
+          break;
+        }
+        nSlot = (nSlot + 1) & nMask;
+      }
+
+      final int nValue;
+      if (bFound)
+      {
+        nValue = j;
+        nSlot = (j * 0x9E3779B9) >>> nShift;
+        while (aTable[nSlot] != 0)
+          nSlot = (nSlot + 1) & nMask;
+      }
+      else
+        nValue = t;
+      aTable[nSlot] = nValue + 1;
+      aDst[nFilled++] = nValue;
+    }
+    Arrays.sort (aDst);
+  }
+}
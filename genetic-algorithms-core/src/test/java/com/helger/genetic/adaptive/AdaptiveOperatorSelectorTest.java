@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.adaptive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.ICommonsList;
+
+/**
+ * Test class for class {@link AdaptiveOperatorSelector}.
+ *
+ * @author Philip Helger
+ */
+public final class AdaptiveOperatorSelectorTest
+{
+  @Test
+  public void testBasic ()
+  {
+    for (final EOperatorSelectionStrategy eStrategy : EOperatorSelectionStrategy.values ())
+    {
+      final AdaptiveOperatorSelector aSelector = new AdaptiveOperatorSelector (3, eStrategy);
+      assertEquals (3, aSelector.getOperatorCount ());
+      assertEquals (eStrategy, aSelector.getStrategy ());
+
+      // All operators are tried first
+      for (int i = 0; i < 3; ++i)
+      {
+        assertEquals (i, aSelector.selectOperator ());
+        aSelector.addResult (i, i == 1 ? 10 : 0, 100);
+      }
+
+      // Operator 1 is the only one paying off
+      for (int i = 0; i < 1000; ++i)
+      {
+        final int nOperator = aSelector.selectOperator ();
+        aSelector.addResult (nOperator, nOperator == 1 ? 10 : 0, 100);
+      }
+
+      final ICommonsList <OperatorStatistics> aStats = aSelector.getAllStatistics ();
+      assertEquals (3, aStats.size ());
+      assertEquals (1003, aStats.get (0).getApplicationCount () +
+                          aStats.get (1).getApplicationCount () +
+                          aStats.get (2).getApplicationCount ());
+      assertTrue (eStrategy.toString (),
+                  aStats.get (1).getApplicationCount () > 4 *
+                                                          (aStats.get (0).getApplicationCount () +
+                                                           aStats.get (2).getApplicationCount ()));
+      assertEquals (aStats.get (1).getApplicationCount (), aStats.get (1).getImprovementCount ());
+      assertEquals (0, aStats.get (0).getImprovementCount ());
+      assertEquals (0.1, aStats.get (1).getImprovementPerNano (), 1e-9);
+      assertEquals (0.1, aStats.get (1).getQuality (), 1e-9);
+      assertEquals (0, aStats.get (2).getQuality (), 0);
+    }
+  }
+
+  @Test
+  public void testChangingRewards ()
+  {
+    final AdaptiveOperatorSelector aSelector = new AdaptiveOperatorSelector (2,
+                                                                             EOperatorSelectionStrategy.PROBABILITY_MATCHING);
+    // First operator 0 pays off, later operator 1
+    for (int nPhase = 0; nPhase < 2; ++nPhase)
+    {
+      for (int i = 0; i < 500; ++i)
+      {
+        final int nOperator = aSelector.selectOperator ();
+        aSelector.addResult (nOperator, nOperator == nPhase ? 10 : 0, 100);
+      }
+      final ICommonsList <OperatorStatistics> aStats = aSelector.getAllStatistics ();
+      assertTrue (aStats.get (nPhase).getQuality () > aStats.get (1 - nPhase).getQuality ());
+    }
+  }
+}
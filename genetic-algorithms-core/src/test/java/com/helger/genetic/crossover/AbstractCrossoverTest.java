@@ -0,0 +1,244 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.decisionmaker.DecisionMakerNever;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.MockFitnessFunction;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.utils.random.RandomGenerator;
+import com.helger.genetic.utils.random.RandomGeneratorPhilox;
+
+/**
+ * Test class for class {@link AbstractCrossover}.
+ *
+ * @author Philip Helger
+ */
+public final class AbstractCrossoverTest
+{
+  private static IChromosome [] _createParents (final int nCount, final int nGenes)
+  {
+    final IChromosome [] ret = new IChromosome [nCount];
+    for (int i = 0; i < nCount; ++i)
+    {
+      final int [] aGenes = new int [nGenes];
+      for (int j = 0; j < nGenes; ++j)
+        aGenes[j] = i * 100 + j;
+      ret[i] = Chromosome.createGenesInt (new MockFitnessFunction (), null, aGenes);
+    }
+    return ret;
+  }
+
+  private static CrossoverDiagonal _createCrossover (final boolean bAlways)
+  {
+    return new CrossoverDiagonal (3, bAlways ? DecisionMakerAlways.getInstance () : DecisionMakerNever.getInstance ())
+    {
+      @Override
+      protected int [] getCrossoverIndices (final int nCount, final int nGenes)
+      {
+        return new int [] { 1, 3 };
+      }
+    };
+  }
+
+  @Test
+  public void testDefaultBatch ()
+  {
+    final IChromosome [] aParents = _createParents (4, 5);
+    final int [] [] aMatingPlan = new int [] [] { { 0, 1, 2 }, { 3, 3, 0 } };
+
+    final CrossoverDiagonal aCrossover = _createCrossover (true);
+    final IChromosome [] aExpected = new IChromosome [6];
+    aCrossover.crossoverBatch (aParents, aMatingPlan, aExpected);
+
+    // Only implements the list based crossover
+    final CrossoverDiagonal aDelegate = _createCrossover (true);
+    final ICrossover aCustom = new ICrossover ()
+    {
+      public IDecisionMaker getDecisionMaker ()
+      {
+        return aDelegate.getDecisionMaker ();
+      }
+
+      public int getTryCount ()
+      {
+        return aDelegate.getTryCount ();
+      }
+
+      public int getExecutionCount ()
+      {
+        return aDelegate.getExecutionCount ();
+      }
+
+      public int getCrossoverChromosomeCount ()
+      {
+        return aDelegate.getCrossoverChromosomeCount ();
+      }
+
+      public ICommonsList <IChromosome> crossover (final ICommonsList <IChromosome> aChromosomes)
+      {
+        return aDelegate.crossover (aChromosomes);
+      }
+    };
+    final IChromosome [] aTarget = new IChromosome [6];
+    aCustom.crossoverBatch (aParents, aMatingPlan, aTarget);
+    assertEquals (2, aCustom.getTryCount ());
+    for (int i = 0; i < aTarget.length; ++i)
+      assertArrayEquals (aExpected[i].getGeneIntArray (), aTarget[i].getGeneIntArray ());
+
+    // Single decision for all matings
+    final IChromosome [] aTarget2 = new IChromosome [6];
+    aCustom.crossoverBatchSingleDecision (aParents, aMatingPlan, aTarget2);
+    assertEquals (3, aCustom.getTryCount ());
+    for (int i = 0; i < aTarget2.length; ++i)
+      assertArrayEquals (aExpected[i].getGeneIntArray (), aTarget2[i].getGeneIntArray ());
+  }
+
+  @Test
+  public void testBatchSingleDecision ()
+  {
+    final IChromosome [] aParents = _createParents (4, 5);
+    final int [] [] aMatingPlan = new int [] [] { { 0, 1, 2 }, { 3, 3, 0 } };
+
+    final CrossoverDiagonal aCrossover = _createCrossover (true);
+    final IChromosome [] aTarget = new IChromosome [6];
+    aCrossover.crossoverBatchSingleDecision (aParents, aMatingPlan, aTarget);
+    assertEquals (1, aCrossover.getTryCount ());
+    assertEquals (1, aCrossover.getExecutionCount ());
+    assertArrayEquals (new int [] { 0, 101, 102, 203, 204 }, aTarget[0].getGeneIntArray ());
+    assertArrayEquals (new int [] { 0, 301, 302, 303, 304 }, aTarget[5].getGeneIntArray ());
+
+    final CrossoverDiagonal aNever = _createCrossover (false);
+    aNever.crossoverBatchSingleDecision (aParents, aMatingPlan, aTarget);
+    assertEquals (1, aNever.getTryCount ());
+    assertEquals (0, aNever.getExecutionCount ());
+    assertSame (aParents[2], aTarget[2]);
+    assertSame (aParents[3], aTarget[4]);
+  }
+
+  @Test
+  public void testBatch ()
+  {
+    final IChromosome [] aParents = _createParents (4, 5);
+    final int [] [] aMatingPlan = new int [] [] { { 0, 1, 2 }, { 3, 3, 0 } };
+
+    final CrossoverDiagonal aCrossover = _createCrossover (true);
+    final IChromosome [] aTarget = new IChromosome [6];
+    aCrossover.crossoverBatch (aParents, aMatingPlan, aTarget);
+    assertEquals (2, aCrossover.getTryCount ());
+    assertEquals (2, aCrossover.getExecutionCount ());
+    assertArrayEquals (new int [] { 0, 101, 102, 203, 204 }, aTarget[0].getGeneIntArray ());
+    assertArrayEquals (new int [] { 100, 201, 202, 3, 4 }, aTarget[1].getGeneIntArray ());
+    assertArrayEquals (new int [] { 200, 1, 2, 103, 104 }, aTarget[2].getGeneIntArray ());
+    assertArrayEquals (new int [] { 300, 301, 302, 3, 4 }, aTarget[3].getGeneIntArray ());
+    assertArrayEquals (new int [] { 300, 1, 2, 303, 304 }, aTarget[4].getGeneIntArray ());
+    assertArrayEquals (new int [] { 0, 301, 302, 303, 304 }, aTarget[5].getGeneIntArray ());
+  }
+
+  @Test
+  public void testBatchNever ()
+  {
+    final IChromosome [] aParents = _createParents (4, 5);
+    final int [] [] aMatingPlan = new int [] [] { { 0, 1, 2 }, { 3, 3, 0 } };
+
+    final CrossoverDiagonal aCrossover = _createCrossover (false);
+    final IChromosome [] aTarget = new IChromosome [6];
+    aCrossover.crossoverBatch (aParents, aMatingPlan, aTarget);
+    assertEquals (2, aCrossover.getTryCount ());
+    assertEquals (0, aCrossover.getExecutionCount ());
+    assertSame (aParents[0], aTarget[0]);
+    assertSame (aParents[1], aTarget[1]);
+    assertSame (aParents[2], aTarget[2]);
+    assertSame (aParents[3], aTarget[3]);
+    assertSame (aParents[3], aTarget[4]);
+    assertSame (aParents[0], aTarget[5]);
+  }
+
+  @Test
+  public void testBatchParallel ()
+  {
+    final IChromosome [] aParents = _createParents (50, 20);
+    final int [] [] aMatingPlan = new int [200] [];
+    for (int i = 0; i < aMatingPlan.length; ++i)
+      aMatingPlan[i] = new int [] { i % 50, (i * 7) % 50, (i * 13 + 1) % 50 };
+
+    final CrossoverDiagonal aSequential = _createCrossover (true);
+    final IChromosome [] aTargetSequential = new IChromosome [600];
+    aSequential.crossoverBatch (aParents, aMatingPlan, aTargetSequential);
+
+    final CrossoverDiagonal aParallel = _createCrossover (true);
+    aParallel.setParallelism (8);
+    final IChromosome [] aTargetParallel = new IChromosome [600];
+    aParallel.crossoverBatch (aParents, aMatingPlan, aTargetParallel);
+
+    for (int i = 0; i < aTargetSequential.length; ++i)
+      assertArrayEquals (aTargetSequential[i].getGeneIntArray (), aTargetParallel[i].getGeneIntArray ());
+  }
+
+  @Test
+  public void testParallelReproducible ()
+  {
+    final int nGenes = 50;
+    final ICommonsList <IChromosome> aChromosomes = new CommonsArrayList <> ();
+    final int [] aGenes = new int [nGenes];
+    for (int i = 0; i < nGenes; ++i)
+      aGenes[i] = i;
+    for (int i = 0; i < 200; ++i)
+    {
+      final int [] aPerm = aGenes.clone ();
+      // Rotate to get different parents
+      for (int j = 0; j < nGenes; ++j)
+        aPerm[j] = aGenes[(j * 7 + i) % nGenes];
+      aChromosomes.add (Chromosome.createGenesInt (new MockFitnessFunction (), null, aPerm));
+    }
+
+    int [] [] aFirstResult = null;
+    for (final int nParallelism : new int [] { 1, 3, 8 })
+    {
+      final CrossoverPartiallyMapped aCrossover = new CrossoverPartiallyMapped (DecisionMakerAlways.getInstance ());
+      aCrossover.setParallelism (nParallelism);
+      RandomGenerator.setThreadRandomGenerator (new RandomGeneratorPhilox (4711));
+      final ICommonsList <IChromosome> ret;
+      try
+      {
+        ret = aCrossover.crossover (aChromosomes);
+      }
+      finally
+      {
+        RandomGenerator.setThreadRandomGenerator (null);
+      }
+
+      final int [] [] aResult = new int [ret.size ()] [];
+      for (int i = 0; i < ret.size (); ++i)
+        aResult[i] = ret.get (i).getGeneIntArray ();
+      if (aFirstResult == null)
+        aFirstResult = aResult;
+      else
+        assertArrayEquals (aFirstResult, aResult);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.adaptive.EOperatorSelectionStrategy;
+import com.helger.genetic.adaptive.OperatorStatistics;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.MockFitnessFunction;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link CrossoverAdaptive}.
+ *
+ * @author Philip Helger
+ */
+public final class CrossoverAdaptiveTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final CrossoverAdaptive aCrossover = new CrossoverAdaptive (DecisionMakerAlways.getInstance (),
+                                                                EOperatorSelectionStrategy.UCB1,
+                                                                new CrossoverPartiallyMapped (DecisionMakerAlways.getInstance ()),
+                                                                new CrossoverOrder (DecisionMakerAlways.getInstance ()));
+    assertEquals (2, aCrossover.getCrossoverChromosomeCount ());
+    assertEquals (2, aCrossover.getAllCrossovers ().size ());
+
+    final IChromosome c1 = Chromosome.createGenesInt (new MockFitnessFunction (), null, 0, 1, 2, 3, 4, 5, 6, 7);
+    final IChromosome c2 = Chromosome.createGenesInt (new MockFitnessFunction (), null, 7, 5, 3, 1, 6, 4, 2, 0);
+    for (int i = 0; i < 100; ++i)
+    {
+      final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c1, c2));
+      assertEquals (2, ret.size ());
+      for (final IChromosome c : ret)
+      {
+        final int [] aSorted = c.getGeneIntArray ();
+        Arrays.sort (aSorted);
+        assertEquals ("[0, 1, 2, 3, 4, 5, 6, 7]", Arrays.toString (aSorted));
+      }
+    }
+
+    final ICommonsList <OperatorStatistics> aStats = aCrossover.getAllStatistics ();
+    assertEquals (100, aStats.get (0).getApplicationCount () + aStats.get (1).getApplicationCount ());
+  }
+
+  @Test
+  public void testDifferentChromosomeCounts ()
+  {
+    try
+    {
+      new CrossoverAdaptive (DecisionMakerAlways.getInstance (),
+                             EOperatorSelectionStrategy.UCB1,
+                             new CrossoverPartiallyMapped (DecisionMakerAlways.getInstance ()),
+                             new CrossoverEdgeRecombination (3, DecisionMakerAlways.getInstance ()));
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.MockFitnessFunction;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link CrossoverArithmeticDouble}.
+ *
+ * @author Philip Helger
+ */
+public final class CrossoverArithmeticDoubleTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final CrossoverArithmeticDouble aCrossover = new CrossoverArithmeticDouble (DecisionMakerAlways.getInstance ())
+    {
+      @Override
+      protected double getWeight ()
+      {
+        return 0.25;
+      }
+    };
+    final IChromosome c1 = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 0, 4, 8, -4);
+    final IChromosome c2 = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 4, 0, 8, 4);
+    final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c1, c2));
+    assertEquals (2, ret.size ());
+    assertArrayEquals (new double [] { 3, 1, 8, 2 }, ret.get (0).getGeneDoubleArray (), 1e-12);
+    assertArrayEquals (new double [] { 1, 3, 8, -2 }, ret.get (1).getGeneDoubleArray (), 1e-12);
+  }
+}
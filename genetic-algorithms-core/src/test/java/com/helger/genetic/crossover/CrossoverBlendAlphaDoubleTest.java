@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.MockFitnessFunction;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link CrossoverBlendAlphaDouble}.
+ *
+ * @author Philip Helger
+ */
+public final class CrossoverBlendAlphaDoubleTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final CrossoverBlendAlphaDouble aCrossover = new CrossoverBlendAlphaDouble (DecisionMakerAlways.getInstance (), 0.5)
+    {
+      @Override
+      protected void fillRandomValues (final double [] aDst)
+      {
+        // First child 0, second child 1 - the interval borders
+        for (int i = 0; i < aDst.length; ++i)
+          aDst[i] = i < aDst.length / 2 ? 0 : 1;
+      }
+    };
+    final IChromosome c1 = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 0, 4, 8);
+    final IChromosome c2 = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 4, 0, 8);
+    final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c1, c2));
+    assertEquals (2, ret.size ());
+    assertArrayEquals (new double [] { -2, -2, 8 }, ret.get (0).getGeneDoubleArray (), 1e-12);
+    assertArrayEquals (new double [] { 6, 6, 8 }, ret.get (1).getGeneDoubleArray (), 1e-12);
+  }
+
+  @Test
+  public void testRandom ()
+  {
+    final CrossoverBlendAlphaDouble aCrossover = new CrossoverBlendAlphaDouble (DecisionMakerAlways.getInstance (), 0.5);
+    final IChromosome c1 = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 0, 4, 8, 1);
+    final IChromosome c2 = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 4, 0, 8, 2);
+    for (int n = 0; n < 1000; ++n)
+    {
+      final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c1, c2));
+      for (final IChromosome aChild : ret)
+      {
+        final double [] aGenes = aChild.getGeneDoubleArray ();
+        assertTrue (aGenes[0] >= -2 && aGenes[0] <= 6);
+        assertTrue (aGenes[1] >= -2 && aGenes[1] <= 6);
+        assertEquals (8, aGenes[2], 0);
+        assertTrue (aGenes[3] >= 0.5 && aGenes[3] <= 2.5);
+      }
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.MockFitnessFunction;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link CrossoverDiagonal}.
+ *
+ * @author Philip Helger
+ */
+public final class CrossoverDiagonalTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final CrossoverDiagonal aCrossover = new CrossoverDiagonal (3, DecisionMakerAlways.getInstance ())
+    {
+      @Override
+      protected int [] getCrossoverIndices (final int nCount, final int nGenes)
+      {
+        return new int [] { 2, 4 };
+      }
+    };
+    final IChromosome c1 = Chromosome.createGenesInt (new MockFitnessFunction (), null, 10, 11, 12, 13, 14, 15);
+    final IChromosome c2 = Chromosome.createGenesInt (new MockFitnessFunction (), null, 20, 21, 22, 23, 24, 25);
+    final IChromosome c3 = Chromosome.createGenesInt (new MockFitnessFunction (), null, 30, 31, 32, 33, 34, 35);
+    final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c1, c2, c3));
+    assertEquals (3, ret.size ());
+    assertArrayEquals (new int [] { 10, 11, 22, 23, 34, 35 }, ret.get (0).getGeneIntArray ());
+    assertArrayEquals (new int [] { 20, 21, 32, 33, 14, 15 }, ret.get (1).getGeneIntArray ());
+    assertArrayEquals (new int [] { 30, 31, 12, 13, 24, 25 }, ret.get (2).getGeneIntArray ());
+  }
+
+  @Test
+  public void testRandomIndices ()
+  {
+    final CrossoverDiagonal aCrossover = new CrossoverDiagonal (4, DecisionMakerAlways.getInstance ());
+    for (int i = 0; i < 100; ++i)
+    {
+      final int [] aIndices = aCrossover.getCrossoverIndices (3, 5);
+      assertEquals (3, aIndices.length);
+      int nPrev = 0;
+      for (final int nIndex : aIndices)
+      {
+        assertTrue (nIndex > nPrev && nIndex < 5);
+        nPrev = nIndex;
+      }
+    }
+  }
+}
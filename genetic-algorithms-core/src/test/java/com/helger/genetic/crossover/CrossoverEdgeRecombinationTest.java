@@ -53,8 +53,32 @@ public final class CrossoverEdgeRecombinationTest
     assertEquals (2, ret.size ());
     LOGGER.info (Arrays.toString (ret.get (0).getGeneIntArray ()));
     LOGGER.info (Arrays.toString (ret.get (1).getGeneIntArray ()));
-    final int [] aNew = new int [] { 0, 1, 2, 3, 4, 5, 6 };
-    assertArrayEquals (aNew, ret.get (0).getGeneIntArray ());
-    assertArrayEquals (aNew, ret.get (1).getGeneIntArray ());
+    final int [] aNew0 = new int [] { 0, 1, 2, 3, 4, 5, 6 };
+    final int [] aNew1 = new int [] { 6, 3, 4, 5, 1, 0, 2 };
+    assertArrayEquals (aNew0, ret.get (0).getGeneIntArray ());
+    assertArrayEquals (aNew1, ret.get (1).getGeneIntArray ());
+  }
+
+  @Test
+  public void testMultiParent ()
+  {
+    final CrossoverEdgeRecombination aCrossover = new CrossoverEdgeRecombination (3,
+                                                                                  DecisionMakerAlways.getInstance ());
+    assertEquals (3, aCrossover.getCrossoverChromosomeCount ());
+    final IChromosome c1 = Chromosome.createGenesInt (new MockFitnessFunction (), null, 0, 1, 5, 4, 3, 6, 2);
+    final IChromosome c2 = Chromosome.createGenesInt (new MockFitnessFunction (), null, 6, 5, 0, 1, 2, 3, 4);
+    final IChromosome c3 = Chromosome.createGenesInt (new MockFitnessFunction (), null, 3, 2, 1, 0, 6, 5, 4);
+    final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c1, c2, c3));
+    assertNotNull (ret);
+    assertEquals (3, ret.size ());
+    for (int i = 0; i < 3; ++i)
+    {
+      final int [] aGenes = ret.get (i).getGeneIntArray ();
+      // Each child starts with the first gene of "its" parent
+      assertEquals (new int [] { 0, 6, 3 }[i], aGenes[0]);
+      final int [] aSorted = aGenes.clone ();
+      Arrays.sort (aSorted);
+      assertArrayEquals (new int [] { 0, 1, 2, 3, 4, 5, 6 }, aSorted);
+    }
   }
 }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.crossover;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.MockFitnessFunction;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link CrossoverSimulatedBinaryDouble}.
+ *
+ * @author Philip Helger
+ */
+public final class CrossoverSimulatedBinaryDoubleTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final CrossoverSimulatedBinaryDouble aCrossover = new CrossoverSimulatedBinaryDouble (DecisionMakerAlways.getInstance (),
+                                                                                          1)
+    {
+      @Override
+      protected void fillRandomValues (final double [] aDst)
+      {
+        // beta = 1, beta = 0.5 and beta = 2
+        aDst[0] = 0.5;
+        aDst[1] = 0.125;
+        aDst[2] = 0.875;
+      }
+    };
+    final IChromosome c1 = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 0, 0, 0);
+    final IChromosome c2 = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 4, 4, 4);
+    final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c1, c2));
+    assertEquals (2, ret.size ());
+    assertArrayEquals (new double [] { 0, 1, -2 }, ret.get (0).getGeneDoubleArray (), 1e-12);
+    assertArrayEquals (new double [] { 4, 3, 6 }, ret.get (1).getGeneDoubleArray (), 1e-12);
+  }
+
+  @Test
+  public void testMeanPreserved ()
+  {
+    final CrossoverSimulatedBinaryDouble aCrossover = new CrossoverSimulatedBinaryDouble (DecisionMakerAlways.getInstance ());
+    final IChromosome c1 = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 0, 4, 8, -1);
+    final IChromosome c2 = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 4, 0, 8, 3);
+    for (int n = 0; n < 1000; ++n)
+    {
+      final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c1, c2));
+      final double [] aGenes0 = ret.get (0).getGeneDoubleArray ();
+      final double [] aGenes1 = ret.get (1).getGeneDoubleArray ();
+      assertEquals (4, aGenes0[0] + aGenes1[0], 1e-9);
+      assertEquals (4, aGenes0[1] + aGenes1[1], 1e-9);
+      assertEquals (16, aGenes0[2] + aGenes1[2], 1e-9);
+      assertEquals (2, aGenes0[3] + aGenes1[3], 1e-9);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.model.chromosome;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.IFitnessFunction;
+import com.helger.genetic.model.MockFitnessFunction;
+import com.helger.genetic.model.Population;
+import com.helger.genetic.mutation.IMutation;
+import com.helger.genetic.mutation.MutationRandomExchange;
+import com.helger.genetic.mutation.MutationRandomMoveMultiple;
+import com.helger.genetic.mutation.MutationRandomMoveSingle;
+import com.helger.genetic.mutation.MutationRandomPartialReverse;
+
+/**
+ * Test class for class {@link ChromosomeInt}.
+ *
+ * @author Philip Helger
+ */
+public final class ChromosomeIntTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final IFitnessFunction ff = new MockFitnessFunction ();
+    final int [] aGenes = new int [] { 3, 1, 2, 0 };
+    final ChromosomeInt c = new ChromosomeInt (ff, null, aGenes, null, false);
+    assertEquals (4, c.getGeneCount ());
+    assertEquals (2, c.getGene (2).intValue ());
+    assertArrayEquals (aGenes, c.getGeneIntArray ());
+    assertNotSame (aGenes, c.getGeneIntArray ());
+    assertSame (aGenes, c.internalGetGeneIntArray ());
+    assertEquals (4, c.getAllGenes ().size ());
+    assertEquals (c, new ChromosomeInt (ff, null, new int [] { 3, 1, 2, 0 }, null, true));
+    assertEquals (c.hashCode (), new ChromosomeInt (ff, null, new int [] { 3, 1, 2, 0 }, null, true).hashCode ());
+    assertFalse (c.isExclusivelyOwned ());
+    assertTrue (c.isValid ());
+
+    try
+    {
+      // Not exclusively owned
+      c.invalidateFitness ();
+      fail ();
+    }
+    catch (final IllegalStateException ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testOwnership ()
+  {
+    final IFitnessFunction ff = new MockFitnessFunction ();
+    final IChromosome aTemplate = Chromosome.createGenesInt (ff, null, 0, 1, 2, 3);
+    final ChromosomeInt c = ChromosomeInt.createExclusiveWithFitness (aTemplate, 5, 0, 1, 2, 3);
+    assertTrue (c.isExclusivelyOwned ());
+    assertEquals (5, c.getFitness (), 0);
+    c.adjustFitness (-2);
+    assertEquals (3, c.getFitness (), 0);
+
+    final Population aPopulation = new Population (1);
+    aPopulation.addChromosome (c);
+    assertFalse (c.isExclusivelyOwned ());
+  }
+
+  @Test
+  public void testInPlaceMutations ()
+  {
+    final IFitnessFunction ff = new MockFitnessFunction ();
+    for (final IMutation aMutation : new CommonsArrayList <> (new MutationRandomExchange (DecisionMakerAlways.getInstance ()),
+                                                               new MutationRandomMoveSingle (DecisionMakerAlways.getInstance ()),
+                                                               new MutationRandomMoveMultiple (DecisionMakerAlways.getInstance ()),
+                                                               new MutationRandomPartialReverse (DecisionMakerAlways.getInstance ())))
+    {
+      final ChromosomeInt c = new ChromosomeInt (ff, null, new int [] { 0, 1, 2, 3, 4, 5, 6, 7 }, null, true);
+      final ChromosomeInt cShared = new ChromosomeInt (ff, null, new int [] { 0, 1, 2, 3, 4, 5, 6, 7 }, null, false);
+      for (int i = 0; i < 100; ++i)
+      {
+        // Exclusively owned chromosomes are modified in place
+        assertSame (c, aMutation.mutate (new CommonsArrayList <> (c)).get (0));
+
+        // Shared chromosomes are never modified
+        final IChromosome aMutated = aMutation.mutate (new CommonsArrayList <> (cShared)).get (0);
+        assertNotSame (cShared, aMutated);
+        assertArrayEquals (new int [] { 0, 1, 2, 3, 4, 5, 6, 7 }, cShared.getGeneIntArray ());
+        assertFalse (aMutated.isExclusivelyOwned ());
+
+        // Still a permutation
+        final int [] aSorted = c.getGeneIntArray ();
+        Arrays.sort (aSorted);
+        assertArrayEquals (new int [] { 0, 1, 2, 3, 4, 5, 6, 7 }, aSorted);
+      }
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.mutation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.adaptive.EOperatorSelectionStrategy;
+import com.helger.genetic.adaptive.OperatorStatistics;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.IFitnessFunction;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link MutationAdaptive}.
+ *
+ * @author Philip Helger
+ */
+public final class MutationAdaptiveTest
+{
+  private static final IFitnessFunction FF = c -> {
+    double ret = 0;
+    for (final double d : c.getGeneDoubleArray ())
+      ret += d;
+    return ret;
+  };
+
+  @Test
+  public void testBasic ()
+  {
+    // Increases the fitness
+    final AbstractMutation aImprover = new AbstractMutation (DecisionMakerAlways.getInstance ())
+    {
+      @Override
+      @Nonnull
+      public IChromosome executeMutation (@Nonnull final IChromosome aChromosome)
+      {
+        final double [] aGenes = aChromosome.getGeneDoubleArray ();
+        aGenes[0] += 1;
+        return Chromosome.createGenesDouble (aChromosome, aGenes);
+      }
+    };
+    // Does nothing
+    final AbstractMutation aIdle = new AbstractMutation (DecisionMakerAlways.getInstance ())
+    {
+      @Override
+      @Nonnull
+      public IChromosome executeMutation (@Nonnull final IChromosome aChromosome)
+      {
+        return aChromosome;
+      }
+    };
+
+    for (final EOperatorSelectionStrategy eStrategy : EOperatorSelectionStrategy.values ())
+    {
+      final MutationAdaptive aMutation = new MutationAdaptive (DecisionMakerAlways.getInstance (),
+                                                               eStrategy,
+                                                               aIdle,
+                                                               aImprover);
+      assertEquals (2, aMutation.getAllMutations ().size ());
+      IChromosome c = Chromosome.createGenesDouble (FF, null, 0, 0);
+      for (int i = 0; i < 500; ++i)
+        c = aMutation.mutate (new CommonsArrayList <> (c)).getFirst ();
+
+      assertEquals (500, aMutation.getExecutionCount ());
+      final ICommonsList <OperatorStatistics> aStats = aMutation.getAllStatistics ();
+      assertEquals (500, aStats.get (0).getApplicationCount () + aStats.get (1).getApplicationCount ());
+      assertEquals (0, aStats.get (0).getTotalImprovement (), 0);
+      assertEquals (aStats.get (1).getApplicationCount (), aStats.get (1).getTotalImprovement (), 1e-9);
+      assertEquals (c.getFitness (), aStats.get (1).getTotalImprovement (), 1e-9);
+      assertTrue (aStats.get (1).getApplicationCount () > aStats.get (0).getApplicationCount ());
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.mutation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.MockFitnessFunction;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link MutationGaussianDouble}.
+ *
+ * @author Philip Helger
+ */
+public final class MutationGaussianDoubleTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final MutationGaussianDouble aMutation = new MutationGaussianDouble (DecisionMakerAlways.getInstance (), 0.5)
+    {
+      @Override
+      protected void fillGaussianValues (final double [] aDst)
+      {
+        for (int i = 0; i < aDst.length; ++i)
+          aDst[i] = i - 1;
+      }
+    };
+    final IChromosome c = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 1, 2, 3);
+    assertArrayEquals (new double [] { 0.5, 2, 3.5 }, aMutation.executeMutation (c).getGeneDoubleArray (), 1e-12);
+  }
+
+  @Test
+  public void testDistribution ()
+  {
+    final MutationGaussianDouble aMutation = new MutationGaussianDouble (DecisionMakerAlways.getInstance (), 2);
+    final double [] aValues = new double [100001];
+    aMutation.fillGaussianValues (aValues);
+    double dSum = 0;
+    double dSumSq = 0;
+    for (final double d : aValues)
+    {
+      dSum += d;
+      dSumSq += d * d;
+    }
+    final double dMean = dSum / aValues.length;
+    assertEquals (0, dMean, 0.02);
+    assertEquals (1, dSumSq / aValues.length - dMean * dMean, 0.02);
+  }
+}
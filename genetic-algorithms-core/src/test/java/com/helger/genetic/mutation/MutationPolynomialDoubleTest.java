@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.mutation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.MockFitnessFunction;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link MutationPolynomialDouble}.
+ *
+ * @author Philip Helger
+ */
+public final class MutationPolynomialDoubleTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final MutationPolynomialDouble aMutation = new MutationPolynomialDouble (DecisionMakerAlways.getInstance (),
+                                                                             1,
+                                                                             0,
+                                                                             10)
+    {
+      @Override
+      protected void fillRandomValues (final double [] aDst)
+      {
+        // delta = 0, delta = -0.5, delta = 0.5 and delta = -1
+        aDst[0] = 0.5;
+        aDst[1] = 0.125;
+        aDst[2] = 0.875;
+        aDst[3] = 0;
+      }
+    };
+    final IChromosome c = Chromosome.createGenesDouble (new MockFitnessFunction (), null, 5, 6, 7, 8);
+    assertArrayEquals (new double [] { 5, 1, 10, 0 }, aMutation.executeMutation (c).getGeneDoubleArray (), 1e-12);
+  }
+
+  @Test
+  public void testBounds ()
+  {
+    final MutationPolynomialDouble aMutation = new MutationPolynomialDouble (DecisionMakerAlways.getInstance (),
+                                                                             -1,
+                                                                             1);
+    IChromosome c = Chromosome.createGenesDouble (new MockFitnessFunction (), null, -1, 0, 0.5, 1);
+    for (int n = 0; n < 1000; ++n)
+    {
+      c = aMutation.executeMutation (c);
+      for (final double d : c.getGeneDoubleArray ())
+        assertTrue (d >= -1 && d <= 1);
+    }
+  }
+}
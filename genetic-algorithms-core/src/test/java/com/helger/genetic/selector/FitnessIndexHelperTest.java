@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Test class for class {@link FitnessIndexHelper}.
+ *
+ * @author Philip Helger
+ */
+public final class FitnessIndexHelperTest
+{
+  @Test
+  public void testGetBestIndices ()
+  {
+    final double [] aFitnesses = { 0.5, 0.1, 0.9, 0.5, 0.7, 0.9 };
+    assertArrayEquals (new int [] { 2 }, FitnessIndexHelper.getBestIndices (aFitnesses, 1));
+    assertArrayEquals (new int [] { 2, 5 }, FitnessIndexHelper.getBestIndices (aFitnesses, 2));
+    assertArrayEquals (new int [] { 2, 5, 4, 0 }, FitnessIndexHelper.getBestIndices (aFitnesses, 4));
+    assertArrayEquals (new int [] { 2, 5, 4, 0, 3, 1 }, FitnessIndexHelper.getBestIndices (aFitnesses, 6));
+    assertArrayEquals (new int [] { 2, 5, 4, 0, 3, 1 }, FitnessIndexHelper.getBestIndices (aFitnesses, 100));
+    assertEquals (2, FitnessIndexHelper.getBestIndex (aFitnesses));
+  }
+
+  @Test
+  public void testCompareWithSort ()
+  {
+    for (int nRun = 0; nRun < 50; ++nRun)
+    {
+      final int nEntries = 1 + RandomGenerator.getIntInRange (500);
+      final double [] aFitnesses = new double [nEntries];
+      for (int i = 0; i < nEntries; ++i)
+        aFitnesses[i] = RandomGenerator.getIntInRange (100) / 10.0;
+
+      // Stable sort by descending fitness
+      final int [] aSorted = IntStream.range (0, nEntries)
+                                      .boxed ()
+                                      .sorted (Comparator.comparingDouble ((final Integer i) -> aFitnesses[i.intValue ()])
+                                                         .reversed ())
+                                      .mapToInt (Integer::intValue)
+                                      .toArray ();
+      final int nCount = 1 + RandomGenerator.getIntInRange (nEntries);
+      assertArrayEquals (Arrays.copyOf (aSorted, nCount), FitnessIndexHelper.getBestIndices (aFitnesses, nCount));
+    }
+  }
+}
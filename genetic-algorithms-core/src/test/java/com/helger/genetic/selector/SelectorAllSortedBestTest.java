@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link SelectorAllSortedBest}.
+ *
+ * @author Philip Helger
+ */
+public final class SelectorAllSortedBestTest
+{
+  @Test
+  public void testIndices ()
+  {
+    final double [] aFitnesses = { 0.5, 0.1, 0.9, 0.5, 0.7 };
+    final int [] aSelected = new int [aFitnesses.length];
+    new SelectorAllSortedBest (2).selectIndices (aFitnesses, aSelected);
+    assertArrayEquals (new int [] { 2, 4, 2, 4, 2 }, aSelected);
+
+    // More best than chromosomes
+    new SelectorAllSortedBest (10).selectIndices (aFitnesses, aSelected);
+    assertArrayEquals (new int [] { 2, 4, 0, 3, 1 }, aSelected);
+  }
+
+  @Test
+  public void testChromosomes ()
+  {
+    final double [] aFitnesses = { 0.5, 0.1, 0.9, 0.5, 0.7 };
+    final ICommonsList <IChromosome> aChromosomes = new CommonsArrayList <> ();
+    for (final double dFitness : aFitnesses)
+      aChromosomes.add (Chromosome.createGenesInt (c -> dFitness, null, 0));
+
+    final ICommonsList <IChromosome> ret = new SelectorAllSortedBest (2).selectSurvivingChromosomes (aChromosomes);
+    assertEquals (aChromosomes.size (), ret.size ());
+    for (int i = 0; i < ret.size (); ++i)
+      assertSame (aChromosomes.get (i % 2 == 0 ? 2 : 4), ret.get (i));
+  }
+}
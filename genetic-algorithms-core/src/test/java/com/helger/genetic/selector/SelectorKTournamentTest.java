@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link SelectorKTournament}.
+ *
+ * @author Philip Helger
+ */
+public final class SelectorKTournamentTest
+{
+  @Nonnull
+  private static ICommonsList <IChromosome> _createPopulation (final int nCount)
+  {
+    final ICommonsList <IChromosome> ret = new CommonsArrayList <> (nCount);
+    for (int i = 0; i < nCount; ++i)
+    {
+      final double dFitness = i;
+      ret.add (Chromosome.createGenesInt (c -> dFitness, null, i));
+    }
+    return ret;
+  }
+
+  private static double _getAverageFitness (@Nonnull final ICommonsList <IChromosome> aChromosomes)
+  {
+    double ret = 0;
+    for (final IChromosome c : aChromosomes)
+      ret += c.getFitness ();
+    return ret / aChromosomes.size ();
+  }
+
+  @Test
+  public void testSelectionPressure ()
+  {
+    final ICommonsList <IChromosome> aPopulation = _createPopulation (1000);
+    final double dAvg = _getAverageFitness (aPopulation);
+
+    // k=1 is random selection
+    final ICommonsList <IChromosome> aRandom = new SelectorKTournament (1).selectSurvivingChromosomes (aPopulation);
+    assertEquals (1000, aRandom.size ());
+    assertEquals (dAvg, _getAverageFitness (aRandom), 50);
+
+    // Expected value for k=2 is 2/3 of the maximum
+    final ICommonsList <IChromosome> aK2 = new SelectorKTournament (2).selectSurvivingChromosomes (aPopulation);
+    assertEquals (666, _getAverageFitness (aK2), 50);
+
+    // Big tournaments choose the best ones
+    final ICommonsList <IChromosome> aK100 = new SelectorKTournament (100).selectSurvivingChromosomes (aPopulation);
+    assertTrue (_getAverageFitness (aK100) > 950);
+  }
+
+  @Test
+  public void testProbability ()
+  {
+    final ICommonsList <IChromosome> aPopulation = _createPopulation (2);
+    final SelectorKTournament aSelector = new SelectorKTournament (2, 0.75, Integer.MAX_VALUE);
+    int nBest = 0;
+    final int nRuns = 10_000;
+    for (int i = 0; i < nRuns; ++i)
+      if (aSelector.selectSurvivingChromosomes (aPopulation).getFirst () == aPopulation.get (1))
+        nBest++;
+    // 1/4 both participants are the best, 1/2 mixed and 3/4 of that the best
+    // wins
+    assertEquals (0.625, nBest / (double) nRuns, 0.02);
+  }
+
+  @Test
+  public void testParallel ()
+  {
+    final ICommonsList <IChromosome> aPopulation = _createPopulation (20_000);
+    final SelectorKTournament aSelector = new SelectorKTournament (4, 0.9, 1000);
+    final ICommonsList <IChromosome> ret = aSelector.selectSurvivingChromosomes (aPopulation);
+    assertEquals (aPopulation.size (), ret.size ());
+    for (final IChromosome c : ret)
+      assertTrue (c != null);
+    assertTrue (_getAverageFitness (ret) > _getAverageFitness (aPopulation) * 1.3);
+  }
+}
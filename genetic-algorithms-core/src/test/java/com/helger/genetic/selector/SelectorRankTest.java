@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link SelectorRank}.
+ *
+ * @author Philip Helger
+ */
+public final class SelectorRankTest
+{
+  @Test
+  public void testRankWeights ()
+  {
+    assertArrayEquals (new double [] { 1.5, 1.25, 1, 0.75, 0.5 },
+                       new SelectorRank (ERankingScheme.LINEAR, 1.5).getRankWeights (5),
+                       1e-9);
+    assertArrayEquals (new double [] { 1, 1, 1 }, new SelectorRank (ERankingScheme.LINEAR, 1).getRankWeights (3), 0);
+    assertArrayEquals (new double [] { 1, 0.5, 0.25, 0.125 },
+                       new SelectorRank (ERankingScheme.EXPONENTIAL, 0.5).getRankWeights (4),
+                       1e-9);
+    assertArrayEquals (new double [] { 1 }, new SelectorRank (ERankingScheme.LINEAR).getRankWeights (1), 0);
+  }
+
+  @Test
+  public void testSelection ()
+  {
+    // Unsorted fitness values - ranks are 4, 0, 3, 1, 2
+    final double [] aFitnesses = { 0.1, 0.9, 0.2, 0.7, 0.5 };
+    final SelectorRank aSelector = new SelectorRank (ERankingScheme.LINEAR, 2);
+    final int [] aCounts = new int [aFitnesses.length];
+    final int [] aSelected = new int [aFitnesses.length];
+    final int nRuns = 20_000;
+    for (int i = 0; i < nRuns; ++i)
+    {
+      aSelector.selectIndices (aFitnesses, aSelected);
+      for (final int n : aSelected)
+        aCounts[n]++;
+    }
+
+    // The worst one is never selected with a pressure of 2
+    assertEquals (0, aCounts[0]);
+    // Expected copies per generation: 2, 1.5, 1, 0.5, 0
+    assertEquals (2, aCounts[1] / (double) nRuns, 0.05);
+    assertEquals (1.5, aCounts[3] / (double) nRuns, 0.05);
+    assertEquals (1, aCounts[4] / (double) nRuns, 0.05);
+    assertEquals (0.5, aCounts[2] / (double) nRuns, 0.05);
+
+    // Different population size
+    final int [] aSelected2 = new int [2];
+    aSelector.selectIndices (new double [] { 0.3, 0.1 }, aSelected2);
+    assertTrue (aSelected2[0] == 0 && aSelected2[1] == 0);
+  }
+}
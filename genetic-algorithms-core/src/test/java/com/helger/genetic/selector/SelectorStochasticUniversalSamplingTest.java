@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+
+/**
+ * Test class for class {@link SelectorStochasticUniversalSampling}.
+ *
+ * @author Philip Helger
+ */
+public final class SelectorStochasticUniversalSamplingTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final double [] aFitnesses = { 0.1, 3.7, 0, 1.2, 2.0, 0.5, 0.5 };
+    double dTotal = 0;
+    final ICommonsList <IChromosome> aChromosomes = new CommonsArrayList <> ();
+    for (final double dFitness : aFitnesses)
+    {
+      final double dFinalFitness = dFitness;
+      aChromosomes.add (Chromosome.createGenesInt (c -> dFinalFitness, null, 0));
+      dTotal += dFitness;
+    }
+
+    final SelectorStochasticUniversalSampling aSelector = new SelectorStochasticUniversalSampling ();
+    for (int nRun = 0; nRun < 100; ++nRun)
+    {
+      final ICommonsList <IChromosome> ret = aSelector.selectSurvivingChromosomes (aChromosomes);
+      assertEquals (aChromosomes.size (), ret.size ());
+
+      final Map <IChromosome, Integer> aCounts = new IdentityHashMap <> ();
+      for (final IChromosome c : ret)
+        aCounts.merge (c, Integer.valueOf (1), (a, b) -> Integer.valueOf (a.intValue () + b.intValue ()));
+
+      // Each chromosome is chosen floor(expected) or ceil(expected) times
+      for (int i = 0; i < aFitnesses.length; ++i)
+      {
+        final double dExpected = aFitnesses[i] * aFitnesses.length / dTotal;
+        final Integer aCount = aCounts.get (aChromosomes.get (i));
+        final int nCount = aCount == null ? 0 : aCount.intValue ();
+        assertTrue (dExpected + " vs. " + nCount, nCount >= Math.floor (dExpected) && nCount <= Math.ceil (dExpected));
+      }
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.decisionmaker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.decisionmaker.DecisionMakerNever;
+import com.helger.genetic.decisionmaker.DecisionMakerPercentage;
+import com.helger.genetic.decisionmaker.DecisionMakerPercentageDecreasing;
+import com.helger.genetic.decisionmaker.DecisionMakerPercentageIncreasing;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.utils.random.RandomGenerator;
+import com.helger.genetic.utils.random.RandomGeneratorSplitMix;
+
+/**
+ * Test class for class {@link DecisionMakerPercentage}.
+ *
+ * @author Philip Helger
+ */
+public final class DecisionMakerPercentageTest
+{
+  private static final class MockDecisionMaker extends DecisionMakerPercentage
+  {
+    MockDecisionMaker ()
+    {
+      super (0);
+    }
+
+    static double getProbabilityOf (final double dPercentage)
+    {
+      return getProbability (dPercentage);
+    }
+  }
+
+  @Test
+  public void testGetProbability ()
+  {
+    for (final double dPercentage : new double [] { 0, 0.01, 0.29, 2, 33.333, 50, 99.99, 100 })
+    {
+      int nMatches = 0;
+      for (int nRandom = 0; nRandom <= 10000; ++nRandom)
+        if (nRandom / 100.0 <= dPercentage)
+          nMatches++;
+      assertEquals (nMatches / 10001.0, MockDecisionMaker.getProbabilityOf (dPercentage), 1e-12);
+    }
+    assertEquals (1, MockDecisionMaker.getProbabilityOf (100), 0);
+  }
+
+  private static void _assertSelectedIndices (final IDecisionMaker aDM, final double dExpectedRate)
+  {
+    final int nTrials = 100000;
+    final int [] aIndices = new int [nTrials];
+    final int nSelected = aDM.getSelectedIndices (nTrials, aIndices);
+    for (int i = 1; i < nSelected; ++i)
+      assertTrue (aIndices[i] > aIndices[i - 1]);
+    if (nSelected > 0)
+      assertTrue (aIndices[nSelected - 1] < nTrials);
+    final double dRate = nSelected / (double) nTrials;
+    assertEquals (dExpectedRate, dRate, 0.005);
+  }
+
+  @Test
+  public void testSelectedIndices ()
+  {
+    RandomGenerator.setThreadRandomGenerator (new RandomGeneratorSplitMix (4711));
+    try
+    {
+      _assertSelectedIndices (new DecisionMakerPercentage (2), 0.02);
+      _assertSelectedIndices (new DecisionMakerPercentage (50), 0.5);
+      _assertSelectedIndices (new DecisionMakerPercentage (100), 1);
+      _assertSelectedIndices (new DecisionMakerPercentage (0), 0);
+      _assertSelectedIndices (DecisionMakerAlways.getInstance (), 1);
+      _assertSelectedIndices (DecisionMakerNever.getInstance (), 0);
+    }
+    finally
+    {
+      RandomGenerator.setThreadRandomGenerator (null);
+    }
+  }
+
+  @Test
+  public void testSelectedIndicesCustomStep ()
+  {
+    RandomGenerator.setThreadRandomGenerator (new RandomGeneratorSplitMix (4711));
+    try
+    {
+      // Toggles between 0% and 100% on every step
+      final DecisionMakerPercentage aDM = new DecisionMakerPercentage (100)
+      {
+        @Override
+        protected long onStep (final long nStep)
+        {
+          setPercentage ((nStep % 2) == 0 ? 0 : 100);
+          return 0;
+        }
+      };
+      final int [] aIndices = new int [100];
+      final int nSelected = aDM.getSelectedIndices (100, aIndices);
+      final boolean [] aSelected = new boolean [100];
+      for (int i = 0; i < nSelected; ++i)
+        aSelected[aIndices[i]] = true;
+      // All odd steps (even indices) are selected
+      for (int i = 0; i < 100; i += 2)
+        assertTrue (aSelected[i]);
+      assertTrue (nSelected < 60);
+    }
+    finally
+    {
+      RandomGenerator.setThreadRandomGenerator (null);
+    }
+  }
+
+  @Test
+  public void testSelectedIndicesChanging ()
+  {
+    RandomGenerator.setThreadRandomGenerator (new RandomGeneratorSplitMix (4711));
+    try
+    {
+      // 20% for the first 999 trials, afterwards 10%
+      final DecisionMakerPercentageDecreasing aDM = new DecisionMakerPercentageDecreasing (20, 10, 10, 1000);
+      final int [] aIndices = new int [2000];
+      aDM.getSelectedIndices (2000, aIndices);
+      assertEquals (10, aDM.getPercentage (), 0);
+      _assertSelectedIndices (aDM, 0.1);
+
+      // Change every step
+      final DecisionMakerPercentageIncreasing aDM2 = new DecisionMakerPercentageIncreasing (0, 100, 0.01, 1);
+      aDM2.getSelectedIndices (2000, aIndices);
+      assertEquals (20, aDM2.getPercentage (), 1e-6);
+    }
+    finally
+    {
+      RandomGenerator.setThreadRandomGenerator (null);
+    }
+  }
+}
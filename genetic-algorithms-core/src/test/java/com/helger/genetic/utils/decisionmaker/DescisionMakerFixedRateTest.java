@@ -16,9 +16,13 @@
  */
 package com.helger.genetic.utils.decisionmaker;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 import com.helger.genetic.decisionmaker.DecisionMakerFixedRate;
@@ -116,4 +120,28 @@ public final class DescisionMakerFixedRateTest
     assertFalse (dm.shouldDoIt ());
     assertTrue (dm.shouldDoIt ());
   }
+
+  @Test
+  public void testSelectedIndices ()
+  {
+    for (final int [] aParams : new int [] [] { { 1, 1 }, { 1, 3 }, { 2, 4 }, { 4, 4 } })
+    {
+      final DecisionMakerFixedRate dm1 = new DecisionMakerFixedRate (aParams[0], aParams[1]);
+      final DecisionMakerFixedRate dm2 = new DecisionMakerFixedRate (aParams[0], aParams[1]);
+      // Different batch sizes must continue where the last batch ended
+      for (final int nTrials : new int [] { 0, 1, 5, 7, 2, 13 })
+      {
+        final int [] aExpected = new int [nTrials];
+        int nExpected = 0;
+        for (int i = 0; i < nTrials; ++i)
+          if (dm1.shouldDoIt ())
+            aExpected[nExpected++] = i;
+
+        final int [] aIndices = new int [nTrials];
+        final int nSelected = dm2.getSelectedIndices (nTrials, aIndices);
+        assertEquals (nExpected, nSelected);
+        assertArrayEquals (Arrays.copyOf (aExpected, nExpected), Arrays.copyOf (aIndices, nSelected));
+      }
+    }
+  }
 }
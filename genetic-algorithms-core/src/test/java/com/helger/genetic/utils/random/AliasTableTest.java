@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link AliasTable}.
+ *
+ * @author Philip Helger
+ */
+public final class AliasTableTest
+{
+  private static void _assertDistribution (final double [] aWeights)
+  {
+    final AliasTable aTable = new AliasTable (aWeights);
+    assertEquals (aWeights.length, aTable.getSize ());
+
+    double dTotal = 0;
+    for (final double d : aWeights)
+      dTotal += d;
+
+    final int nSamples = 200_000;
+    final int [] aCounts = new int [aWeights.length];
+    for (int i = 0; i < nSamples; ++i)
+      aCounts[aTable.sample ()]++;
+
+    for (int i = 0; i < aWeights.length; ++i)
+    {
+      final double dExpected = dTotal == 0 ? 1.0 / aWeights.length : aWeights[i] / dTotal;
+      assertEquals ("Index " + i, dExpected, aCounts[i] / (double) nSamples, 0.01);
+    }
+  }
+
+  @Test
+  public void testDistribution ()
+  {
+    _assertDistribution (new double [] { 1 });
+    _assertDistribution (new double [] { 1, 1, 1, 1 });
+    _assertDistribution (new double [] { 0, 1, 2, 3, 4 });
+    _assertDistribution (new double [] { 0.001, 100, 0, 5, 0.5, 17 });
+    _assertDistribution (new double [] { 0, 0, 0 });
+  }
+
+  @Test
+  public void testZeroWeightNeverSampled ()
+  {
+    final AliasTable aTable = new AliasTable (new double [] { 0, 3, 0, 1, 0 });
+    for (int i = 0; i < 10_000; ++i)
+    {
+      final int n = aTable.sample ();
+      assertEquals (1, n % 2);
+    }
+  }
+
+  @Test
+  public void testInvalid ()
+  {
+    try
+    {
+      new AliasTable (new double [0]);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new AliasTable (new double [] { 1, -1 });
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+}
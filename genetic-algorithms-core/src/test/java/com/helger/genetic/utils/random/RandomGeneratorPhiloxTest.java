@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link RandomGeneratorPhilox}.
+ *
+ * @author Philip Helger
+ */
+public final class RandomGeneratorPhiloxTest
+{
+  @Test
+  public void testKnownAnswers ()
+  {
+    // Known answer tests of the Random123 reference implementation
+    int [] aCounter = { 0, 0, 0, 0 };
+    RandomGeneratorPhilox.philox (aCounter, 0, 0);
+    assertArrayEquals (new int [] { 0x6627e8d5, 0xe169c58d, 0xbc57ac4c, 0x9b00dbd8 }, aCounter);
+
+    aCounter = new int [] { 0xffffffff, 0xffffffff, 0xffffffff, 0xffffffff };
+    RandomGeneratorPhilox.philox (aCounter, 0xffffffff, 0xffffffff);
+    assertArrayEquals (new int [] { 0x408f276d, 0x41c83b0e, 0xa20bc7c6, 0x6d5451fd }, aCounter);
+
+    aCounter = new int [] { 0x243f6a88, 0x85a308d3, 0x13198a2e, 0x03707344 };
+    RandomGeneratorPhilox.philox (aCounter, 0xa4093822, 0x299f31d0);
+    assertArrayEquals (new int [] { 0xd16cfe09, 0x94fdcceb, 0x5001e420, 0x24126ea1 }, aCounter);
+  }
+
+  @Test
+  public void testRandomAccess ()
+  {
+    final RandomGeneratorPhilox aRG = new RandomGeneratorPhilox (4711, RandomGeneratorPhilox.getStreamID (3, 17));
+    assertEquals (4711, aRG.getKey ());
+    assertEquals (0x3_0000_0011L, aRG.getStream ());
+
+    // The sequence is a pure function of the position
+    final int [] aBlock5 = aRG.getBlock (5);
+    for (int i = 0; i < 5 * 4; ++i)
+      aRG.getInt ();
+    for (int i = 0; i < 4; ++i)
+      assertEquals (aBlock5[i], aRG.getInt ());
+    assertEquals (6, aRG.getBlockCount ());
+
+    // Other streams differ
+    assertNotEquals (aBlock5[0], new RandomGeneratorPhilox (4711, 0).getBlock (5)[0]);
+  }
+
+  @Test
+  public void testSubStreams ()
+  {
+    final RandomGeneratorPhilox aRG = new RandomGeneratorPhilox (4711);
+    final RandomGeneratorPhilox aSub1 = aRG.getSubStream (1);
+    final RandomGeneratorPhilox aSub1b = aRG.getSubStream (1);
+    final RandomGeneratorPhilox aSub2 = aRG.getSubStream (2);
+    assertEquals (aSub1.getStream (), aSub1b.getStream ());
+    assertNotEquals (aSub1.getStream (), aSub2.getStream ());
+    for (int i = 0; i < 100; ++i)
+      assertEquals (aSub1.getInt (), aSub1b.getInt ());
+
+    // Splitting changes the state deterministically
+    final RandomGeneratorPhilox aRG2 = new RandomGeneratorPhilox (4711);
+    assertEquals (aRG.split ().getStream (), aRG2.split ().getStream ());
+    assertEquals (aRG.split ().getStream (), aRG2.split ().getStream ());
+    assertNotEquals (aRG.split ().getStream (), aRG.split ().getStream ());
+  }
+
+  @Test
+  public void testRanges ()
+  {
+    final RandomGeneratorPhilox aRG = new RandomGeneratorPhilox (42);
+    final int [] aCounts = new int [7];
+    for (int i = 0; i < 70_000; ++i)
+    {
+      final int n = aRG.getIntInRange (7);
+      assertTrue (n >= 0 && n < 7);
+      aCounts[n]++;
+      final double d = aRG.getDouble ();
+      assertTrue (d >= 0 && d < 1);
+    }
+    for (final int nCount : aCounts)
+      assertEquals (10_000, nCount, 500);
+    for (int i = 0; i < 1000; ++i)
+      assertTrue (aRG.getIntInRange (Integer.MAX_VALUE) >= 0);
+  }
+}
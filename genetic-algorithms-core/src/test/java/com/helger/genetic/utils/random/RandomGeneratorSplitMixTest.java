@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link RandomGeneratorSplitMix}.
+ *
+ * @author Philip Helger
+ */
+public final class RandomGeneratorSplitMixTest
+{
+  @Test
+  public void testReproducible ()
+  {
+    final RandomGeneratorSplitMix r1 = new RandomGeneratorSplitMix (4711);
+    final RandomGeneratorSplitMix r2 = new RandomGeneratorSplitMix (4711);
+    for (int i = 0; i < 1000; ++i)
+    {
+      assertEquals (r1.getLong (), r2.getLong ());
+      assertEquals (r1.getDouble (), r2.getDouble (), 0);
+      assertEquals (r1.getIntInRange (1000), r2.getIntInRange (1000));
+    }
+
+    // Splitting is reproducible as well
+    final RandomGeneratorSplitMix s1 = r1.split ();
+    final RandomGeneratorSplitMix s2 = r2.split ();
+    for (int i = 0; i < 1000; ++i)
+      assertEquals (s1.getLong (), s2.getLong ());
+
+    // Different seeds
+    assertNotEquals (new RandomGeneratorSplitMix (1).getLong (), new RandomGeneratorSplitMix (2).getLong ());
+    assertNotEquals (new RandomGeneratorSplitMix ().getLong (), new RandomGeneratorSplitMix ().getLong ());
+  }
+
+  @Test
+  public void testSplitIsIndependent ()
+  {
+    final RandomGeneratorSplitMix aParent = new RandomGeneratorSplitMix (17);
+    final RandomGeneratorSplitMix aChild = aParent.split ();
+    int nEqual = 0;
+    for (int i = 0; i < 1000; ++i)
+      if (aParent.getIntInRange (100) == aChild.getIntInRange (100))
+        nEqual++;
+    // Expected: 10
+    assertTrue (Integer.toString (nEqual), nEqual < 40);
+  }
+
+  @Test
+  public void testRanges ()
+  {
+    final RandomGeneratorSplitMix aRG = new RandomGeneratorSplitMix (42);
+    for (final int nMax : new int [] { 1, 2, 7, 16, 1000, Integer.MAX_VALUE })
+    {
+      final int [] aCounts = new int [Math.min (nMax, 16)];
+      for (int i = 0; i < 16_000; ++i)
+      {
+        final int n = aRG.getIntInRange (nMax);
+        assertTrue (n >= 0 && n < nMax);
+        if (nMax <= 16)
+          aCounts[n]++;
+      }
+      if (nMax <= 16)
+        for (final int nCount : aCounts)
+          assertEquals (16_000 / nMax, nCount, 16_000 / nMax / 5);
+    }
+    for (int i = 0; i < 10_000; ++i)
+    {
+      final double d = aRG.getDouble ();
+      assertTrue (d >= 0 && d < 1);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link RandomGenerator}.
+ *
+ * @author Philip Helger
+ */
+public final class RandomGeneratorTest
+{
+  @Test
+  public void testThreadSpecific () throws InterruptedException
+  {
+    final IRandomGenerator aRG = RandomGenerator.getRandomGenerator ();
+    assertNotNull (aRG);
+    assertSame (aRG, RandomGenerator.getRandomGenerator ());
+    assertNull (RandomGenerator.getThreadRandomGenerator ());
+
+    // Other threads use other generators
+    final AtomicReference <IRandomGenerator> aOtherRG = new AtomicReference <> ();
+    final Thread t = new Thread ( () -> aOtherRG.set (RandomGenerator.getRandomGenerator ()));
+    t.start ();
+    t.join ();
+    assertNotNull (aOtherRG.get ());
+    assertNotSame (aRG, aOtherRG.get ());
+
+    // Explicit thread generator
+    final IRandomGenerator aExplicitRG = new RandomGeneratorSplitMix (4711);
+    RandomGenerator.setThreadRandomGenerator (aExplicitRG);
+    try
+    {
+      assertSame (aExplicitRG, RandomGenerator.getThreadRandomGenerator ());
+      assertSame (aExplicitRG, RandomGenerator.getRandomGenerator ());
+      assertNotSame (aExplicitRG, RandomGenerator.split ());
+    }
+    finally
+    {
+      RandomGenerator.setThreadRandomGenerator (null);
+    }
+    assertSame (aRG, RandomGenerator.getRandomGenerator ());
+  }
+
+  @Test
+  public void testFillPermutation ()
+  {
+    final IRandomGenerator aRG = new RandomGeneratorSplitMix (4711);
+    final int [] aPerm = new int [1000];
+    aRG.fillPermutation (aPerm);
+    final int [] aSorted = aPerm.clone ();
+    Arrays.sort (aSorted);
+    for (int i = 0; i < aSorted.length; ++i)
+      assertEquals (i, aSorted[i]);
+
+    // Same seed, same permutation
+    final int [] aPerm2 = new int [1000];
+    new RandomGeneratorSplitMix (4711).fillPermutation (aPerm2);
+    assertArrayEquals (aPerm, aPerm2);
+
+    // All 6 permutations of 3 elements are roughly equally distributed
+    final int nRuns = 60000;
+    final int [] aCounts = new int [6];
+    final int [] aSmall = new int [3];
+    for (int i = 0; i < nRuns; ++i)
+    {
+      aRG.fillPermutation (aSmall);
+      aCounts[aSmall[0] * 2 + (aSmall[1] > aSmall[2] ? 1 : 0)]++;
+    }
+    for (final int nCount : aCounts)
+      assertTrue (Arrays.toString (aCounts), Math.abs (nCount - nRuns / 6) < 500);
+  }
+
+  @Test
+  public void testShuffle ()
+  {
+    final IRandomGenerator aRG = new RandomGeneratorSplitMix (4711);
+    final int [] aArray = { 5, 7, 9, 11, 13 };
+    aRG.shuffle (aArray);
+    final int [] aSorted = aArray.clone ();
+    Arrays.sort (aSorted);
+    assertArrayEquals (new int [] { 5, 7, 9, 11, 13 }, aSorted);
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link UniqueIntSampler}.
+ *
+ * @author Philip Helger
+ */
+public final class UniqueIntSamplerTest
+{
+  @FunctionalInterface
+  private interface ISampler
+  {
+    void fill (@Nonnull IRandomGenerator aRG, @Nonnull int [] aDst, int nMaxValueExcl);
+  }
+
+  private static void _assertValid (@Nonnull final int [] aValues, final int nMaxValueExcl)
+  {
+    for (int i = 0; i < aValues.length; ++i)
+    {
+      assertTrue (aValues[i] >= 0 && aValues[i] < nMaxValueExcl);
+      if (i > 0)
+        assertTrue ("Not ascending", aValues[i - 1] < aValues[i]);
+    }
+  }
+
+  private static void _assertUniform (final int nCount, final int nMaxValueExcl, @Nonnull final ISampler aSampler)
+  {
+    final IRandomGenerator aRG = new RandomGeneratorSplitMix (nCount * 31L + nMaxValueExcl);
+    final int nRuns = 20_000;
+    final int [] aCounts = new int [nMaxValueExcl];
+    final int [] aDst = new int [nCount];
+    for (int i = 0; i < nRuns; ++i)
+    {
+      aSampler.fill (aRG, aDst, nMaxValueExcl);
+      _assertValid (aDst, nMaxValueExcl);
+      for (final int n : aDst)
+        aCounts[n]++;
+    }
+    final double dExpected = (double) nCount / nMaxValueExcl;
+    for (final int nValueCount : aCounts)
+      assertEquals (dExpected, nValueCount / (double) nRuns, 0.02);
+  }
+
+  @Test
+  public void testRejection ()
+  {
+    _assertUniform (2, 5, UniqueIntSampler::fillByRejection);
+    _assertUniform (5, 5, UniqueIntSampler::fillByRejection);
+    _assertUniform (10, 40, UniqueIntSampler::fillByRejection);
+  }
+
+  @Test
+  public void testFloyd ()
+  {
+    _assertUniform (2, 5, UniqueIntSampler::fillByFloyd);
+    _assertUniform (40, 50, UniqueIntSampler::fillByFloyd);
+    _assertUniform (100, 100, UniqueIntSampler::fillByFloyd);
+    _assertUniform (33, 1000, UniqueIntSampler::fillByFloyd);
+  }
+
+  @Test
+  public void testSelection ()
+  {
+    _assertUniform (2, 5, UniqueIntSampler::fillBySelection);
+    _assertUniform (40, 50, UniqueIntSampler::fillBySelection);
+    _assertUniform (100, 100, UniqueIntSampler::fillBySelection);
+    _assertUniform (33, 130, UniqueIntSampler::fillBySelection);
+  }
+
+  @Test
+  public void testLargeRange ()
+  {
+    final IRandomGenerator aRG = new RandomGeneratorSplitMix (4711);
+    for (final int nCount : new int [] { 2, 32, 33, 1000 })
+    {
+      final int [] aDst = new int [nCount];
+      aRG.fillMultipleUniqueIntsInRange (aDst, Integer.MAX_VALUE);
+      _assertValid (aDst, Integer.MAX_VALUE);
+      // Selection sampling
+      aRG.fillMultipleUniqueIntsInRange (aDst, nCount * 2);
+      _assertValid (aDst, nCount * 2);
+    }
+    final int [] aValues = aRG.getMultipleUniqueIntsInRange (2, 14_000);
+    assertEquals (2, aValues.length);
+    _assertValid (aValues, 14_000);
+  }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.utils.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link Ziggurat}.
+ *
+ * @author Philip Helger
+ */
+public final class ZigguratTest
+{
+  private static final int COUNT = 400_000;
+
+  private static double _getMean (@Nonnull final double [] aValues)
+  {
+    double ret = 0;
+    for (final double d : aValues)
+      ret += d;
+    return ret / aValues.length;
+  }
+
+  private static double _getVariance (@Nonnull final double [] aValues)
+  {
+    final double dMean = _getMean (aValues);
+    double ret = 0;
+    for (final double d : aValues)
+      ret += (d - dMean) * (d - dMean);
+    return ret / aValues.length;
+  }
+
+  private static double _getFraction (@Nonnull final double [] aValues, final double dMin, final double dMax)
+  {
+    int ret = 0;
+    for (final double d : aValues)
+      if (d >= dMin && d < dMax)
+        ret++;
+    return ret / (double) aValues.length;
+  }
+
+  @Test
+  public void testGaussian ()
+  {
+    for (final IRandomGenerator aRG : new IRandomGenerator [] { new RandomGeneratorSplitMix (4711),
+                                                                new RandomGeneratorPhilox (4711) })
+    {
+      final double [] aValues = new double [COUNT];
+      aRG.fillGaussian (aValues);
+      assertEquals (0, _getMean (aValues), 0.01);
+      assertEquals (1, _getVariance (aValues), 0.01);
+      // Check against the cumulative distribution function
+      assertEquals (0.3413447, _getFraction (aValues, 0, 1), 0.003);
+      assertEquals (0.1359051, _getFraction (aValues, -2, -1), 0.003);
+      assertEquals (0.0214002, _getFraction (aValues, 2, 3), 0.002);
+      // Tail beyond the ziggurat base of 3.44
+      assertEquals (0.000576,
+                    _getFraction (aValues, 3.44, Double.MAX_VALUE) + _getFraction (aValues, -Double.MAX_VALUE, -3.44),
+                    0.0002);
+      assertEquals (_getFraction (aValues, 3.44, Double.MAX_VALUE),
+                    _getFraction (aValues, -Double.MAX_VALUE, -3.44),
+                    0.0002);
+    }
+  }
+
+  @Test
+  public void testExponential ()
+  {
+    final double [] aValues = new double [COUNT];
+    new RandomGeneratorSplitMix (4711).fillExponential (aValues);
+    for (final double d : aValues)
+      assertTrue (d >= 0);
+    assertEquals (1, _getMean (aValues), 0.01);
+    assertEquals (1, _getVariance (aValues), 0.02);
+    // P(x < 1) = 1 - e^-1
+    assertEquals (0.6321206, _getFraction (aValues, 0, 1), 0.003);
+    // Tail beyond the ziggurat base of 7.7
+    assertEquals (Math.exp (-7.7), _getFraction (aValues, 7.7, Double.MAX_VALUE), 0.0002);
+  }
+
+  @Test
+  public void testCauchy ()
+  {
+    final double [] aValues = new double [COUNT];
+    new RandomGeneratorSplitMix (4711).fillCauchy (aValues);
+    // Check median and quartiles, as mean and variance are not defined
+    Arrays.sort (aValues);
+    assertEquals (0, aValues[COUNT / 2], 0.01);
+    assertEquals (-1, aValues[COUNT / 4], 0.02);
+    assertEquals (1, aValues[3 * COUNT / 4], 0.02);
+  }
+
+  @Test
+  public void testDefaultGetInt ()
+  {
+    // Uses the default implementation of getInt
+    final IRandomGenerator aRG = new IRandomGenerator ()
+    {
+      private final RandomGeneratorSplitMix m_aRG = new RandomGeneratorSplitMix (17);
+
+      public int getIntInRange (final int nMaxValueExcl)
+      {
+        return m_aRG.getIntInRange (nMaxValueExcl);
+      }
+
+      public double getDouble ()
+      {
+        return m_aRG.getDouble ();
+      }
+    };
+    int nNegative = 0;
+    for (int i = 0; i < 10_000; ++i)
+      if (aRG.getInt () < 0)
+        nNegative++;
+    assertEquals (5_000, nNegative, 300);
+    final double [] aValues = new double [COUNT];
+    aRG.fillGaussian (aValues);
+    assertEquals (1, _getVariance (aValues), 0.01);
+  }
+
+  @Test
+  public void testFillUsesOverriddenMethods ()
+  {
+    final IRandomGenerator aRG = new RandomGeneratorSplitMix (4711)
+    {
+      @Override
+      public double getGaussian ()
+      {
+        return 1;
+      }
+
+      @Override
+      public double getExponential ()
+      {
+        return 2;
+      }
+
+      @Override
+      public double getCauchy ()
+      {
+        return 3;
+      }
+    };
+    final double [] aValues = new double [10];
+    aRG.fillGaussian (aValues);
+    assertEquals (1, _getMean (aValues), 0);
+    aRG.fillExponential (aValues);
+    assertEquals (2, _getMean (aValues), 0);
+    aRG.fillCauchy (aValues);
+    assertEquals (3, _getMean (aValues), 0);
+  }
+}
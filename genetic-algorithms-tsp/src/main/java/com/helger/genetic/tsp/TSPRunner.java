@@ -34,6 +34,7 @@ import com.helger.commons.locale.LocaleCache;
 import com.helger.commons.math.MathHelper;
 import com.helger.commons.timing.StopWatch;
 import com.helger.genetic.GeneticAlgorithmRunner;
+import com.helger.genetic.adaptive.EOperatorSelectionStrategy;
 import com.helger.genetic.continuation.ContinuationInfinite;
 import com.helger.genetic.continuation.ContinuationKnownOptimum;
 import com.helger.genetic.continuation.ContinuationTimeBased;
@@ -48,16 +49,19 @@ import com.helger.genetic.eventhandler.EventHandlerCollecting;
 import com.helger.genetic.eventhandler.IEventHandler;
 import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.mutation.IMutation;
+import com.helger.genetic.mutation.MutationAdaptive;
 import com.helger.genetic.mutation.MutationRandomMoveMultiple;
 import com.helger.genetic.populationcreator.IPopulationCreator;
 import com.helger.genetic.selector.ISelector;
 import com.helger.genetic.selector.SelectorAllSortedBest;
 import com.helger.genetic.selector.SelectorAlternating;
-import com.helger.genetic.selector.SelectorTournament;
+import com.helger.genetic.selector.SelectorRoulette;
 import com.helger.genetic.tsp.eventhandler.TSPEventHandlerLogging;
 import com.helger.genetic.tsp.model.TSPChromosomeValidator;
 import com.helger.genetic.tsp.model.TSPFitnessFunction;
 import com.helger.genetic.tsp.mutation.TSPMutationGreedy;
+import com.helger.genetic.tsp.mutation.TSPMutationOrOpt;
+import com.helger.genetic.tsp.mutation.TSPMutationTwoOpt;
 import com.helger.genetic.tsp.populationcreator.TSPPopulationCreatorRandom;
 import com.helger.matrix.Matrix;
 
@@ -118,7 +122,7 @@ public class TSPRunner
     final IPopulationCreator pc = new TSPPopulationCreatorRandom (nCities, nPopulationSize, ff, cv);
     final ISelector s = true ? new SelectorAllSortedBest (2)
                              : new SelectorAlternating (new SelectorAllSortedBest (4),
-                                                        new SelectorTournament (),
+                                                        new SelectorRoulette (),
                                                         10000,
                                                         eh)
                              {
@@ -151,7 +155,12 @@ public class TSPRunner
                                                                         _asPerc (getPercentage () / 100));
                                                     }
                                                   };
-    final IMutation m = true ? new TSPMutationGreedy (mdm, aDistances) : new MutationRandomMoveMultiple (mdm);
+    final IMutation m = true ? new MutationAdaptive (mdm,
+                                                     EOperatorSelectionStrategy.PROBABILITY_MATCHING,
+                                                     new TSPMutationGreedy (mdm, aDistances),
+                                                     new TSPMutationTwoOpt (mdm, ff),
+                                                     new TSPMutationOrOpt (mdm, ff))
+                             : new MutationRandomMoveMultiple (mdm);
     return run (aDistances, dOptimumDistance, ff, eh, cont, pc, s, c, m);
   }
 
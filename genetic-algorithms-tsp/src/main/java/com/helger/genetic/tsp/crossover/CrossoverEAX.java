@@ -0,0 +1,598 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.crossover;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.UnsupportedOperation;
+import com.helger.genetic.crossover.AbstractCrossover;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.tsp.model.TSPNeighborList;
+import com.helger.genetic.tsp.model.TSPTourHelper;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Edge assembly crossover (EAX) for 2 TSP tours. It works on the edges of the
+ * parent tours A and B instead of the positions of the cities:
+ * <ol>
+ * <li>All edges that are contained in both parents are ignored. The remaining
+ * edges are decomposed into AB-cycles, which are cycles that alternately use
+ * an edge of A and an edge of B.</li>
+ * <li>Some AB-cycles are selected as the E-set (see {@link EEAXStrategy}).</li>
+ * <li>The intermediate solution is created by removing the A-edges of the
+ * E-set from A and adding the B-edges of the E-set instead. Every city keeps
+ * exactly 2 edges, but the result may consist of several subtours.</li>
+ * <li>The subtours are merged into a single tour, always merging the smallest
+ * subtour first. Merging is done by exchanging 2 edges (one of each subtour)
+ * with the cheapest 2 connecting edges, where only the nearest neighbors of the
+ * cities of the smaller subtour are considered.</li>
+ * </ol>
+ * The second child is created the same way with the roles of A and B swapped.
+ * If more than one trial is configured, several E-sets are tried per child and
+ * the shortest result is used. The tour length difference is tracked
+ * incrementally, so no full evaluation is needed to compare the trials.<br>
+ * All steps work on flat link arrays and are linear in the number of cities,
+ * which makes this crossover suitable for large instances.
+ *
+ * @author Philip Helger
+ */
+public class CrossoverEAX extends AbstractCrossover
+{
+  public static final int DEFAULT_NEIGHBOR_COUNT = 10;
+  public static final EEAXStrategy DEFAULT_STRATEGY = EEAXStrategy.SINGLE;
+  public static final int DEFAULT_TRIALS = 1;
+
+  private static final int NO_LINK = -1;
+
+  private final double [] [] m_aDistances;
+  private final TSPNeighborList m_aNeighborList;
+  private final EEAXStrategy m_eStrategy;
+  private final int m_nTrials;
+
+  /**
+   * All AB-cycles of a parent pair stored in flat arrays. The cities of cycle
+   * <code>i</code> are stored from index <code>m_aStart[i]</code> (inclusive)
+   * to <code>m_aStart[i + 1]</code> (exclusive). The edge from the k-th to the
+   * (k+1)-th city (cyclic) is an A-edge if <code>k</code> is even and
+   * <code>m_aFirstIsA[i]</code> is <code>true</code> and vice versa.
+   */
+  private static final class ABCycles
+  {
+    private final int [] m_aCities;
+    private final int [] m_aStart;
+    private final boolean [] m_aFirstIsA;
+    private int m_nCount;
+
+    ABCycles (@Nonnegative final int nCities)
+    {
+      // At most 2n edges
+      m_aCities = new int [2 * nCities];
+      // Each AB-cycle has at least 4 edges
+      m_aStart = new int [nCities / 2 + 2];
+      m_aFirstIsA = new boolean [nCities / 2 + 1];
+    }
+
+    void add (@Nonnull final int [] aPath, final int nStartIndex, final int nEndIndex)
+    {
+      final int nOffset = m_aStart[m_nCount];
+      final int nLength = nEndIndex - nStartIndex;
+      System.arraycopy (aPath, nStartIndex, m_aCities, nOffset, nLength);
+      m_aFirstIsA[m_nCount] = (nStartIndex & 1) == 0;
+      m_nCount++;
+      m_aStart[m_nCount] = nOffset + nLength;
+    }
+  }
+
+  public CrossoverEAX (@Nonnull final IDecisionMaker aDescisionMaker, @Nonnull final TSPFitnessFunction aFF)
+  {
+    this (aDescisionMaker,
+          aFF,
+          new TSPNeighborList (aFF, DEFAULT_NEIGHBOR_COUNT),
+          DEFAULT_STRATEGY,
+          DEFAULT_TRIALS);
+  }
+
+  /**
+   * Full ctor
+   *
+   * @param aDescisionMaker
+   *        Decision maker
+   * @param aFF
+   *        The TSP fitness function to get the distances from
+   * @param aNeighborList
+   *        The neighbor list used for merging the subtours
+   * @param eStrategy
+   *        The E-set strategy to use
+   * @param nTrials
+   *        The number of E-sets to try per child. The shortest child is used.
+   *        Must be &gt; 0.
+   */
+  public CrossoverEAX (@Nonnull final IDecisionMaker aDescisionMaker,
+                       @Nonnull final TSPFitnessFunction aFF,
+                       @Nonnull final TSPNeighborList aNeighborList,
+                       @Nonnull final EEAXStrategy eStrategy,
+                       @Nonnegative final int nTrials)
+  {
+    super (2, aDescisionMaker);
+    ValueEnforcer.notNull (aFF, "FitnessFunction");
+    ValueEnforcer.notNull (aNeighborList, "NeighborList");
+    ValueEnforcer.isTrue (aNeighborList.getCityCount () == aFF.getCityCount (),
+                          "NeighborList and FitnessFunction city count mismatch");
+    ValueEnforcer.notNull (eStrategy, "Strategy");
+    ValueEnforcer.isGT0 (nTrials, "Trials");
+    m_aDistances = aFF.internalGetDistanceArray ();
+    m_aNeighborList = aNeighborList;
+    m_eStrategy = eStrategy;
+    m_nTrials = nTrials;
+  }
+
+  @Nonnull
+  public TSPNeighborList getNeighborList ()
+  {
+    return m_aNeighborList;
+  }
+
+  @Nonnull
+  public EEAXStrategy getStrategy ()
+  {
+    return m_eStrategy;
+  }
+
+  @Nonnegative
+  public int getTrials ()
+  {
+    return m_nTrials;
+  }
+
+  private static void _replaceLink (@Nonnull final int [] aLinks, final int nCity, final int nOld, final int nNew)
+  {
+    if (aLinks[2 * nCity] == nOld)
+      aLinks[2 * nCity] = nNew;
+    else
+      aLinks[2 * nCity + 1] = nNew;
+  }
+
+  private static int _takeRandomEdge (@Nonnull final int [] aRemaining, @Nonnull final int [] aCount, final int nCity)
+  {
+    final int nCount = aCount[nCity];
+    final int nIndex = nCount == 1 ? 0 : RandomGenerator.getIntInRange (nCount);
+    final int nOther = aRemaining[2 * nCity + nIndex];
+    aRemaining[2 * nCity + nIndex] = aRemaining[2 * nCity + nCount - 1];
+    aCount[nCity]--;
+
+    // Remove the reverse direction
+    final int nOtherCount = aCount[nOther];
+    final int nOtherIndex = aRemaining[2 * nOther] == nCity ? 0 : 1;
+    aRemaining[2 * nOther + nOtherIndex] = aRemaining[2 * nOther + nOtherCount - 1];
+    aCount[nOther]--;
+    return nOther;
+  }
+
+  @Nonnull
+  private static ABCycles _createABCycles (@Nonnull final int [] aLinksA, @Nonnull final int [] aLinksB)
+  {
+    final int nCities = aLinksA.length / 2;
+
+    // Remaining edges that are not common to both parents (max 2 per city)
+    final int [] aRemainingA = new int [2 * nCities];
+    final int [] aCountA = new int [nCities];
+    final int [] aRemainingB = new int [2 * nCities];
+    final int [] aCountB = new int [nCities];
+    for (int nCity = 0; nCity < nCities; ++nCity)
+      for (int nSide = 0; nSide < 2; ++nSide)
+      {
+        final int nA = aLinksA[2 * nCity + nSide];
+        if (!TSPTourHelper.containsLink (aLinksB, nCity, nA))
+          aRemainingA[2 * nCity + aCountA[nCity]++] = nA;
+        final int nB = aLinksB[2 * nCity + nSide];
+        if (!TSPTourHelper.containsLink (aLinksA, nCity, nB))
+          aRemainingB[2 * nCity + aCountB[nCity]++] = nB;
+      }
+
+    final ABCycles ret = new ABCycles (nCities);
+
+    // The current alternating path. Even indices are left via an A-edge, odd
+    // indices via a B-edge. As a city can be on the path at most once per
+    // parity, two position arrays are sufficient to detect closed cycles.
+    final int [] aPath = new int [2 * nCities + 1];
+    final int [] aPosEven = new int [nCities];
+    final int [] aPosOdd = new int [nCities];
+    Arrays.fill (aPosEven, -1);
+    Arrays.fill (aPosOdd, -1);
+
+    int nScan = RandomGenerator.getIntInRange (nCities);
+    int nScanned = 0;
+    while (true)
+    {
+      // Find the next city with a remaining A-edge
+      while (nScanned < nCities && aCountA[nScan] == 0)
+      {
+        nScan = nScan == nCities - 1 ? 0 : nScan + 1;
+        nScanned++;
+      }
+      if (nScanned >= nCities)
+        break;
+
+      aPath[0] = nScan;
+      aPosEven[nScan] = 0;
+      int nLength = 1;
+      while (true)
+      {
+        final int nIndex = nLength - 1;
+        final int nCity = aPath[nIndex];
+        final boolean bEven = (nIndex & 1) == 0;
+        if (bEven && aCountA[nCity] == 0)
+        {
+          // Only possible at the start of the path
+          aPosEven[nCity] = -1;
+          break;
+        }
+
+        final int nNext = bEven ? _takeRandomEdge (aRemainingA, aCountA, nCity)
+                                : _takeRandomEdge (aRemainingB, aCountB, nCity);
+        final int [] aPos = bEven ? aPosOdd : aPosEven;
+        final int nClosing = aPos[nNext];
+        if (nClosing >= 0)
+        {
+          // Found an AB-cycle from nClosing to nIndex
+          ret.add (aPath, nClosing, nIndex + 1);
+          for (int i = nClosing + 1; i <= nIndex; ++i)
+            ((i & 1) == 0 ? aPosEven : aPosOdd)[aPath[i]] = -1;
+          nLength = nClosing + 1;
+        }
+        else
+        {
+          aPath[nLength] = nNext;
+          aPos[nNext] = nLength;
+          nLength++;
+        }
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Select the AB-cycles of the E-set according to the strategy.
+   *
+   * @return The number of selected AB-cycles stored in aESet
+   */
+  @Nonnegative
+  private int _selectESet (@Nonnull final ABCycles aCycles,
+                           @Nonnull final int [] aESet,
+                           @Nonnull final int [] aMarks,
+                           final int nMarkStamp)
+  {
+    final int nCenter = RandomGenerator.getIntInRange (aCycles.m_nCount);
+    aESet[0] = nCenter;
+    if (m_eStrategy == EEAXStrategy.SINGLE)
+      return 1;
+
+    // LOCAL: add all cycles sharing a city with the center cycle
+    for (int i = aCycles.m_aStart[nCenter]; i < aCycles.m_aStart[nCenter + 1]; ++i)
+      aMarks[aCycles.m_aCities[i]] = nMarkStamp;
+    int ret = 1;
+    for (int nCycle = 0; nCycle < aCycles.m_nCount; ++nCycle)
+      if (nCycle != nCenter)
+        for (int i = aCycles.m_aStart[nCycle]; i < aCycles.m_aStart[nCycle + 1]; ++i)
+          if (aMarks[aCycles.m_aCities[i]] == nMarkStamp)
+          {
+            aESet[ret++] = nCycle;
+            break;
+          }
+    return ret;
+  }
+
+  /**
+   * Apply the E-set on the link array of the base parent.
+   *
+   * @return The tour length difference
+   */
+  private double _applyESet (@Nonnull final ABCycles aCycles,
+                             @Nonnull final int [] aESet,
+                             final int nESetCount,
+                             final boolean bBaseIsA,
+                             @Nonnull final int [] aLinks)
+  {
+    double ret = 0;
+    // First remove all base edges, than add all other edges, so that there is
+    // always a free slot available
+    for (int nPass = 0; nPass < 2; ++nPass)
+    {
+      final boolean bRemove = nPass == 0;
+      for (int e = 0; e < nESetCount; ++e)
+      {
+        final int nCycle = aESet[e];
+        final int nStart = aCycles.m_aStart[nCycle];
+        final int nLength = aCycles.m_aStart[nCycle + 1] - nStart;
+        final int nParityOffset = aCycles.m_aFirstIsA[nCycle] ? 0 : 1;
+        for (int k = 0; k < nLength; ++k)
+        {
+          final boolean bIsA = ((k + nParityOffset) & 1) == 0;
+          if ((bIsA == bBaseIsA) == bRemove)
+          {
+            final int nCity1 = aCycles.m_aCities[nStart + k];
+            final int nCity2 = aCycles.m_aCities[nStart + (k == nLength - 1 ? 0 : k + 1)];
+            if (bRemove)
+            {
+              _replaceLink (aLinks, nCity1, nCity2, NO_LINK);
+              _replaceLink (aLinks, nCity2, nCity1, NO_LINK);
+              ret -= m_aDistances[nCity1][nCity2];
+            }
+            else
+            {
+              _replaceLink (aLinks, nCity1, NO_LINK, nCity2);
+              _replaceLink (aLinks, nCity2, NO_LINK, nCity1);
+              ret += m_aDistances[nCity1][nCity2];
+            }
+          }
+        }
+      }
+    }
+    return ret;
+  }
+
+  private static void _heapPush (@Nonnull final long [] aHeap, final int nSize, final long nValue)
+  {
+    int nPos = nSize;
+    while (nPos > 0)
+    {
+      final int nParent = (nPos - 1) >> 1;
+      if (aHeap[nParent] <= nValue)
+        break;
+      aHeap[nPos] = aHeap[nParent];
+      nPos = nParent;
+    }
+    aHeap[nPos] = nValue;
+  }
+
+  private static long _heapPop (@Nonnull final long [] aHeap, final int nSize)
+  {
+    final long ret = aHeap[0];
+    final long nLast = aHeap[nSize - 1];
+    final int nNewSize = nSize - 1;
+    int nPos = 0;
+    while (true)
+    {
+      int nChild = 2 * nPos + 1;
+      if (nChild >= nNewSize)
+        break;
+      if (nChild + 1 < nNewSize && aHeap[nChild + 1] < aHeap[nChild])
+        nChild++;
+      if (aHeap[nChild] >= nLast)
+        break;
+      aHeap[nPos] = aHeap[nChild];
+      nPos = nChild;
+    }
+    if (nNewSize > 0)
+      aHeap[nPos] = nLast;
+    return ret;
+  }
+
+  /**
+   * Merge all subtours of the intermediate solution into a single tour.
+   *
+   * @return The tour length difference
+   */
+  private double _mergeSubtours (@Nonnull final int [] aLinks,
+                                 @Nonnull final int [] aLabels,
+                                 @Nonnull final int [] aSizes,
+                                 @Nonnull final int [] aRepresentatives,
+                                 @Nonnull final int [] aMembers)
+  {
+    final int nCities = aLabels.length;
+
+    // Label all subtours
+    Arrays.fill (aLabels, -1);
+    int nSubtours = 0;
+    for (int nCity = 0; nCity < nCities; ++nCity)
+      if (aLabels[nCity] < 0)
+      {
+        final int nSize = TSPTourHelper.walkLinks (aLinks, nCity, aMembers);
+        for (int i = 0; i < nSize; ++i)
+          aLabels[aMembers[i]] = nSubtours;
+        aSizes[nSubtours] = nSize;
+        aRepresentatives[nSubtours] = nCity;
+        nSubtours++;
+      }
+    if (nSubtours == 1)
+      return 0;
+
+    // Min-heap of (size, subtour); outdated entries are skipped when popped
+    final long [] aHeap = new long [2 * nSubtours];
+    int nHeapSize = 0;
+    for (int i = 0; i < nSubtours; ++i)
+      _heapPush (aHeap, nHeapSize++, ((long) aSizes[i] << 32) | i);
+
+    final int [] aNeighbors = m_aNeighborList.internalGetNeighborArray ();
+    final int nNeighborCount = m_aNeighborList.getNeighborCount ();
+
+    double ret = 0;
+    int nAlive = nSubtours;
+    while (nAlive > 1)
+    {
+      final long nEntry = _heapPop (aHeap, nHeapSize--);
+      final int nSubtour = (int) nEntry;
+      if (aSizes[nSubtour] != (int) (nEntry >>> 32))
+        continue;
+
+      final int nSize = TSPTourHelper.walkLinks (aLinks, aRepresentatives[nSubtour], aMembers);
+
+      // Find the cheapest 2-edge exchange with another subtour
+      double dBest = Double.POSITIVE_INFINITY;
+      int nBestU = -1;
+      int nBestU2 = -1;
+      int nBestV = -1;
+      int nBestV2 = -1;
+      boolean bBestCrossed = false;
+      for (int nPass = 0; nPass < 2 && nBestU < 0; ++nPass)
+      {
+        // First pass: neighbor lists only; second pass: all cities for one
+        // member (only if all neighbors are within the same subtour)
+        final int nMembers = nPass == 0 ? nSize : 1;
+        for (int m = 0; m < nMembers; ++m)
+        {
+          final int nU = aMembers[m];
+          final double [] aDistU = m_aDistances[nU];
+          final int nCandidates = nPass == 0 ? nNeighborCount : nCities;
+          for (int c = 0; c < nCandidates; ++c)
+          {
+            final int nV = nPass == 0 ? aNeighbors[nU * nNeighborCount + c] : c;
+            if (aLabels[nV] == nSubtour)
+              continue;
+            final double [] aDistV = m_aDistances[nV];
+            for (int nSideU = 0; nSideU < 2; ++nSideU)
+            {
+              final int nU2 = aLinks[2 * nU + nSideU];
+              final double dDistUU2 = aDistU[nU2];
+              for (int nSideV = 0; nSideV < 2; ++nSideV)
+              {
+                final int nV2 = aLinks[2 * nV + nSideV];
+                final double dRemoved = dDistUU2 + aDistV[nV2];
+                // Add (u, v) and (u2, v2)
+                final double dGain1 = aDistU[nV] + m_aDistances[nU2][nV2] - dRemoved;
+                if (dGain1 < dBest)
+                {
+                  dBest = dGain1;
+                  nBestU = nU;
+                  nBestU2 = nU2;
+                  nBestV = nV;
+                  nBestV2 = nV2;
+                  bBestCrossed = false;
+                }
+                // Add (u, v2) and (u2, v)
+                final double dGain2 = aDistU[nV2] + m_aDistances[nU2][nV] - dRemoved;
+                if (dGain2 < dBest)
+                {
+                  dBest = dGain2;
+                  nBestU = nU;
+                  nBestU2 = nU2;
+                  nBestV = nV;
+                  nBestV2 = nV2;
+                  bBestCrossed = true;
+                }
+              }
+            }
+          }
+        }
+      }
+
+      // Apply the exchange
+      if (bBestCrossed)
+      {
+        _replaceLink (aLinks, nBestU, nBestU2, nBestV2);
+        _replaceLink (aLinks, nBestU2, nBestU, nBestV);
+        _replaceLink (aLinks, nBestV, nBestV2, nBestU2);
+        _replaceLink (aLinks, nBestV2, nBestV, nBestU);
+      }
+      else
+      {
+        _replaceLink (aLinks, nBestU, nBestU2, nBestV);
+        _replaceLink (aLinks, nBestU2, nBestU, nBestV2);
+        _replaceLink (aLinks, nBestV, nBestV2, nBestU);
+        _replaceLink (aLinks, nBestV2, nBestV, nBestU2);
+      }
+      ret += dBest;
+
+      // Join the subtour into the other one
+      final int nTarget = aLabels[nBestV];
+      for (int i = 0; i < nSize; ++i)
+        aLabels[aMembers[i]] = nTarget;
+      aSizes[nTarget] += nSize;
+      aSizes[nSubtour] = 0;
+      _heapPush (aHeap, nHeapSize++, ((long) aSizes[nTarget] << 32) | nTarget);
+      nAlive--;
+    }
+    return ret;
+  }
+
+  @Nonnull
+  private int [] _createChild (@Nonnull final int [] aBaseTour,
+                               @Nonnull final int [] aBaseLinks,
+                               @Nonnull final ABCycles aCycles,
+                               final boolean bBaseIsA)
+  {
+    final int nCities = aBaseTour.length;
+    final int [] aESet = new int [aCycles.m_nCount];
+    final int [] aMarks = new int [nCities];
+    final int [] aLabels = new int [nCities];
+    final int [] aSizes = new int [nCities];
+    final int [] aRepresentatives = new int [nCities];
+    final int [] aMembers = new int [nCities];
+
+    int [] aBestLinks = null;
+    double dBestDelta = Double.POSITIVE_INFINITY;
+    int [] aLinks = new int [aBaseLinks.length];
+    for (int nTrial = 0; nTrial < m_nTrials; ++nTrial)
+    {
+      System.arraycopy (aBaseLinks, 0, aLinks, 0, aBaseLinks.length);
+      final int nESetCount = _selectESet (aCycles, aESet, aMarks, nTrial + 1);
+      double dDelta = _applyESet (aCycles, aESet, nESetCount, bBaseIsA, aLinks);
+      dDelta += _mergeSubtours (aLinks, aLabels, aSizes, aRepresentatives, aMembers);
+      if (dDelta < dBestDelta)
+      {
+        dBestDelta = dDelta;
+        // Swap buffers
+        final int [] aTmp = aBestLinks;
+        aBestLinks = aLinks;
+        aLinks = aTmp != null ? aTmp : new int [aBaseLinks.length];
+      }
+    }
+
+    // Convert back to a tour, starting at the same city as the base parent
+    final int [] ret = new int [nCities];
+    TSPTourHelper.walkLinks (aBestLinks, aBaseTour[0], ret);
+    return ret;
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final int [] aGenes0 = aChromosomes[0].getGeneIntArray ();
+    final int [] aGenes1 = aChromosomes[1].getGeneIntArray ();
+
+    final int [] aLinks0 = TSPTourHelper.createLinks (aGenes0);
+    final int [] aLinks1 = TSPTourHelper.createLinks (aGenes1);
+    final ABCycles aCycles = _createABCycles (aLinks0, aLinks1);
+
+    final int [] aNewGenes0;
+    final int [] aNewGenes1;
+    if (aCycles.m_nCount == 0)
+    {
+      // Both parents represent the same tour
+      aNewGenes0 = aGenes0;
+      aNewGenes1 = aGenes1;
+    }
+    else
+    {
+      aNewGenes0 = _createChild (aGenes0, aLinks0, aCycles, true);
+      aNewGenes1 = _createChild (aGenes1, aLinks1, aCycles, false);
+    }
+
+    final IChromosome aNew0 = ChromosomeInt.createExclusive (aChromosomes[0], aNewGenes0);
+    final IChromosome aNew1 = ChromosomeInt.createExclusive (aChromosomes[1], aNewGenes1);
+    return new IChromosome [] { aNew0, aNew1 };
+  }
+}
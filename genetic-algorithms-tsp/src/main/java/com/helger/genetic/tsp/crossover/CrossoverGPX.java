@@ -0,0 +1,315 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.crossover;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.UnsupportedOperation;
+import com.helger.genetic.crossover.AbstractCrossover;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.tsp.model.TSPTourHelper;
+
+/**
+ * Generalized partition crossover (GPX) for 2 TSP tours. This crossover is
+ * deterministic and works in O(n):
+ * <ol>
+ * <li>All edges contained in both parents (common edges) are removed from the
+ * union graph of both parents.</li>
+ * <li>The connected components of the remaining graph are the candidate
+ * partitions. A partition that is connected to the rest of the tour by exactly
+ * 2 common edges is entered and left by both parents at the same cities, so
+ * the sub-path of either parent can be used.</li>
+ * <li>For each such partition, the parent sub-path with the shorter partial
+ * length is used.</li>
+ * </ol>
+ * As in GPX2, all remaining (infeasible) partitions are fused into a single
+ * partition which is used as well if it is connected by exactly 2 common edges.
+ * Infeasible partitions are taken from the base parent - the first child is
+ * based on the first parent and the second child is based on the second
+ * parent.<br>
+ * The length of the children is the sum of the common edges and the partial
+ * lengths of the chosen sub-paths, so the children are created with their
+ * fitness already set.
+ *
+ * @author Philip Helger
+ */
+public class CrossoverGPX extends AbstractCrossover
+{
+  public static final boolean DEFAULT_FUSE_INFEASIBLE = true;
+
+  private final TSPFitnessFunction m_aFF;
+  private final double [] [] m_aDistances;
+  private final boolean m_bFuseInfeasible;
+
+  public CrossoverGPX (@Nonnull final IDecisionMaker aDescisionMaker, @Nonnull final TSPFitnessFunction aFF)
+  {
+    this (aDescisionMaker, aFF, DEFAULT_FUSE_INFEASIBLE);
+  }
+
+  /**
+   * Full ctor
+   *
+   * @param aDescisionMaker
+   *        Decision maker
+   * @param aFF
+   *        The TSP fitness function to get the distances from
+   * @param bFuseInfeasible
+   *        <code>true</code> to fuse all infeasible partitions into one (GPX2),
+   *        <code>false</code> to use plain GPX.
+   */
+  public CrossoverGPX (@Nonnull final IDecisionMaker aDescisionMaker,
+                       @Nonnull final TSPFitnessFunction aFF,
+                       final boolean bFuseInfeasible)
+  {
+    super (2, aDescisionMaker);
+    ValueEnforcer.notNull (aFF, "FitnessFunction");
+    m_aFF = aFF;
+    m_aDistances = aFF.internalGetDistanceArray ();
+    m_bFuseInfeasible = bFuseInfeasible;
+  }
+
+  public boolean isFuseInfeasible ()
+  {
+    return m_bFuseInfeasible;
+  }
+
+  private static boolean _isCommon (@Nonnull final int [] aOtherLinks, final int nCity, final int nOther)
+  {
+    return TSPTourHelper.containsLink (aOtherLinks, nCity, nOther);
+  }
+
+  /**
+   * Label the connected components of the union graph without common edges.
+   * Cities that only have common edges get the label -1.
+   *
+   * @return The number of components
+   */
+  private static int _labelComponents (@Nonnull final int [] aLinks0,
+                                       @Nonnull final int [] aLinks1,
+                                       @Nonnull final int [] aComponents)
+  {
+    final int nCities = aComponents.length;
+    Arrays.fill (aComponents, -1);
+    final int [] aQueue = new int [nCities];
+    int ret = 0;
+    for (int nCity = 0; nCity < nCities; ++nCity)
+      if (aComponents[nCity] < 0 &&
+          !(_isCommon (aLinks1, nCity, aLinks0[2 * nCity]) && _isCommon (aLinks1, nCity, aLinks0[2 * nCity + 1])))
+      {
+        // Breadth first search
+        aComponents[nCity] = ret;
+        aQueue[0] = nCity;
+        int nHead = 0;
+        int nTail = 1;
+        while (nHead < nTail)
+        {
+          final int nCur = aQueue[nHead++];
+          for (int i = 0; i < 4; ++i)
+          {
+            final boolean bFirst = i < 2;
+            final int nNext = (bFirst ? aLinks0 : aLinks1)[2 * nCur + (i & 1)];
+            if (aComponents[nNext] < 0 && !_isCommon (bFirst ? aLinks1 : aLinks0, nCur, nNext))
+            {
+              aComponents[nNext] = ret;
+              aQueue[nTail++] = nNext;
+            }
+          }
+        }
+        ret++;
+      }
+    return ret;
+  }
+
+  /**
+   * Sum up the partial lengths of the tour per component.
+   *
+   * @return The length of all edges not inside a component
+   */
+  private double _sumComponentLengths (@Nonnull final int [] aTour,
+                                       @Nonnull final int [] aComponents,
+                                       @Nonnull final double [] aLengths)
+  {
+    final int nCities = aTour.length;
+    double ret = 0;
+    for (int i = 0; i < nCities; ++i)
+    {
+      final int nCity1 = aTour[i];
+      final int nCity2 = aTour[i == nCities - 1 ? 0 : i + 1];
+      final double dDist = m_aDistances[nCity1][nCity2];
+      final int nComp = aComponents[nCity1];
+      if (nComp >= 0 && nComp == aComponents[nCity2])
+        aLengths[nComp] += dDist;
+      else
+        ret += dDist;
+    }
+    return ret;
+  }
+
+  @Nonnull
+  private IChromosome _createChild (@Nonnull final IChromosome aBaseParent,
+                                    @Nonnull final int [] aBaseTour,
+                                    final boolean bBaseIsFirst,
+                                    @Nonnull final int [] aLinks0,
+                                    @Nonnull final int [] aLinks1,
+                                    @Nonnull final int [] aComponents,
+                                    @Nonnull final int [] aGroups,
+                                    @Nonnull final boolean [] aUseSecond,
+                                    @Nonnull final double [] aLengths0,
+                                    @Nonnull final double [] aLengths1,
+                                    final double dCommonLength)
+  {
+    final int nCities = aBaseTour.length;
+    final int [] aChildLinks = new int [2 * nCities];
+    for (int nCity = 0; nCity < nCities; ++nCity)
+    {
+      final int nComp = aComponents[nCity];
+      final int nGroup = nComp >= 0 ? aGroups[nComp] : -1;
+      final boolean bSecond = nGroup >= 0 ? aUseSecond[nGroup] : !bBaseIsFirst;
+      final int [] aSrc = bSecond ? aLinks1 : aLinks0;
+      aChildLinks[2 * nCity] = aSrc[2 * nCity];
+      aChildLinks[2 * nCity + 1] = aSrc[2 * nCity + 1];
+    }
+
+    double dLength = dCommonLength;
+    for (int nComp = 0; nComp < aGroups.length; ++nComp)
+    {
+      final int nGroup = aGroups[nComp];
+      final boolean bSecond = nGroup >= 0 ? aUseSecond[nGroup] : !bBaseIsFirst;
+      dLength += bSecond ? aLengths1[nComp] : aLengths0[nComp];
+    }
+
+    final int [] aChildTour = new int [nCities];
+    TSPTourHelper.walkLinks (aChildLinks, aBaseTour[0], aChildTour);
+    return ChromosomeInt.createExclusiveWithFitness (aBaseParent, m_aFF.getFitness (dLength), aChildTour);
+  }
+
+  @Override
+  @UnsupportedOperation
+  public IChromosome [] executeCrossover (@Nonnull @Nonempty final IChromosome [] aChromosomes)
+  {
+    final int [] aGenes0 = aChromosomes[0].getGeneIntArray ();
+    final int [] aGenes1 = aChromosomes[1].getGeneIntArray ();
+    final int nCities = aGenes0.length;
+
+    final int [] aLinks0 = TSPTourHelper.createLinks (aGenes0);
+    final int [] aLinks1 = TSPTourHelper.createLinks (aGenes1);
+
+    // Find the candidate partitions
+    final int [] aComponents = new int [nCities];
+    final int nComps = _labelComponents (aLinks0, aLinks1, aComponents);
+
+    // Partial lengths per component; edges outside of components are common
+    // edges and therefore identical in both parents
+    final double [] aLengths0 = new double [nComps];
+    final double [] aLengths1 = new double [nComps];
+    final double dCommonLength = _sumComponentLengths (aGenes0, aComponents, aLengths0);
+    _sumComponentLengths (aGenes1, aComponents, aLengths1);
+
+    // Count the common edges connecting each component with the rest
+    final int [] aCuts = new int [nComps];
+    for (int i = 0; i < nCities; ++i)
+    {
+      final int nComp1 = aComponents[aGenes0[i]];
+      final int nComp2 = aComponents[aGenes0[i == nCities - 1 ? 0 : i + 1]];
+      if (nComp1 != nComp2)
+      {
+        if (nComp1 >= 0)
+          aCuts[nComp1]++;
+        if (nComp2 >= 0)
+          aCuts[nComp2]++;
+      }
+    }
+
+    // Map each component to its recombination group, or -1 if infeasible. The
+    // last group is the fused group of all infeasible components.
+    final int [] aGroups = new int [nComps];
+    int nInfeasible = 0;
+    for (int nComp = 0; nComp < nComps; ++nComp)
+      if (aCuts[nComp] <= 2)
+        aGroups[nComp] = nComp;
+      else
+      {
+        aGroups[nComp] = -1;
+        nInfeasible++;
+      }
+
+    if (m_bFuseInfeasible && nInfeasible > 1)
+    {
+      int nFusedCuts = 0;
+      for (int i = 0; i < nCities; ++i)
+      {
+        final int nComp1 = aComponents[aGenes0[i]];
+        final int nComp2 = aComponents[aGenes0[i == nCities - 1 ? 0 : i + 1]];
+        final boolean bIn1 = nComp1 >= 0 && aGroups[nComp1] < 0;
+        final boolean bIn2 = nComp2 >= 0 && aGroups[nComp2] < 0;
+        if (bIn1 != bIn2)
+          nFusedCuts++;
+      }
+      if (nFusedCuts <= 2)
+        for (int nComp = 0; nComp < nComps; ++nComp)
+          if (aGroups[nComp] < 0)
+            aGroups[nComp] = nComps;
+    }
+
+    // Choose the shorter sub-path per group
+    final double [] aGroupLengths0 = new double [nComps + 1];
+    final double [] aGroupLengths1 = new double [nComps + 1];
+    for (int nComp = 0; nComp < nComps; ++nComp)
+    {
+      final int nGroup = aGroups[nComp];
+      if (nGroup >= 0)
+      {
+        aGroupLengths0[nGroup] += aLengths0[nComp];
+        aGroupLengths1[nGroup] += aLengths1[nComp];
+      }
+    }
+    final boolean [] aUseSecond = new boolean [nComps + 1];
+    for (int nGroup = 0; nGroup <= nComps; ++nGroup)
+      aUseSecond[nGroup] = aGroupLengths1[nGroup] < aGroupLengths0[nGroup];
+
+    final IChromosome aNew0 = _createChild (aChromosomes[0],
+                                            aGenes0,
+                                            true,
+                                            aLinks0,
+                                            aLinks1,
+                                            aComponents,
+                                            aGroups,
+                                            aUseSecond,
+                                            aLengths0,
+                                            aLengths1,
+                                            dCommonLength);
+    final IChromosome aNew1 = _createChild (aChromosomes[1],
+                                            aGenes1,
+                                            false,
+                                            aLinks0,
+                                            aLinks1,
+                                            aComponents,
+                                            aGroups,
+                                            aUseSecond,
+                                            aLengths0,
+                                            aLengths1,
+                                            dCommonLength);
+    return new IChromosome [] { aNew0, aNew1 };
+  }
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.crossover;
+
+/**
+ * Defines how the E-set of the {@link CrossoverEAX} is built from the
+ * available AB-cycles.
+ *
+ * @author Philip Helger
+ */
+public enum EEAXStrategy
+{
+  /** A single randomly chosen AB-cycle. */
+  SINGLE,
+  /**
+   * A randomly chosen AB-cycle together with all other AB-cycles that share at
+   * least one city with it.
+   */
+  LOCAL;
+}
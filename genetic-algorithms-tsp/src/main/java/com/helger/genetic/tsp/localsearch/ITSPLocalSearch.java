@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.localsearch;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.genetic.tsp.model.TSPArrayTour;
+
+/**
+ * Base interface for TSP local search operators that improve a tour in place.
+ *
+ * @author Philip Helger
+ */
+public interface ITSPLocalSearch
+{
+  /**
+   * Improve the passed tour.
+   *
+   * @param aTour
+   *        The tour to be improved. Modified in place.
+   * @return The decrease of the tour length. Always &ge; 0.
+   */
+  @Nonnegative
+  double optimize (@Nonnull TSPArrayTour aTour);
+}
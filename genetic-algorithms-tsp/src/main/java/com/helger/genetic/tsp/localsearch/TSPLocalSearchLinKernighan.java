@@ -0,0 +1,244 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.localsearch;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.genetic.tsp.model.TSPArrayTour;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.tsp.model.TSPNeighborList;
+
+/**
+ * Lin-Kernighan style variable depth local search. A sequential k-opt move is
+ * built as a chain of 2-opt moves that all share the start city t1:
+ *
+ * <pre>
+ * 1. remove edge (t1,t2)
+ * 2. add edge (t2,t3) with t3 from the candidate list of t2
+ * 3. remove edge (t3,t4) and close the tour with edge (t4,t1)
+ * 4. continue with t2 = t4, which removes the closing edge again
+ * </pre>
+ *
+ * On the first level all candidates are tried, on the deeper levels only the
+ * candidate with the highest partial gain. Edges added by the chain are never
+ * removed again. The chain is stopped if no candidate with a positive partial
+ * gain exists or if the maximum move level is reached. Afterwards all steps
+ * behind the best closed tour are undone. Tour lengths are never recalculated:
+ * the gain of each move is derived from the changed edges only.<br>
+ * If no improving chain exists for a city, Or-opt moves are tried as in
+ * {@link TSPLocalSearchTwoOptOrOpt}.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+public class TSPLocalSearchLinKernighan extends TSPLocalSearchTwoOptOrOpt
+{
+  public static final int DEFAULT_MAX_MOVE_LEVEL = 5;
+  /**
+   * Deeper moves profit from more candidates - especially on clustered
+   * instances like rl5915.
+   */
+  public static final int DEFAULT_LK_NEIGHBOR_COUNT = 16;
+  private static final double EPSILON = 1e-9;
+
+  private final int m_nMaxMoveLevel;
+
+  public TSPLocalSearchLinKernighan (@Nonnull final TSPFitnessFunction aFF)
+  {
+    this (aFF, new TSPNeighborList (aFF, DEFAULT_LK_NEIGHBOR_COUNT), DEFAULT_MAX_MOVE_LEVEL, true);
+  }
+
+  /**
+   * Full constructor
+   *
+   * @param aFF
+   *        Fitness function with the distances
+   * @param aNeighborList
+   *        The candidate lists. Must match the fitness function.
+   * @param nMaxMoveLevel
+   *        The maximum k of the sequential k-opt moves. Must be &ge; 2. A
+   *        value of 2 results in plain 2-opt moves.
+   * @param bUseOrOpt
+   *        <code>true</code> to use Or-opt moves in addition.
+   */
+  public TSPLocalSearchLinKernighan (@Nonnull final TSPFitnessFunction aFF,
+                                     @Nonnull final TSPNeighborList aNeighborList,
+                                     @Nonnegative final int nMaxMoveLevel,
+                                     final boolean bUseOrOpt)
+  {
+    super (aFF, aNeighborList, bUseOrOpt);
+    ValueEnforcer.isTrue (nMaxMoveLevel >= 2, "MaxMoveLevel must be >= 2");
+    m_nMaxMoveLevel = nMaxMoveLevel;
+  }
+
+  /**
+   * @return The maximum k of the sequential k-opt moves. Always &ge; 2.
+   */
+  @Nonnegative
+  public final int getMaxMoveLevel ()
+  {
+    return m_nMaxMoveLevel;
+  }
+
+  private static boolean _isAddedEdge (@Nonnull final int [] aSteps,
+                                       final int nSteps,
+                                       final int nCity1,
+                                       final int nCity2)
+  {
+    for (int i = 0; i < nSteps; ++i)
+    {
+      final int nT2 = aSteps[3 * i];
+      final int nT3 = aSteps[3 * i + 2];
+      if ((nT2 == nCity1 && nT3 == nCity2) || (nT2 == nCity2 && nT3 == nCity1))
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Apply the first 2-opt move and extend the chain as far as possible.
+   *
+   * @return The gain of the best closed tour or 0 if the chain was completely
+   *         undone.
+   */
+  private double _runChain (@Nonnull final TSPArrayTour aTour,
+                            @Nonnull final ActiveQueue aQueue,
+                            final int nT1,
+                            final int nFirstT2,
+                            final int nFirstT3,
+                            final int nFirstT4,
+                            final double dFirstGain,
+                            @Nonnull final int [] aSteps)
+  {
+    final double [] [] aDistances = internalGetDistances ();
+    final TSPNeighborList aNL = getNeighborList ();
+    final int [] aNeighbors = aNL.internalGetNeighborArray ();
+    final int nNeighborCount = aNL.getNeighborCount ();
+    final int nMaxSteps = m_nMaxMoveLevel - 1;
+
+    int nT2 = nFirstT2;
+    int nT3 = nFirstT3;
+    int nT4 = nFirstT4;
+    // Gain without the closing edge (t4,t1)
+    double dOpenGain = dFirstGain;
+    int nSteps = 0;
+    double dBestGain = 0;
+    int nBestSteps = 0;
+    while (true)
+    {
+      // Removes (t1,t2) and (t4,t3), adds (t1,t4) and (t2,t3)
+      aTour.twoOptMove (nT1, nT2, nT4, nT3);
+      aSteps[3 * nSteps] = nT2;
+      aSteps[3 * nSteps + 1] = nT4;
+      aSteps[3 * nSteps + 2] = nT3;
+      nSteps++;
+
+      final double dClosedGain = dOpenGain - aDistances[nT4][nT1];
+      if (dClosedGain > dBestGain + EPSILON)
+      {
+        dBestGain = dClosedGain;
+        nBestSteps = nSteps;
+      }
+      if (nSteps == nMaxSteps)
+        break;
+
+      // Next level: remove the closing edge (t1,t4) again
+      nT2 = nT4;
+      final boolean bSucc = aTour.next (nT1) == nT2;
+      final int nOffset = nT2 * nNeighborCount;
+      final double [] aRowT2 = aDistances[nT2];
+      int nBestT3 = -1;
+      int nBestT4 = -1;
+      double dBestOpenGain = 0;
+      for (int i = 0; i < nNeighborCount; ++i)
+      {
+        final int nCandT3 = aNeighbors[nOffset + i];
+        final double dGain1 = dOpenGain - aRowT2[nCandT3];
+        if (dGain1 <= EPSILON)
+          break;
+        final int nCandT4 = bSucc ? aTour.prev (nCandT3) : aTour.next (nCandT3);
+        if (nCandT3 == nT1 || nCandT4 == nT2 || _isAddedEdge (aSteps, nSteps, nCandT3, nCandT4))
+          continue;
+        final double dNewOpenGain = dGain1 + aDistances[nCandT3][nCandT4];
+        if (nBestT3 < 0 || dNewOpenGain > dBestOpenGain)
+        {
+          nBestT3 = nCandT3;
+          nBestT4 = nCandT4;
+          dBestOpenGain = dNewOpenGain;
+        }
+      }
+      if (nBestT3 < 0)
+        break;
+      nT3 = nBestT3;
+      nT4 = nBestT4;
+      dOpenGain = dBestOpenGain;
+    }
+
+    // Undo all steps behind the best tour
+    for (int i = nSteps - 1; i >= nBestSteps; --i)
+      aTour.twoOptMove (nT1, aSteps[3 * i + 1], aSteps[3 * i], aSteps[3 * i + 2]);
+
+    if (nBestSteps > 0)
+    {
+      aQueue.push (nT1);
+      for (int i = 0; i < 3 * nBestSteps; ++i)
+        aQueue.push (aSteps[i]);
+    }
+    return dBestGain;
+  }
+
+  @Override
+  @Nonnegative
+  protected double tryTwoOpt (@Nonnull final TSPArrayTour aTour, @Nonnull final ActiveQueue aQueue, final int nT1)
+  {
+    final double [] [] aDistances = internalGetDistances ();
+    final TSPNeighborList aNL = getNeighborList ();
+    final int [] aNeighbors = aNL.internalGetNeighborArray ();
+    final int nNeighborCount = aNL.getNeighborCount ();
+    // t2, t4 and t3 per step
+    final int [] aSteps = new int [3 * (m_nMaxMoveLevel - 1)];
+
+    // Determine both tour neighbors upfront, as undone chains may change the
+    // orientation
+    final int [] aT2s = new int [] { aTour.next (nT1), aTour.prev (nT1) };
+    for (final int nT2 : aT2s)
+    {
+      final double dT1T2 = aDistances[nT1][nT2];
+      final double [] aRowT2 = aDistances[nT2];
+      final int nOffset = nT2 * nNeighborCount;
+      for (int i = 0; i < nNeighborCount; ++i)
+      {
+        final int nT3 = aNeighbors[nOffset + i];
+        final double dGain1 = dT1T2 - aRowT2[nT3];
+        if (dGain1 <= EPSILON)
+          break;
+        final boolean bSucc = aTour.next (nT1) == nT2;
+        final int nT4 = bSucc ? aTour.prev (nT3) : aTour.next (nT3);
+        if (nT3 == nT1 || nT4 == nT2)
+          continue;
+
+        final double dGain = _runChain (aTour, aQueue, nT1, nT2, nT3, nT4, dGain1 + aDistances[nT3][nT4], aSteps);
+        if (dGain > 0)
+          return dGain;
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,352 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.localsearch;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.ReturnsMutableObject;
+import com.helger.genetic.tsp.model.TSPArrayTour;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.tsp.model.TSPNeighborList;
+
+/**
+ * 2-opt and Or-opt local search. The moves are searched in the candidate lists
+ * (nearest neighbors) only and the first improving move is applied. Each city
+ * has a "don't look bit": only cities in the queue of active cities are used
+ * as the start of a move. A city leaves the queue if no improving move starts
+ * at it, and the end points of each applied move are re-activated.<br>
+ * Or-opt moves a segment of 1 to 3 cities, optionally reversed, between two
+ * other cities. It is applied as a sequence of 2-opt moves.<br>
+ * This class is stateless and can therefore be used by multiple threads.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+public class TSPLocalSearchTwoOptOrOpt implements ITSPLocalSearch
+{
+  public static final int DEFAULT_NEIGHBOR_COUNT = 8;
+  /** Minimum gain of a move to avoid endless loops due to rounding */
+  private static final double EPSILON = 1e-9;
+  private static final int MAX_OR_OPT_SEGMENT_LENGTH = 3;
+
+  private final double [] [] m_aDistances;
+  private final TSPNeighborList m_aNeighborList;
+  private final boolean m_bUseOrOpt;
+
+  public TSPLocalSearchTwoOptOrOpt (@Nonnull final TSPFitnessFunction aFF)
+  {
+    this (aFF, new TSPNeighborList (aFF, DEFAULT_NEIGHBOR_COUNT), true);
+  }
+
+  /**
+   * Full constructor
+   *
+   * @param aFF
+   *        Fitness function with the distances
+   * @param aNeighborList
+   *        The candidate lists. Must match the fitness function.
+   * @param bUseOrOpt
+   *        <code>true</code> to use Or-opt moves in addition to 2-opt moves.
+   */
+  public TSPLocalSearchTwoOptOrOpt (@Nonnull final TSPFitnessFunction aFF,
+                                    @Nonnull final TSPNeighborList aNeighborList,
+                                    final boolean bUseOrOpt)
+  {
+    ValueEnforcer.notNull (aFF, "FitnessFunction");
+    ValueEnforcer.notNull (aNeighborList, "NeighborList");
+    ValueEnforcer.isTrue (aNeighborList.getCityCount () == aFF.getCityCount (),
+                          "NeighborList does not match the fitness function");
+    m_aDistances = aFF.internalGetDistanceArray ();
+    m_aNeighborList = aNeighborList;
+    m_bUseOrOpt = bUseOrOpt;
+  }
+
+  @Nonnull
+  public final TSPNeighborList getNeighborList ()
+  {
+    return m_aNeighborList;
+  }
+
+  public final boolean isUseOrOpt ()
+  {
+    return m_bUseOrOpt;
+  }
+
+  /**
+   * @return The internal distance array. Handle with care - don't modify!
+   */
+  @Nonnull
+  @ReturnsMutableObject ("Performance")
+  protected final double [] [] internalGetDistances ()
+  {
+    // ESCA-JAVA0259:
+    return m_aDistances;
+  }
+
+  /**
+   * Queue of active cities ("don't look bits" cleared)
+   */
+  protected static final class ActiveQueue
+  {
+    private final int [] m_aQueue;
+    private final boolean [] m_aActive;
+    private int m_nHead = 0;
+    private int m_nSize = 0;
+
+    ActiveQueue (@Nonnegative final int nCities)
+    {
+      m_aQueue = new int [nCities];
+      m_aActive = new boolean [nCities];
+    }
+
+    public void push (final int nCity)
+    {
+      if (!m_aActive[nCity])
+      {
+        m_aActive[nCity] = true;
+        int nIndex = m_nHead + m_nSize;
+        if (nIndex >= m_aQueue.length)
+          nIndex -= m_aQueue.length;
+        m_aQueue[nIndex] = nCity;
+        m_nSize++;
+      }
+    }
+
+    boolean isEmpty ()
+    {
+      return m_nSize == 0;
+    }
+
+    int pop ()
+    {
+      final int ret = m_aQueue[m_nHead];
+      m_aActive[ret] = false;
+      m_nHead = m_nHead == m_aQueue.length - 1 ? 0 : m_nHead + 1;
+      m_nSize--;
+      return ret;
+    }
+  }
+
+  /**
+   * Try to find and apply an improving 2-opt move starting at city a. All end
+   * points of an applied move must be added to the queue.
+   *
+   * @param aTour
+   *        The tour to modify
+   * @param aQueue
+   *        The queue of active cities
+   * @param nCityA
+   *        The city to start at
+   * @return The gain of the applied move or 0 if no move was found.
+   */
+  @Nonnegative
+  @OverrideOnDemand
+  protected double tryTwoOpt (@Nonnull final TSPArrayTour aTour, @Nonnull final ActiveQueue aQueue, final int nCityA)
+  {
+    final int [] aNeighbors = m_aNeighborList.internalGetNeighborArray ();
+    final int nNeighborCount = m_aNeighborList.getNeighborCount ();
+    final int nOffset = nCityA * nNeighborCount;
+    final double [] aRowA = m_aDistances[nCityA];
+
+    for (int nDir = 0; nDir < 2; ++nDir)
+    {
+      final boolean bSucc = nDir == 0;
+      final int nCityB = bSucc ? aTour.next (nCityA) : aTour.prev (nCityA);
+      final double dAB = aRowA[nCityB];
+      for (int i = 0; i < nNeighborCount; ++i)
+      {
+        final int nCityC = aNeighbors[nOffset + i];
+        final double dGain1 = dAB - aRowA[nCityC];
+        if (dGain1 <= EPSILON)
+        {
+          // Neighbors are sorted - no further improvement possible
+          break;
+        }
+        final int nCityD = bSucc ? aTour.next (nCityC) : aTour.prev (nCityC);
+        if (nCityC == nCityB || nCityD == nCityA)
+          continue;
+
+        final double dGain = dGain1 + m_aDistances[nCityC][nCityD] - m_aDistances[nCityB][nCityD];
+        if (dGain > EPSILON)
+        {
+          aTour.twoOptMove (nCityA, nCityB, nCityC, nCityD);
+          aQueue.push (nCityA);
+          aQueue.push (nCityB);
+          aQueue.push (nCityC);
+          aQueue.push (nCityD);
+          return dGain;
+        }
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Move a segment between two other cities.
+   *
+   * @param aTour
+   *        Tour to modify
+   * @param nSegFirst
+   *        First city of the segment in forward direction
+   * @param nSegLast
+   *        Last city of the segment in forward direction
+   * @param nCityU
+   *        First city of the target edge in forward direction
+   * @param nCityV
+   *        Second city of the target edge in forward direction
+   * @param bFirstAtU
+   *        <code>true</code> if the first city of the segment should be
+   *        connected to u, <code>false</code> if the last city of the segment
+   *        should be connected to u.
+   */
+  static void moveSegment (@Nonnull final TSPArrayTour aTour,
+                           final int nSegFirst,
+                           final int nSegLast,
+                           final int nCityU,
+                           final int nCityV,
+                           final boolean bFirstAtU)
+  {
+    final int nCityP = aTour.prev (nSegFirst);
+    final int nCityN = aTour.next (nSegLast);
+
+    // Result: p-n, u-last, first-v
+    if (nCityV != nCityP)
+    {
+      aTour.twoOptMove (nCityP, nSegFirst, nCityU, nCityV);
+      if (nCityU != nCityN)
+        aTour.twoOptMove (nCityP, nCityU, nCityN, nSegLast);
+    }
+    else
+      aTour.twoOptMove (nCityP, nCityU, nCityN, nSegLast);
+
+    // Result: u-first, last-v
+    if (bFirstAtU && nSegFirst != nSegLast)
+      aTour.twoOptMove (nCityU, nSegLast, nSegFirst, nCityV);
+  }
+
+  /**
+   * Try to find and apply an improving Or-opt move for a segment starting at
+   * city s.
+   *
+   * @return The gain of the applied move or 0 if no move was found.
+   */
+  private double _tryOrOpt (@Nonnull final TSPArrayTour aTour, @Nonnull final ActiveQueue aQueue, final int nSegFirst)
+  {
+    final int [] aNeighbors = m_aNeighborList.internalGetNeighborArray ();
+    final int nNeighborCount = m_aNeighborList.getNeighborCount ();
+    final int nCityP = aTour.prev (nSegFirst);
+
+    int nSegLast = nSegFirst;
+    for (int nSegLength = 1; nSegLength <= MAX_OR_OPT_SEGMENT_LENGTH; ++nSegLength)
+    {
+      if (nSegLength > 1)
+        nSegLast = aTour.next (nSegLast);
+      final int nCityN = aTour.next (nSegLast);
+      if (nCityN == nCityP || aTour.next (nCityN) == nCityP)
+      {
+        // Tour too short
+        break;
+      }
+
+      final double dRemoveGain = m_aDistances[nCityP][nSegFirst] +
+                                 m_aDistances[nSegLast][nCityN] -
+                                 m_aDistances[nCityP][nCityN];
+      if (dRemoveGain <= EPSILON)
+        continue;
+
+      // Connect either end of the segment to a candidate neighbor
+      for (int nEnd = 0; nEnd < 2; ++nEnd)
+      {
+        final int nSegX = nEnd == 0 ? nSegFirst : nSegLast;
+        final int nSegY = nEnd == 0 ? nSegLast : nSegFirst;
+        if (nEnd == 1 && nSegX == nSegY)
+          break;
+
+        final double [] aRowX = m_aDistances[nSegX];
+        final int nOffset = nSegX * nNeighborCount;
+        for (int i = 0; i < nNeighborCount; ++i)
+        {
+          final int nCityC = aNeighbors[nOffset + i];
+          final double dGain1 = dRemoveGain - aRowX[nCityC];
+          if (dGain1 <= EPSILON)
+            break;
+          if (aTour.between (nSegFirst, nCityC, nSegLast))
+            continue;
+
+          for (int nDir = 0; nDir < 2; ++nDir)
+          {
+            final boolean bSucc = nDir == 0;
+            final int nCityE = bSucc ? aTour.next (nCityC) : aTour.prev (nCityC);
+            if (aTour.between (nSegFirst, nCityE, nSegLast))
+              continue;
+
+            final double dGain = dGain1 - m_aDistances[nSegY][nCityE] + m_aDistances[nCityC][nCityE];
+            if (dGain > EPSILON)
+            {
+              // Determine the target edge in forward direction
+              final int nCityU = bSucc ? nCityC : nCityE;
+              final int nCityV = bSucc ? nCityE : nCityC;
+              // X is connected to C
+              final boolean bFirstAtU = bSucc == (nSegX == nSegFirst);
+              moveSegment (aTour, nSegFirst, nSegLast, nCityU, nCityV, bFirstAtU);
+              aQueue.push (nCityP);
+              aQueue.push (nCityN);
+              aQueue.push (nSegFirst);
+              aQueue.push (nSegLast);
+              aQueue.push (nCityC);
+              aQueue.push (nCityE);
+              return dGain;
+            }
+          }
+        }
+      }
+    }
+    return 0;
+  }
+
+  @Nonnegative
+  public double optimize (@Nonnull final TSPArrayTour aTour)
+  {
+    ValueEnforcer.notNull (aTour, "Tour");
+    final int nCities = aTour.getCityCount ();
+    ValueEnforcer.isTrue (nCities == m_aNeighborList.getCityCount (), "Tour does not match the neighbor list");
+    if (nCities < 8)
+    {
+      // Too small for a meaningful local search
+      return 0;
+    }
+
+    final ActiveQueue aQueue = new ActiveQueue (nCities);
+    for (int i = 0; i < nCities; ++i)
+      aQueue.push (aTour.getCityAt (i));
+
+    double dTotalGain = 0;
+    while (!aQueue.isEmpty ())
+    {
+      final int nCity = aQueue.pop ();
+      double dGain = tryTwoOpt (aTour, aQueue, nCity);
+      if (dGain == 0 && m_bUseOrOpt)
+        dGain = _tryOrOpt (aTour, aQueue, nCity);
+      dTotalGain += dGain;
+    }
+    return dTotalGain;
+  }
+}
@@ -0,0 +1,233 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.model;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.annotation.ReturnsMutableObject;
+
+/**
+ * Array based representation of a TSP tour as used by the local search
+ * operators. Next to the tour itself the position of each city in the tour is
+ * stored, so that successor, predecessor and position lookups are O(1). Path
+ * reversals always reverse the shorter side of the tour, which results in the
+ * same cyclic tour but may change the orientation.
+ *
+ * @author Philip Helger
+ */
+@NotThreadSafe
+public final class TSPArrayTour
+{
+  private final int [] m_aTour;
+  private final int [] m_aPos;
+  private final int m_nCities;
+
+  /**
+   * Constructor
+   *
+   * @param aTour
+   *        The tour to work on. The array is not copied, so all modifications
+   *        are directly visible in the passed array. Must contain each city
+   *        from 0 to n-1 exactly once.
+   */
+  public TSPArrayTour (@Nonnull final int [] aTour)
+  {
+    ValueEnforcer.notNull (aTour, "Tour");
+    ValueEnforcer.isTrue (aTour.length >= 3, "At least 3 cities are required");
+    m_aTour = aTour;
+    m_nCities = aTour.length;
+    m_aPos = new int [m_nCities];
+    for (int i = 0; i < m_nCities; ++i)
+      m_aPos[aTour[i]] = i;
+  }
+
+  /**
+   * @return The number of cities. Always &ge; 3.
+   */
+  @Nonnegative
+  public int getCityCount ()
+  {
+    return m_nCities;
+  }
+
+  /**
+   * @param nPos
+   *        Tour position
+   * @return The city at the specified position
+   */
+  public int getCityAt (@Nonnegative final int nPos)
+  {
+    return m_aTour[nPos];
+  }
+
+  /**
+   * @param nCity
+   *        City index
+   * @return The position of the passed city in the tour
+   */
+  public int getPosition (@Nonnegative final int nCity)
+  {
+    return m_aPos[nCity];
+  }
+
+  /**
+   * @param nCity
+   *        City index
+   * @return The successor of the passed city
+   */
+  public int next (@Nonnegative final int nCity)
+  {
+    final int nPos = m_aPos[nCity] + 1;
+    return m_aTour[nPos == m_nCities ? 0 : nPos];
+  }
+
+  /**
+   * @param nCity
+   *        City index
+   * @return The predecessor of the passed city
+   */
+  public int prev (@Nonnegative final int nCity)
+  {
+    final int nPos = m_aPos[nCity];
+    return m_aTour[nPos == 0 ? m_nCities - 1 : nPos - 1];
+  }
+
+  /**
+   * Check if city b is on the forward path from city a to city c (inclusive).
+   *
+   * @param nCityA
+   *        Start city
+   * @param nCityB
+   *        City to check
+   * @param nCityC
+   *        End city
+   * @return <code>true</code> if b lies between a and c
+   */
+  public boolean between (final int nCityA, final int nCityB, final int nCityC)
+  {
+    final int nPosA = m_aPos[nCityA];
+    final int nPosB = m_aPos[nCityB];
+    final int nPosC = m_aPos[nCityC];
+    if (nPosA <= nPosC)
+      return nPosA <= nPosB && nPosB <= nPosC;
+    return nPosB >= nPosA || nPosB <= nPosC;
+  }
+
+  /**
+   * Reverse the forward path from the first to the last city (inclusive). If
+   * the complement path is shorter, it is reversed instead - this results in
+   * the same cyclic tour with the opposite orientation.
+   *
+   * @param nFromCity
+   *        First city of the path
+   * @param nToCity
+   *        Last city of the path
+   */
+  public void reversePath (final int nFromCity, final int nToCity)
+  {
+    int nLeft = m_aPos[nFromCity];
+    int nRight = m_aPos[nToCity];
+    int nLength = nRight - nLeft;
+    if (nLength < 0)
+      nLength += m_nCities;
+    nLength++;
+    if (nLength * 2 > m_nCities)
+    {
+      // Reverse the complement instead
+      final int nNewLeft = nRight == m_nCities - 1 ? 0 : nRight + 1;
+      nRight = nLeft == 0 ? m_nCities - 1 : nLeft - 1;
+      nLeft = nNewLeft;
+      nLength = m_nCities - nLength;
+    }
+
+    for (int i = nLength / 2; i > 0; --i)
+    {
+      final int nCityL = m_aTour[nLeft];
+      final int nCityR = m_aTour[nRight];
+      m_aTour[nLeft] = nCityR;
+      m_aPos[nCityR] = nLeft;
+      m_aTour[nRight] = nCityL;
+      m_aPos[nCityL] = nRight;
+      nLeft = nLeft == m_nCities - 1 ? 0 : nLeft + 1;
+      nRight = nRight == 0 ? m_nCities - 1 : nRight - 1;
+    }
+  }
+
+  /**
+   * Perform a 2-opt move: the edges (a,b) and (c,d) are removed and the edges
+   * (a,c) and (b,d) are added. Either b must be the successor of a and d the
+   * successor of c, or b must be the predecessor of a and d the predecessor of
+   * c.
+   *
+   * @param nCityA
+   *        City a
+   * @param nCityB
+   *        City b - neighbor of a
+   * @param nCityC
+   *        City c
+   * @param nCityD
+   *        City d - neighbor of c in the same direction
+   */
+  public void twoOptMove (final int nCityA, final int nCityB, final int nCityC, final int nCityD)
+  {
+    if (next (nCityA) == nCityB)
+      reversePath (nCityB, nCityC);
+    else
+      reversePath (nCityA, nCityD);
+  }
+
+  /**
+   * Get the length of the tour.
+   *
+   * @param aDistances
+   *        The distance matrix to use.
+   * @return The total tour length including the way back to the start.
+   */
+  public double getLength (@Nonnull final double [] [] aDistances)
+  {
+    double ret = aDistances[m_aTour[m_nCities - 1]][m_aTour[0]];
+    for (int i = 1; i < m_nCities; ++i)
+      ret += aDistances[m_aTour[i - 1]][m_aTour[i]];
+    return ret;
+  }
+
+  /**
+   * @return The internal tour array. Handle with care - the position array
+   *         must be kept in sync.
+   */
+  @Nonnull
+  @ReturnsMutableObject ("Performance")
+  public int [] internalGetTourArray ()
+  {
+    // ESCA-JAVA0259:
+    return m_aTour;
+  }
+
+  /**
+   * @return A copy of the tour
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public int [] getTourArray ()
+  {
+    return m_aTour.clone ();
+  }
+}
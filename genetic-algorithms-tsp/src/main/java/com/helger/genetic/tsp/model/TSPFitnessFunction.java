@@ -20,7 +20,9 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableObject;
 import com.helger.genetic.model.IFitnessFunction;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
 import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.matrix.Matrix;
 
@@ -65,8 +67,47 @@ public final class TSPFitnessFunction implements IFitnessFunction
     m_dWorstCaseDistance = dMax * (m_nCities + 1) * dScalingFactor;
   }
 
+  /**
+   * @return The number of cities. Always &ge; 0.
+   */
+  @Nonnegative
+  public int getCityCount ()
+  {
+    return m_nCities;
+  }
+
+  /**
+   * @return The internal distance array. Handle with care - don't modify!
+   */
+  @Nonnull
+  @ReturnsMutableObject ("Performance")
+  public double [] [] internalGetDistanceArray ()
+  {
+    // ESCA-JAVA0259:
+    return m_aDistances;
+  }
+
+  /**
+   * Get the distance between two cities.
+   *
+   * @param nCity1
+   *        First city index
+   * @param nCity2
+   *        Second city index
+   * @return The distance between the two cities
+   */
+  public double getDistance (@Nonnegative final int nCity1, @Nonnegative final int nCity2)
+  {
+    return m_aDistances[nCity1][nCity2];
+  }
+
   public double getDistance (@Nonnull final IChromosome aChromosome)
   {
+    if (aChromosome instanceof ChromosomeInt)
+    {
+      // Avoid copying the genes - they are only read
+      return getDistance (((ChromosomeInt) aChromosome).internalGetGeneIntArray ());
+    }
     return getDistance (aChromosome.getGeneIntArray ());
   }
 
@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.model;
+
+import java.io.Serializable;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableObject;
+import com.helger.matrix.Matrix;
+
+/**
+ * Candidate list containing the k nearest neighbor cities of each city, sorted
+ * by ascending distance. Neighbors with the same distance are sorted by
+ * ascending city index. This is the basis for all operators that should only
+ * consider "promising" edges instead of all n-1 possible edges of a city.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+public final class TSPNeighborList implements Serializable
+{
+  private final int m_nCities;
+  private final int m_nNeighborCount;
+  private final int [] m_aNeighbors;
+
+  public TSPNeighborList (@Nonnull final TSPFitnessFunction aFF, @Nonnegative final int nNeighborCount)
+  {
+    this (aFF.internalGetDistanceArray (), nNeighborCount);
+  }
+
+  public TSPNeighborList (@Nonnull final Matrix aDistances, @Nonnegative final int nNeighborCount)
+  {
+    this (aDistances.internalGetArray (), nNeighborCount);
+  }
+
+  private TSPNeighborList (@Nonnull final double [] [] aDistances, @Nonnegative final int nNeighborCount)
+  {
+    ValueEnforcer.notNull (aDistances, "Distances");
+    ValueEnforcer.isGT0 (nNeighborCount, "NeighborCount");
+
+    final int nCities = aDistances.length;
+    ValueEnforcer.isTrue (nCities >= 2, "City count must at least be 2!");
+    final int nK = Math.min (nNeighborCount, nCities - 1);
+
+    m_nCities = nCities;
+    m_nNeighborCount = nK;
+    m_aNeighbors = new int [nCities * nK];
+
+    // Bounded max-heap with the k nearest cities found so far
+    final int [] aHeap = new int [nK];
+    for (int nCity = 0; nCity < nCities; ++nCity)
+    {
+      final double [] aRow = aDistances[nCity];
+      int nHeapSize = 0;
+      for (int nOther = 0; nOther < nCities; ++nOther)
+        if (nOther != nCity)
+        {
+          if (nHeapSize < nK)
+          {
+            // Sift up
+            int nPos = nHeapSize++;
+            while (nPos > 0)
+            {
+              final int nParent = (nPos - 1) >> 1;
+              if (!_isFarther (aRow, nOther, aHeap[nParent]))
+                break;
+              aHeap[nPos] = aHeap[nParent];
+              nPos = nParent;
+            }
+            aHeap[nPos] = nOther;
+          }
+          else
+            if (_isFarther (aRow, aHeap[0], nOther))
+            {
+              // Replace the farthest and sift down
+              _siftDown (aRow, aHeap, nHeapSize, 0, nOther);
+            }
+        }
+
+      // Extract in descending order to get an ascending list
+      final int nOffset = nCity * nK;
+      for (int i = nHeapSize - 1; i >= 0; --i)
+      {
+        m_aNeighbors[nOffset + i] = aHeap[0];
+        final int nLast = aHeap[i];
+        if (i > 0)
+          _siftDown (aRow, aHeap, i, 0, nLast);
+      }
+    }
+  }
+
+  /**
+   * @return <code>true</code> if city 1 is farther away than city 2. In case
+   *         of the same distance, the higher index is considered farther.
+   */
+  private static boolean _isFarther (@Nonnull final double [] aRow, final int nCity1, final int nCity2)
+  {
+    final double d1 = aRow[nCity1];
+    final double d2 = aRow[nCity2];
+    return d1 > d2 || (d1 == d2 && nCity1 > nCity2);
+  }
+
+  private static void _siftDown (@Nonnull final double [] aRow,
+                                 @Nonnull final int [] aHeap,
+                                 final int nHeapSize,
+                                 final int nStartPos,
+                                 final int nValue)
+  {
+    int nPos = nStartPos;
+    while (true)
+    {
+      int nChild = 2 * nPos + 1;
+      if (nChild >= nHeapSize)
+        break;
+      if (nChild + 1 < nHeapSize && _isFarther (aRow, aHeap[nChild + 1], aHeap[nChild]))
+        nChild++;
+      if (!_isFarther (aRow, aHeap[nChild], nValue))
+        break;
+      aHeap[nPos] = aHeap[nChild];
+      nPos = nChild;
+    }
+    aHeap[nPos] = nValue;
+  }
+
+  /**
+   * @return The number of cities. Always &ge; 2.
+   */
+  @Nonnegative
+  public int getCityCount ()
+  {
+    return m_nCities;
+  }
+
+  /**
+   * @return The number of neighbors per city. Always &gt; 0.
+   */
+  @Nonnegative
+  public int getNeighborCount ()
+  {
+    return m_nNeighborCount;
+  }
+
+  /**
+   * Get the n-th nearest neighbor of a city.
+   *
+   * @param nCity
+   *        The source city.
+   * @param nIndex
+   *        The 0-based index of the neighbor. 0 is the nearest neighbor.
+   * @return The neighbor city
+   */
+  @Nonnegative
+  public int getNeighbor (@Nonnegative final int nCity, @Nonnegative final int nIndex)
+  {
+    return m_aNeighbors[nCity * m_nNeighborCount + nIndex];
+  }
+
+  /**
+   * @return The internal neighbor array. The neighbors of city <code>c</code>
+   *         are stored at the indices <code>c * getNeighborCount ()</code>
+   *         (inclusive) to <code>(c + 1) * getNeighborCount ()</code>
+   *         (exclusive). Handle with care - don't modify!
+   */
+  @Nonnull
+  @ReturnsMutableObject ("Performance")
+  public int [] internalGetNeighborArray ()
+  {
+    // ESCA-JAVA0259:
+    return m_aNeighbors;
+  }
+}
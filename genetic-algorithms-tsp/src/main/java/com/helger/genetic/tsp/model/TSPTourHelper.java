@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.model;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.annotation.ReturnsMutableCopy;
+
+/**
+ * Helper methods for the link representation of TSP tours as used by the
+ * edge based operators. In a link array the two neighbors of city
+ * <code>c</code> are stored at the indices <code>2c</code> and
+ * <code>2c+1</code>.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+public final class TSPTourHelper
+{
+  private TSPTourHelper ()
+  {}
+
+  /**
+   * Create the link array of the passed tour. The predecessor of each city is
+   * stored at index <code>2c</code> and the successor at index
+   * <code>2c+1</code>.
+   *
+   * @param aTour
+   *        The tour to convert. May not be <code>null</code>.
+   * @return A new link array with twice the length of the tour.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static int [] createLinks (@Nonnull final int [] aTour)
+  {
+    final int nCities = aTour.length;
+    final int [] ret = new int [2 * nCities];
+    for (int i = 0; i < nCities; ++i)
+    {
+      final int nCity = aTour[i];
+      ret[2 * nCity] = aTour[i == 0 ? nCities - 1 : i - 1];
+      ret[2 * nCity + 1] = aTour[i == nCities - 1 ? 0 : i + 1];
+    }
+    return ret;
+  }
+
+  /**
+   * Check if the edge between the two cities is contained.
+   *
+   * @param aLinks
+   *        The link array to check
+   * @param nCity
+   *        First city
+   * @param nOther
+   *        Second city
+   * @return <code>true</code> if the edge is contained
+   */
+  public static boolean containsLink (@Nonnull final int [] aLinks, final int nCity, final int nOther)
+  {
+    return aLinks[2 * nCity] == nOther || aLinks[2 * nCity + 1] == nOther;
+  }
+
+  /**
+   * Walk along the (sub)tour of the passed link array starting at the passed
+   * city, until the start city is reached again. The first step goes to the
+   * neighbor stored at index <code>2c+1</code>, so for an unmodified link
+   * array the orientation of the original tour is retained.
+   *
+   * @param aLinks
+   *        The link array to walk
+   * @param nStartCity
+   *        The city to start at
+   * @param aDst
+   *        The array to write the visited cities to. Must be large enough.
+   * @return The number of cities written to aDst
+   */
+  @Nonnegative
+  public static int walkLinks (@Nonnull final int [] aLinks, final int nStartCity, @Nonnull final int [] aDst)
+  {
+    int ret = 0;
+    int nPrev = aLinks[2 * nStartCity];
+    int nCur = nStartCity;
+    do
+    {
+      aDst[ret++] = nCur;
+      final int nNext = aLinks[2 * nCur] != nPrev ? aLinks[2 * nCur] : aLinks[2 * nCur + 1];
+      nPrev = nCur;
+      nCur = nNext;
+    } while (nCur != nStartCity);
+    return ret;
+  }
+}
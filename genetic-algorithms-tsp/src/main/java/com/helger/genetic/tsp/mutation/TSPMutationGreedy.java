@@ -16,72 +16,196 @@
  */
 package com.helger.genetic.tsp.mutation;
 
-import java.util.BitSet;
+import java.util.Arrays;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
+import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.Nonempty;
-import com.helger.commons.collection.impl.ICommonsList;
-import com.helger.commons.math.MathHelper;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.VisibleForTesting;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
-import com.helger.genetic.model.chromosome.Chromosome;
 import com.helger.genetic.model.chromosome.IChromosome;
-import com.helger.genetic.model.gene.GeneInt;
-import com.helger.genetic.model.gene.IGene;
 import com.helger.genetic.mutation.AbstractMutation;
+import com.helger.genetic.tsp.model.TSPNeighborList;
 import com.helger.genetic.utils.random.RandomGenerator;
 import com.helger.matrix.Matrix;
 
 /**
- * Mutation that sorts a sub-sequence with the greedy TSP algorithm:
+ * Mutation that sorts a sub-sequence with the greedy TSP algorithm: starting
+ * with the first city of the segment, the nearest not yet used city of the
+ * segment is always appended.<br>
+ * The distances are read from the full distance matrix via the city indices,
+ * so no sub matrix is copied. The nearest unused city is first searched in the
+ * candidate list (the nearest neighbors) of the current city and only if none
+ * of the candidates is an unused city of the segment, all remaining cities of
+ * the segment are scanned. Cities with the same distance are always resolved
+ * in favour of the lowest city index - the candidate lists use the same
+ * tie-break (see {@link TSPNeighborList}) as the full scan, so both ways result
+ * in exactly the same order, independent of the order of the cities in the
+ * segment. Additionally the segment length is limited, so that the costs of a
+ * single mutation are bounded.
  *
  * @author Philip Helger
  */
 public class TSPMutationGreedy extends AbstractMutation
 {
-  private final Matrix m_aDistanceMatrix;
+  public static final int DEFAULT_NEIGHBOR_COUNT = 10;
+  public static final int DEFAULT_MAX_SEGMENT_LENGTH = 100;
+
+  private final double [] [] m_aDistances;
+  private final TSPNeighborList m_aNeighborList;
+  private final int m_nMaxSegmentLength;
 
   public TSPMutationGreedy (@Nonnull final IDecisionMaker aDescisionMaker, @Nonnull final Matrix aDistanceMatrix)
+  {
+    this (aDescisionMaker,
+          aDistanceMatrix,
+          new TSPNeighborList (aDistanceMatrix, DEFAULT_NEIGHBOR_COUNT),
+          DEFAULT_MAX_SEGMENT_LENGTH);
+  }
+
+  /**
+   * Full constructor
+   *
+   * @param aDescisionMaker
+   *        Decision maker
+   * @param aDistanceMatrix
+   *        Distance matrix
+   * @param aNeighborList
+   *        The nearest neighbors of all cities. Must match the distance matrix.
+   * @param nMaxSegmentLength
+   *        The maximum number of cities to be re-ordered. Must be &ge; 2.
+   */
+  public TSPMutationGreedy (@Nonnull final IDecisionMaker aDescisionMaker,
+                            @Nonnull final Matrix aDistanceMatrix,
+                            @Nonnull final TSPNeighborList aNeighborList,
+                            @Nonnegative final int nMaxSegmentLength)
   {
     super (aDescisionMaker);
-    if (aDistanceMatrix == null)
-      throw new NullPointerException ("DistanceMatrix");
-    m_aDistanceMatrix = aDistanceMatrix;
+    ValueEnforcer.notNull (aDistanceMatrix, "DistanceMatrix");
+    ValueEnforcer.notNull (aNeighborList, "NeighborList");
+    ValueEnforcer.isTrue (aNeighborList.getCityCount () == aDistanceMatrix.getRowDimension (),
+                          "NeighborList does not match the distance matrix");
+    ValueEnforcer.isTrue (nMaxSegmentLength >= 2, "MaxSegmentLength must be >= 2");
+    m_aDistances = aDistanceMatrix.internalGetArray ();
+    m_aNeighborList = aNeighborList;
+    m_nMaxSegmentLength = nMaxSegmentLength;
+  }
+
+  /**
+   * @return The maximum number of cities to be re-ordered. Always &ge; 2.
+   */
+  @Nonnegative
+  public final int getMaxSegmentLength ()
+  {
+    return m_nMaxSegmentLength;
   }
 
   @Nonnull
   @Nonempty
   public static int [] getGreedyOrder (@Nonnull final Matrix aDistanceMatrix)
   {
-    final double [] [] aDistances = aDistanceMatrix.internalGetArray ();
     final int nCities = aDistanceMatrix.getColumnDimension ();
-    final int [] ret = new int [nCities];
-    final BitSet aUsedCities = new BitSet (nCities);
-    int nUsedCities = 0;
-    int nCurrentCity = 0;
-    while (true)
+    final int [] aCities = new int [nCities];
+    for (int i = 0; i < nCities; ++i)
+      aCities[i] = i;
+    getGreedyOrder (aDistanceMatrix.internalGetArray (), aCities, null);
+    return aCities;
+  }
+
+  /**
+   * Sort the passed cities with the greedy algorithm, starting with the first
+   * city. If multiple unused cities have the same distance, the one with the
+   * lowest city index is chosen, both with and without candidate lists.
+   *
+   * @param aDistances
+   *        The full distance matrix.
+   * @param aCities
+   *        The cities to be sorted. Modified by this method.
+   * @param aNeighborList
+   *        The optional candidate lists. May be <code>null</code>.
+   */
+  public static void getGreedyOrder (@Nonnull final double [] [] aDistances,
+                                     @Nonnull final int [] aCities,
+                                     @Nullable final TSPNeighborList aNeighborList)
+  {
+    final int nCount = aCities.length;
+    if (nCount <= 2)
+      return;
+
+    // Cities of the segment in ascending order - for membership lookup
+    final int [] aSorted = aCities.clone ();
+    Arrays.sort (aSorted);
+    // "used" flag per sorted index
+    final boolean [] aUsed = new boolean [nCount];
+    final int [] aNeighbors = aNeighborList == null ? null : aNeighborList.internalGetNeighborArray ();
+    final int nNeighborCount = aNeighborList == null ? 0 : aNeighborList.getNeighborCount ();
+
+    int nCurrentCity = aCities[0];
+    aUsed[Arrays.binarySearch (aSorted, nCurrentCity)] = true;
+    for (int nUsedCities = 1; nUsedCities < nCount; ++nUsedCities)
     {
-      aUsedCities.set (nCurrentCity);
-      ret[nUsedCities++] = nCurrentCity;
-      if (nUsedCities == nCities)
-        break;
-
-      double dMinimum = Double.MAX_VALUE;
-      int nMinimumRow = -1;
-      for (int nRow = 0; nRow < nCities; ++nRow)
-        if (!aUsedCities.get (nRow))
+      int nNextIndex = -1;
+
+      // Try candidate list first
+      if (aNeighbors != null)
+      {
+        final int nOffset = nCurrentCity * nNeighborCount;
+        for (int i = 0; i < nNeighborCount; ++i)
         {
-          final double dDistance = aDistances[nRow][nCurrentCity];
-          if (dDistance < dMinimum)
+          final int nIndex = Arrays.binarySearch (aSorted, aNeighbors[nOffset + i]);
+          if (nIndex >= 0 && !aUsed[nIndex])
           {
-            dMinimum = dDistance;
-            nMinimumRow = nRow;
+            nNextIndex = nIndex;
+            break;
           }
         }
+      }
 
-      nCurrentCity = nMinimumRow;
+      if (nNextIndex < 0)
+      {
+        // Scan all remaining cities of the segment - ascending city index, so
+        // that ties are resolved like in the candidate lists
+        final double [] aRow = aDistances[nCurrentCity];
+        double dMinimum = Double.MAX_VALUE;
+        for (int i = 0; i < nCount; ++i)
+          if (!aUsed[i])
+          {
+            final double dDistance = aRow[aSorted[i]];
+            if (dDistance < dMinimum)
+            {
+              dMinimum = dDistance;
+              nNextIndex = i;
+            }
+          }
+      }
+
+      aUsed[nNextIndex] = true;
+      nCurrentCity = aSorted[nNextIndex];
+      aCities[nUsedCities] = nCurrentCity;
     }
-    return ret;
+  }
+
+  /**
+   * Get the segment to be re-ordered.
+   *
+   * @param nGenes
+   *        Number of genes. Always &ge; 4.
+   * @return An array with 2 elements: start index and number of cities. The
+   *         segment never wraps.
+   */
+  @Nonnull
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected int [] getSegment (@Nonnegative final int nGenes)
+  {
+    final int nMaxLength = Math.min (m_nMaxSegmentLength, nGenes);
+    final int nLength = 2 + RandomGenerator.getIntInRange (nMaxLength - 1);
+    final int nStart = RandomGenerator.getIntInRange (nGenes - nLength + 1);
+    return new int [] { nStart, nLength };
   }
 
   @Override
@@ -90,36 +214,18 @@ public class TSPMutationGreedy extends AbstractMutation
   {
     final int nGenes = aChromosome.getGeneCount ();
     if (nGenes < 4)
-    {
-      // Avoid endless loop in index selection below
-      // If only 3 elements are present ("a" "b" and "c") and index1 represents
-      // "b" there exists no index2 which has a minimum distance of 2!
       throw new IllegalArgumentException ("You need to have at least 4 genes, but you only have " + nGenes + " genes!");
-    }
 
-    final int nIndex1 = RandomGenerator.getIntInRange (nGenes);
-    int nIndex2;
-    do
-    {
-      nIndex2 = RandomGenerator.getIntInRange (nGenes);
-      // There must be at least 2 difference, so that sublist delivers at
-      // least 2 elements
-    } while (MathHelper.abs (nIndex1 - nIndex2) < 2);
-
-    // Create a copy of all genes
-    final ICommonsList <IGene> aGenes = aChromosome.getAllGenes ();
-    final int nStartIndex = Math.min (nIndex1, nIndex2);
-    final int nEndIndex = Math.max (nIndex1, nIndex2);
-    // Get sublist
-    final int [] aSelectedIndices = new int [nEndIndex - nStartIndex];
-    for (int i = 0; i < aSelectedIndices.length; ++i)
-      aSelectedIndices[i] = aGenes.get (nStartIndex + i).intValue ();
-
-    final int [] aOrderedIndices = getGreedyOrder (m_aDistanceMatrix.getMatrix (aSelectedIndices, aSelectedIndices));
-
-    for (int i = 0; i < aOrderedIndices.length; ++i)
-      aGenes.set (nStartIndex + i, new GeneInt (aSelectedIndices[aOrderedIndices[i]]));
-
-    return new Chromosome (aChromosome, aGenes);
+    final int [] aSegment = getSegment (nGenes);
+    final int nStart = aSegment[0];
+    final int nLength = aSegment[1];
+
+    final int [] aGenes = getGeneIntArrayForMutation (aChromosome);
+    final int [] aSelectedCities = new int [nLength];
+    System.arraycopy (aGenes, nStart, aSelectedCities, 0, nLength);
+    getGreedyOrder (m_aDistances, aSelectedCities, m_aNeighborList);
+    System.arraycopy (aSelectedCities, 0, aGenes, nStart, nLength);
+
+    return createMutatedChromosome (aChromosome, aGenes);
   }
 }
@@ -0,0 +1,243 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.mutation;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.mutation.AbstractMutation;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Mutation that re-orders a window of consecutive cities optimally. The cities
+ * before and after the window stay fixed and the order of the cities in the
+ * window is determined with the Held-Karp dynamic programming algorithm:
+ *
+ * <pre>
+ * cost[S][j] = min over i in S\{j} of cost[S\{j}][i] + d(i,j)
+ * </pre>
+ *
+ * The costs are O(k&sup2; 2<sup>k</sup>) for a window of k cities, so the
+ * window size is limited to {@link #MAX_WINDOW_SIZE}. The DP tables are
+ * allocated once per instance, so instances of this class may not be used by
+ * multiple threads at the same time. The new order is only used if it is
+ * shorter, so this mutation never makes a tour worse. The fitness is derived
+ * from the length difference of the window.
+ *
+ * @author Philip Helger
+ */
+@NotThreadSafe
+public class TSPMutationHeldKarp extends AbstractMutation
+{
+  public static final int DEFAULT_WINDOW_SIZE = 10;
+  public static final int MAX_WINDOW_SIZE = 12;
+  private static final double EPSILON = 1e-9;
+
+  private final double [] [] m_aDistances;
+  private final int m_nWindowSize;
+  // Preallocated tables
+  private final double [] m_aCost;
+  private final byte [] m_aParent;
+  private final double [] m_aLocalDistances;
+  private final double [] m_aStartDistances;
+  private final double [] m_aEndDistances;
+  private final int [] m_aCities;
+  private final int [] m_aNewCities;
+
+  public TSPMutationHeldKarp (@Nonnull final IDecisionMaker aDescisionMaker, @Nonnull final TSPFitnessFunction aFF)
+  {
+    this (aDescisionMaker, aFF, DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param aDescisionMaker
+   *        Decision maker
+   * @param aFF
+   *        Fitness function with the distances
+   * @param nWindowSize
+   *        The number of cities to be re-ordered. Must be between 2 and
+   *        {@link #MAX_WINDOW_SIZE}.
+   */
+  public TSPMutationHeldKarp (@Nonnull final IDecisionMaker aDescisionMaker,
+                              @Nonnull final TSPFitnessFunction aFF,
+                              @Nonnegative final int nWindowSize)
+  {
+    super (aDescisionMaker);
+    ValueEnforcer.notNull (aFF, "FitnessFunction");
+    ValueEnforcer.isBetweenInclusive (nWindowSize, "WindowSize", 2, MAX_WINDOW_SIZE);
+    m_aDistances = aFF.internalGetDistanceArray ();
+    m_nWindowSize = nWindowSize;
+    m_aCost = new double [(1 << nWindowSize) * nWindowSize];
+    m_aParent = new byte [m_aCost.length];
+    m_aLocalDistances = new double [nWindowSize * nWindowSize];
+    m_aStartDistances = new double [nWindowSize];
+    m_aEndDistances = new double [nWindowSize];
+    m_aCities = new int [nWindowSize];
+    m_aNewCities = new int [nWindowSize];
+  }
+
+  /**
+   * @return The number of cities to be re-ordered. Always &ge; 2.
+   */
+  @Nonnegative
+  public final int getWindowSize ()
+  {
+    return m_nWindowSize;
+  }
+
+  /**
+   * This method determines the start index of the window. This can be
+   * overridden for tests, to avoid the randomness
+   *
+   * @param nGenes
+   *        The number of genes. Always &ge; 4.
+   * @return The start index of the window. The window may wrap around at the
+   *         end.
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected int getWindowStart (final int nGenes)
+  {
+    return RandomGenerator.getIntInRange (nGenes);
+  }
+
+  /**
+   * Determine the optimal order of the cities in m_aCities between the start
+   * and the end city. The result is written to m_aNewCities.
+   *
+   * @return The length of the optimal path including the edges to the start
+   *         and the end city.
+   */
+  private double _solve (final int nCount, final int nStartCity, final int nEndCity)
+  {
+    final int [] aCities = m_aCities;
+    final double [] aLocal = m_aLocalDistances;
+    for (int i = 0; i < nCount; ++i)
+    {
+      final double [] aRow = m_aDistances[aCities[i]];
+      for (int j = 0; j < nCount; ++j)
+        aLocal[i * nCount + j] = aRow[aCities[j]];
+      m_aStartDistances[i] = aRow[nStartCity];
+      m_aEndDistances[i] = aRow[nEndCity];
+    }
+
+    final double [] aCost = m_aCost;
+    final byte [] aParent = m_aParent;
+    final int nFull = (1 << nCount) - 1;
+    Arrays.fill (aCost, 0, (nFull + 1) * nCount, Double.MAX_VALUE);
+    for (int j = 0; j < nCount; ++j)
+      aCost[(1 << j) * nCount + j] = m_aStartDistances[j];
+
+    for (int nMask = 1; nMask < nFull; ++nMask)
+      for (int j = 0; j < nCount; ++j)
+      {
+        if ((nMask & (1 << j)) == 0)
+          continue;
+        final double dCost = aCost[nMask * nCount + j];
+        if (dCost == Double.MAX_VALUE)
+          continue;
+        final int nLocalOffset = j * nCount;
+        for (int l = 0; l < nCount; ++l)
+          if ((nMask & (1 << l)) == 0)
+          {
+            final int nIndex = (nMask | (1 << l)) * nCount + l;
+            final double dNewCost = dCost + aLocal[nLocalOffset + l];
+            if (dNewCost < aCost[nIndex])
+            {
+              aCost[nIndex] = dNewCost;
+              aParent[nIndex] = (byte) j;
+            }
+          }
+      }
+
+    // Close the path to the end city
+    double dBest = Double.MAX_VALUE;
+    int nLast = -1;
+    for (int j = 0; j < nCount; ++j)
+    {
+      final double dCost = aCost[nFull * nCount + j] + m_aEndDistances[j];
+      if (dCost < dBest)
+      {
+        dBest = dCost;
+        nLast = j;
+      }
+    }
+
+    // Reconstruct the order backwards
+    int nMask = nFull;
+    for (int i = nCount - 1; i >= 0; --i)
+    {
+      m_aNewCities[i] = aCities[nLast];
+      final int nPrevLast = aParent[nMask * nCount + nLast];
+      nMask &= ~(1 << nLast);
+      nLast = nPrevLast;
+    }
+    return dBest;
+  }
+
+  @Override
+  @Nonnull
+  public IChromosome executeMutation (@Nonnull final IChromosome aChromosome)
+  {
+    final int nGenes = aChromosome.getGeneCount ();
+    if (nGenes < 4)
+      throw new IllegalArgumentException ("You need to have at least 4 genes, but you only have " + nGenes + " genes!");
+
+    final int nCount = Math.min (m_nWindowSize, nGenes - 2);
+    final int nStart = getWindowStart (nGenes);
+    final int [] aGenes = getGeneIntArrayForMutation (aChromosome);
+    final int nStartCity = aGenes[nStart == 0 ? nGenes - 1 : nStart - 1];
+    final int nEndCity = aGenes[(nStart + nCount) % nGenes];
+
+    // Old path length
+    double dOldLength = 0;
+    int nPrevCity = nStartCity;
+    for (int i = 0; i < nCount; ++i)
+    {
+      final int nCity = aGenes[(nStart + i) % nGenes];
+      m_aCities[i] = nCity;
+      dOldLength += m_aDistances[nPrevCity][nCity];
+      nPrevCity = nCity;
+    }
+    dOldLength += m_aDistances[nPrevCity][nEndCity];
+
+    final double dNewLength = _solve (nCount, nStartCity, nEndCity);
+    final double dGain = dOldLength - dNewLength;
+    if (dGain <= EPSILON)
+    {
+      // No improvement - keep the chromosome as is
+      return aChromosome;
+    }
+
+    for (int i = 0; i < nCount; ++i)
+      aGenes[(nStart + i) % nGenes] = m_aNewCities[i];
+
+    // Fitness is "worst case - distance" so the fitness increases by the gain
+    return createMutatedChromosome (aChromosome, aGenes, dGain);
+  }
+}
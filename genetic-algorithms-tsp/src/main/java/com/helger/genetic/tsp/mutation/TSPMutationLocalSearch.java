@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.mutation;
+
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.mutation.AbstractMutation;
+import com.helger.genetic.tsp.localsearch.ITSPLocalSearch;
+import com.helger.genetic.tsp.model.TSPArrayTour;
+
+/**
+ * Mutation that improves the tour with a local search operator. This turns the
+ * genetic algorithm into a memetic algorithm. The fitness of the result is
+ * calculated from the gain of the local search, so the tour length is not
+ * recalculated.
+ *
+ * @author Philip Helger
+ */
+public class TSPMutationLocalSearch extends AbstractMutation
+{
+  private final ITSPLocalSearch m_aLocalSearch;
+
+  public TSPMutationLocalSearch (@Nonnull final IDecisionMaker aDescisionMaker,
+                                 @Nonnull final ITSPLocalSearch aLocalSearch)
+  {
+    super (aDescisionMaker);
+    ValueEnforcer.notNull (aLocalSearch, "LocalSearch");
+    m_aLocalSearch = aLocalSearch;
+  }
+
+  @Nonnull
+  public final ITSPLocalSearch getLocalSearch ()
+  {
+    return m_aLocalSearch;
+  }
+
+  @Override
+  @Nonnull
+  public IChromosome executeMutation (@Nonnull final IChromosome aChromosome)
+  {
+    final int [] aGenes = getGeneIntArrayForMutation (aChromosome);
+    final double dGain = m_aLocalSearch.optimize (new TSPArrayTour (aGenes));
+
+    // Fitness is "worst case - distance" so the fitness increases by the gain
+    return createMutatedChromosome (aChromosome, aGenes, dGain);
+  }
+}
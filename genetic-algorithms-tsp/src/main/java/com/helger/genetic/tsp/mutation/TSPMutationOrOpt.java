@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.mutation;
+
+import javax.annotation.Nonnull;
+
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+
+/**
+ * Or-opt move: moves a segment of 1 to 3 cities to another position of the
+ * tour, optionally reversing it. See {@link TSPMutationSegmentMove} for
+ * details.
+ *
+ * @author Philip Helger
+ */
+public class TSPMutationOrOpt extends TSPMutationSegmentMove
+{
+  public static final int OR_OPT_MAX_SEGMENT_LENGTH = 3;
+
+  public TSPMutationOrOpt (@Nonnull final IDecisionMaker aDescisionMaker, @Nonnull final TSPFitnessFunction aFF)
+  {
+    this (aDescisionMaker, aFF, DEFAULT_ALLOW_REVERSE);
+  }
+
+  public TSPMutationOrOpt (@Nonnull final IDecisionMaker aDescisionMaker,
+                           @Nonnull final TSPFitnessFunction aFF,
+                           final boolean bAllowReverse)
+  {
+    super (aDescisionMaker, aFF, OR_OPT_MAX_SEGMENT_LENGTH, bAllowReverse);
+  }
+}
@@ -0,0 +1,226 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.mutation;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.mutation.AbstractMutation;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Moves a random segment of the tour to a random other position, optionally
+ * reversing it. This is the TSP specific version of
+ * {@link com.helger.genetic.mutation.MutationRandomMoveMultiple}. The segment
+ * is moved with a single array copy, and as only 3 edges are removed and 3
+ * edges are added, the fitness of the result is derived from the fitness of the
+ * source in O(1):
+ *
+ * <pre>
+ *     ... p | f ... l | n ... x | y ...   =&gt;   ... p | n ... x | f ... l | y ...
+ *     delta = d(p,n) + d(x,f) + d(l,y) - d(p,f) - d(l,n) - d(x,y)
+ * </pre>
+ *
+ * @author Philip Helger
+ */
+public class TSPMutationSegmentMove extends AbstractMutation
+{
+  public static final int DEFAULT_MAX_SEGMENT_LENGTH = Integer.MAX_VALUE;
+  public static final boolean DEFAULT_ALLOW_REVERSE = true;
+
+  private final double [] [] m_aDistances;
+  private final int m_nMaxSegmentLength;
+  private final boolean m_bAllowReverse;
+
+  public TSPMutationSegmentMove (@Nonnull final IDecisionMaker aDescisionMaker, @Nonnull final TSPFitnessFunction aFF)
+  {
+    this (aDescisionMaker, aFF, DEFAULT_MAX_SEGMENT_LENGTH, DEFAULT_ALLOW_REVERSE);
+  }
+
+  /**
+   * Full ctor
+   *
+   * @param aDescisionMaker
+   *        Decision maker
+   * @param aFF
+   *        The TSP fitness function to get the distances from
+   * @param nMaxSegmentLength
+   *        The maximum length of the moved segment. Must be &gt; 0. The
+   *        effective maximum is the number of cities - 2.
+   * @param bAllowReverse
+   *        <code>true</code> to reverse the segment with a probability of 50%
+   */
+  public TSPMutationSegmentMove (@Nonnull final IDecisionMaker aDescisionMaker,
+                                 @Nonnull final TSPFitnessFunction aFF,
+                                 @Nonnegative final int nMaxSegmentLength,
+                                 final boolean bAllowReverse)
+  {
+    super (aDescisionMaker);
+    ValueEnforcer.notNull (aFF, "FitnessFunction");
+    ValueEnforcer.isGT0 (nMaxSegmentLength, "MaxSegmentLength");
+    m_aDistances = aFF.internalGetDistanceArray ();
+    m_nMaxSegmentLength = nMaxSegmentLength;
+    m_bAllowReverse = bAllowReverse;
+  }
+
+  @Nonnegative
+  public final int getMaxSegmentLength ()
+  {
+    return m_nMaxSegmentLength;
+  }
+
+  public final boolean isAllowReverse ()
+  {
+    return m_bAllowReverse;
+  }
+
+  /**
+   * This method determines the move to perform. This can be overridden for
+   * tests, to avoid the randomness
+   *
+   * @param nGenes
+   *        The number of genes. Always &ge; 4.
+   * @return An array of 4 ints: the start index of the segment (the segment
+   *         does not wrap around), the length of the segment, the index of the
+   *         city after which the segment is inserted (must not be within the
+   *         segment or directly before it) and 1 to reverse the segment or 0
+   *         to keep its direction.
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected int [] getMove (final int nGenes)
+  {
+    final int nMaxLength = Math.min (m_nMaxSegmentLength, nGenes - 2);
+    final int nLength = 1 + RandomGenerator.getIntInRange (nMaxLength);
+    final int nStart = RandomGenerator.getIntInRange (nGenes - nLength + 1);
+    // Any city outside of the segment, except the one directly before it
+    final int nInsertAfter = (nStart + nLength + RandomGenerator.getIntInRange (nGenes - nLength - 1)) % nGenes;
+    final int nReverse = m_bAllowReverse ? RandomGenerator.getIntInRange (2) : 0;
+    return new int [] { nStart, nLength, nInsertAfter, nReverse };
+  }
+
+  /**
+   * Get the tour length difference when moving the passed segment.
+   *
+   * @param aTour
+   *        The tour
+   * @param nStart
+   *        Start index of the segment
+   * @param nLength
+   *        Length of the segment
+   * @param nInsertAfter
+   *        Index of the city after which the segment is inserted
+   * @param bReverse
+   *        <code>true</code> if the segment is reversed
+   * @return The tour length difference. Negative values mean an improvement.
+   */
+  public double getDelta (@Nonnull final int [] aTour,
+                          final int nStart,
+                          final int nLength,
+                          final int nInsertAfter,
+                          final boolean bReverse)
+  {
+    final int nCities = aTour.length;
+    final int nEnd = nStart + nLength - 1;
+    final int p = aTour[nStart == 0 ? nCities - 1 : nStart - 1];
+    final int f = aTour[nStart];
+    final int l = aTour[nEnd];
+    final int n = aTour[nEnd == nCities - 1 ? 0 : nEnd + 1];
+    final int x = aTour[nInsertAfter];
+    final int y = aTour[nInsertAfter == nCities - 1 ? 0 : nInsertAfter + 1];
+    final int nNewFirst = bReverse ? l : f;
+    final int nNewLast = bReverse ? f : l;
+    return m_aDistances[p][n] +
+           m_aDistances[x][nNewFirst] +
+           m_aDistances[nNewLast][y] -
+           m_aDistances[p][f] -
+           m_aDistances[l][n] -
+           m_aDistances[x][y];
+  }
+
+  /**
+   * Move the passed segment in place.
+   *
+   * @param aTour
+   *        The tour to modify
+   * @param nStart
+   *        Start index of the segment
+   * @param nLength
+   *        Length of the segment
+   * @param nInsertAfter
+   *        Index of the city after which the segment is inserted
+   * @param bReverse
+   *        <code>true</code> to reverse the segment
+   */
+  public static void move (@Nonnull final int [] aTour,
+                           final int nStart,
+                           final int nLength,
+                           final int nInsertAfter,
+                           final boolean bReverse)
+  {
+    final int [] aSegment = new int [nLength];
+    System.arraycopy (aTour, nStart, aSegment, 0, nLength);
+
+    final int nDstStart;
+    if (nInsertAfter >= nStart + nLength)
+    {
+      // Shift the cities between segment and insertion point to the left
+      System.arraycopy (aTour, nStart + nLength, aTour, nStart, nInsertAfter - nStart - nLength + 1);
+      nDstStart = nInsertAfter - nLength + 1;
+    }
+    else
+    {
+      // Shift the cities between insertion point and segment to the right
+      System.arraycopy (aTour, nInsertAfter + 1, aTour, nInsertAfter + 1 + nLength, nStart - nInsertAfter - 1);
+      nDstStart = nInsertAfter + 1;
+    }
+
+    if (bReverse)
+      for (int i = 0; i < nLength; ++i)
+        aTour[nDstStart + i] = aSegment[nLength - 1 - i];
+    else
+      System.arraycopy (aSegment, 0, aTour, nDstStart, nLength);
+  }
+
+  @Override
+  @Nonnull
+  public IChromosome executeMutation (@Nonnull final IChromosome aChromosome)
+  {
+    final int nGenes = aChromosome.getGeneCount ();
+    if (nGenes < 4)
+      throw new IllegalArgumentException ("You need to have at least 4 genes, but you only have " + nGenes + " genes!");
+
+    final int [] aMove = getMove (nGenes);
+    final int nStart = aMove[0];
+    final int nLength = aMove[1];
+    final int nInsertAfter = aMove[2];
+    final boolean bReverse = aMove[3] != 0;
+
+    final int [] aTour = getGeneIntArrayForMutation (aChromosome);
+    final double dDelta = getDelta (aTour, nStart, nLength, nInsertAfter, bReverse);
+    move (aTour, nStart, nLength, nInsertAfter, bReverse);
+
+    // Fitness is "worst case - distance" so the fitness changes by -delta
+    return createMutatedChromosome (aChromosome, aTour, -dDelta);
+  }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.mutation;
+
+import javax.annotation.Nonnull;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.OverrideOnDemand;
+import com.helger.commons.annotation.VisibleForTesting;
+import com.helger.genetic.decisionmaker.IDecisionMaker;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.mutation.AbstractMutation;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Random 2-opt move: reverses a random segment of the tour. This is the TSP
+ * specific version of
+ * {@link com.helger.genetic.mutation.MutationRandomPartialReverse}. Only the
+ * two edges at the segment borders change, so the fitness of the result is
+ * derived from the fitness of the source in O(1) instead of re-evaluating the
+ * complete tour:
+ *
+ * <pre>
+ *     ... a | b ... c | e ...   =&gt;   ... a | c ... b | e ...
+ *     delta = d(a,c) + d(b,e) - d(a,b) - d(c,e)
+ * </pre>
+ *
+ * As the tour is a cycle, reversing the segment is equivalent to reversing the
+ * rest of the tour, so always the shorter part is reversed.
+ *
+ * @author Philip Helger
+ */
+public class TSPMutationTwoOpt extends AbstractMutation
+{
+  private final double [] [] m_aDistances;
+
+  public TSPMutationTwoOpt (@Nonnull final IDecisionMaker aDescisionMaker, @Nonnull final TSPFitnessFunction aFF)
+  {
+    super (aDescisionMaker);
+    ValueEnforcer.notNull (aFF, "FitnessFunction");
+    m_aDistances = aFF.internalGetDistanceArray ();
+  }
+
+  /**
+   * This method determines the segment to be reversed. This can be overridden
+   * for tests, to avoid the randomness
+   *
+   * @param nGenes
+   *        The number of genes. Always &ge; 4.
+   * @return An array of 2 ints: the start index of the segment and the length
+   *         of the segment. The segment may wrap around at the end. The length
+   *         must be between 2 and nGenes-2.
+   */
+  @VisibleForTesting
+  @OverrideOnDemand
+  protected int [] getSegment (final int nGenes)
+  {
+    return new int [] { RandomGenerator.getIntInRange (nGenes), 2 + RandomGenerator.getIntInRange (nGenes - 3) };
+  }
+
+  /**
+   * Get the tour length difference when reversing the passed segment.
+   *
+   * @param aTour
+   *        The tour
+   * @param nStart
+   *        Start index of the segment
+   * @param nLength
+   *        Length of the segment. Must be between 2 and n-2.
+   * @return The tour length difference. Negative values mean an improvement.
+   */
+  public double getDelta (@Nonnull final int [] aTour, final int nStart, final int nLength)
+  {
+    final int nCities = aTour.length;
+    final int nEnd = (nStart + nLength - 1) % nCities;
+    final int a = aTour[(nStart + nCities - 1) % nCities];
+    final int b = aTour[nStart];
+    final int c = aTour[nEnd];
+    final int e = aTour[(nEnd + 1) % nCities];
+    return m_aDistances[a][c] + m_aDistances[b][e] - m_aDistances[a][b] - m_aDistances[c][e];
+  }
+
+  /**
+   * Reverse the passed segment in place. If the segment is longer than half of
+   * the tour, the rest of the tour is reversed instead.
+   *
+   * @param aTour
+   *        The tour to modify
+   * @param nStart
+   *        Start index of the segment
+   * @param nLength
+   *        Length of the segment
+   */
+  public static void reverse (@Nonnull final int [] aTour, final int nStart, final int nLength)
+  {
+    final int nCities = aTour.length;
+    int nFirst = nStart;
+    int nCount = nLength;
+    if (nCount > nCities / 2)
+    {
+      nFirst = (nStart + nLength) % nCities;
+      nCount = nCities - nLength;
+    }
+    int nLeft = nFirst;
+    int nRight = (nFirst + nCount - 1) % nCities;
+    for (int i = nCount / 2; i > 0; --i)
+    {
+      final int nTmp = aTour[nLeft];
+      aTour[nLeft] = aTour[nRight];
+      aTour[nRight] = nTmp;
+      nLeft = nLeft == nCities - 1 ? 0 : nLeft + 1;
+      nRight = nRight == 0 ? nCities - 1 : nRight - 1;
+    }
+  }
+
+  @Override
+  @Nonnull
+  public IChromosome executeMutation (@Nonnull final IChromosome aChromosome)
+  {
+    final int nGenes = aChromosome.getGeneCount ();
+    if (nGenes < 4)
+      throw new IllegalArgumentException ("You need to have at least 4 genes, but you only have " + nGenes + " genes!");
+
+    final int [] aSegment = getSegment (nGenes);
+    final int [] aTour = getGeneIntArrayForMutation (aChromosome);
+    final double dDelta = getDelta (aTour, aSegment[0], aSegment[1]);
+    reverse (aTour, aSegment[0], aSegment[1]);
+
+    // Fitness is "worst case - distance" so the fitness changes by -delta
+    return createMutatedChromosome (aChromosome, aTour, -dDelta);
+  }
+}
@@ -16,8 +16,6 @@
  */
 package com.helger.genetic.tsp.populationcreator;
 
-import java.math.BigInteger;
-
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -25,11 +23,10 @@ import javax.annotation.Nullable;
 import com.helger.commons.ValueEnforcer;
 import com.helger.commons.collection.impl.CommonsLinkedHashSet;
 import com.helger.commons.collection.impl.ICommonsOrderedSet;
-import com.helger.commons.math.FactorialHelper;
 import com.helger.genetic.model.IFitnessFunction;
 import com.helger.genetic.model.IMutablePopulation;
 import com.helger.genetic.model.IPopulation;
-import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
 import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.model.chromosome.IChromsomeValidator;
 import com.helger.genetic.populationcreator.AbstractPopulationCreator;
@@ -51,44 +48,43 @@ public final class TSPPopulationCreatorRandom extends AbstractPopulationCreator
     ValueEnforcer.isTrue (nPopulationSize >= 2, "too few populations!");
     ValueEnforcer.notNull (aFitnessFunction, "FitnessFunction");
 
-    final BigInteger aPossiblePermutations = FactorialHelper.getAnyFactorialLinear (nCities);
-    if (BigInteger.valueOf (nPopulationSize).compareTo (aPossiblePermutations) > 0)
+    if (!_hasAtLeastPermutations (nCities, nPopulationSize))
       throw new IllegalArgumentException ("Cannot generate " +
                                           nPopulationSize +
-                                          " different random populations but only " +
-                                          aPossiblePermutations.toString () +
-                                          "!");
+                                          " different random populations with only " +
+                                          nCities +
+                                          " cities!");
     m_nCities = nCities;
     m_nPopulationSize = nPopulationSize;
     m_aFitnessFunction = aFitnessFunction;
     m_aChromosomeValidator = aChromosomeValidator;
   }
 
-  private static void _swapRandom (@Nonnull final int [] aCities)
+  /**
+   * Check if n! &ge; the provided count without calculating the whole
+   * factorial - at most ~20 multiplications are needed.
+   */
+  private static boolean _hasAtLeastPermutations (final int nCities, final int nCount)
   {
-    final int [] aIndices = RandomGenerator.getMultipleUniqueIntsInRange (2, aCities.length);
-    final int nIndex1 = aIndices[0];
-    final int nIndex2 = aIndices[1];
-
-    final int nOld = aCities[nIndex1];
-    aCities[nIndex1] = aCities[nIndex2];
-    aCities[nIndex2] = nOld;
+    long nPermutations = 1;
+    for (int i = 2; i <= nCities; ++i)
+    {
+      nPermutations *= i;
+      if (nPermutations >= nCount)
+        return true;
+    }
+    return nPermutations >= nCount;
   }
 
   @Nonnull
   private IChromosome _createRandomChromosome ()
   {
-    // Initial linear create
+    // Uniformly distributed random permutation in O(n)
     final int [] aCities = new int [m_nCities];
-    for (int i = 0; i < m_nCities; ++i)
-      aCities[i] = i;
-
-    // And some random swapping
-    for (int i = 0; i < m_nCities; ++i)
-      _swapRandom (aCities);
+    RandomGenerator.fillPermutation (aCities);
 
     // We're done
-    return Chromosome.createGenesInt (m_aFitnessFunction, m_aChromosomeValidator, aCities);
+    return new ChromosomeInt (m_aFitnessFunction, m_aChromosomeValidator, aCities, null, false);
   }
 
   @Nonnull
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.crossover;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.tsp.model.TSPNeighborList;
+import com.helger.genetic.utils.random.RandomGenerator;
+import com.helger.genetic.utils.random.RandomGeneratorRandom;
+import com.helger.matrix.Matrix;
+
+/**
+ * Test class for class {@link CrossoverEAX}.
+ *
+ * @author Philip Helger
+ */
+public final class CrossoverEAXTest
+{
+  private static int [] _createRandomTour (final int nCities, final Random aRandom)
+  {
+    final int [] ret = new int [nCities];
+    for (int i = 0; i < nCities; ++i)
+      ret[i] = i;
+    for (int i = nCities - 1; i > 0; --i)
+    {
+      final int j = aRandom.nextInt (i + 1);
+      final int nTmp = ret[i];
+      ret[i] = ret[j];
+      ret[j] = nTmp;
+    }
+    return ret;
+  }
+
+  private static void _assertValidTour (final int nCities, final int [] aTour)
+  {
+    assertEquals (nCities, aTour.length);
+    final boolean [] aUsed = new boolean [nCities];
+    for (final int nCity : aTour)
+    {
+      assertTrue (nCity >= 0 && nCity < nCities);
+      assertTrue (!aUsed[nCity]);
+      aUsed[nCity] = true;
+    }
+  }
+
+  @Test
+  public void testSameTour ()
+  {
+    final Matrix aDistances = AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                          true);
+    final TSPFitnessFunction ff = new TSPFitnessFunction (aDistances);
+    final int nCities = ff.getCityCount ();
+    final int [] aTour0 = _createRandomTour (nCities, new Random (1234));
+    // Same tour, just rotated and reversed
+    final int [] aTour1 = new int [nCities];
+    for (int i = 0; i < nCities; ++i)
+      aTour1[i] = aTour0[(nCities + 5 - i) % nCities];
+
+    final CrossoverEAX aCrossover = new CrossoverEAX (DecisionMakerAlways.getInstance (), ff);
+    final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (Chromosome.createGenesInt (ff,
+                                                                                                                      null,
+                                                                                                                      aTour0),
+                                                                                           Chromosome.createGenesInt (ff,
+                                                                                                                      null,
+                                                                                                                      aTour1)));
+    assertEquals (2, ret.size ());
+    assertArrayEquals (aTour0, ret.get (0).getGeneIntArray ());
+    assertArrayEquals (aTour1, ret.get (1).getGeneIntArray ());
+  }
+
+  @Test
+  public void testRandomTours ()
+  {
+    RandomGenerator.setThreadRandomGenerator (new RandomGeneratorRandom (new Random (4711)));
+    try
+    {
+      final Matrix aDistances = AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                            true);
+      final TSPFitnessFunction ff = new TSPFitnessFunction (aDistances);
+      final int nCities = ff.getCityCount ();
+      final TSPNeighborList aNL = new TSPNeighborList (ff, 8);
+      final Random aRandom = new Random (815);
+
+      for (final EEAXStrategy eStrategy : EEAXStrategy.values ())
+        for (final int nTrials : new int [] { 1, 5 })
+        {
+          final CrossoverEAX aCrossover = new CrossoverEAX (DecisionMakerAlways.getInstance (),
+                                                            ff,
+                                                            aNL,
+                                                            eStrategy,
+                                                            nTrials);
+          for (int i = 0; i < 50; ++i)
+          {
+            final IChromosome c0 = Chromosome.createGenesInt (ff, null, _createRandomTour (nCities, aRandom));
+            final IChromosome c1 = Chromosome.createGenesInt (ff, null, _createRandomTour (nCities, aRandom));
+            final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c0, c1));
+            assertEquals (2, ret.size ());
+            _assertValidTour (nCities, ret.get (0).getGeneIntArray ());
+            _assertValidTour (nCities, ret.get (1).getGeneIntArray ());
+          }
+        }
+    }
+    finally
+    {
+      RandomGenerator.setThreadRandomGenerator (null);
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.crossover;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.impl.CommonsArrayList;
+import com.helger.commons.collection.impl.ICommonsList;
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.matrix.Matrix;
+
+/**
+ * Test class for class {@link CrossoverGPX}.
+ *
+ * @author Philip Helger
+ */
+public final class CrossoverGPXTest
+{
+  @Test
+  public void testBasic ()
+  {
+    // Two partitions {0,1,2,3} and {4,5,6,7}, connected by the common edges 3-4
+    // and 7-0. The first parent is shorter in the first partition, the second
+    // parent is shorter in the second partition.
+    final double [] [] aArray = new double [8] [8];
+    for (int i = 0; i < 8; ++i)
+      for (int j = 0; j < 8; ++j)
+        aArray[i][j] = i == j ? 0 : 10;
+    final int [] [] aEdges = new int [] [] { { 0, 1, 1 },
+                                            { 2, 3, 1 },
+                                            { 0, 2, 5 },
+                                            { 1, 3, 5 },
+                                            { 4, 5, 5 },
+                                            { 6, 7, 5 },
+                                            { 4, 6, 1 },
+                                            { 5, 7, 1 },
+                                            { 1, 2, 1 },
+                                            { 3, 4, 1 },
+                                            { 5, 6, 1 },
+                                            { 7, 0, 1 } };
+    for (final int [] aEdge : aEdges)
+    {
+      aArray[aEdge[0]][aEdge[1]] = aEdge[2];
+      aArray[aEdge[1]][aEdge[0]] = aEdge[2];
+    }
+    final TSPFitnessFunction ff = new TSPFitnessFunction (Matrix.constructWithCopy (aArray));
+
+    final CrossoverGPX aCrossover = new CrossoverGPX (DecisionMakerAlways.getInstance (), ff);
+    final IChromosome c1 = Chromosome.createGenesInt (ff, null, 0, 1, 2, 3, 4, 5, 6, 7);
+    final IChromosome c2 = Chromosome.createGenesInt (ff, null, 0, 2, 1, 3, 4, 6, 5, 7);
+    final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c1, c2));
+    assertEquals (2, ret.size ());
+    final int [] aExpected = new int [] { 0, 1, 2, 3, 4, 6, 5, 7 };
+    assertArrayEquals (aExpected, ret.get (0).getGeneIntArray ());
+    assertArrayEquals (aExpected, ret.get (1).getGeneIntArray ());
+    assertEquals (ff.getFitness (8), ret.get (0).getFitness (), 0.0001);
+    assertEquals (ff.getFitness (8), ret.get (1).getFitness (), 0.0001);
+  }
+
+  private static void _reverse (final int [] aTour, final int nStart, final int nEnd)
+  {
+    for (int i = nStart, j = nEnd; i < j; ++i, --j)
+    {
+      final int nTmp = aTour[i];
+      aTour[i] = aTour[j];
+      aTour[j] = nTmp;
+    }
+  }
+
+  @Test
+  public void testIncrementalLength ()
+  {
+    final Matrix aDistances = AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                          true);
+    final TSPFitnessFunction ff = new TSPFitnessFunction (aDistances);
+    final int nCities = ff.getCityCount ();
+    final Random aRandom = new Random (4711);
+
+    for (final boolean bFuse : new boolean [] { true, false })
+    {
+      final CrossoverGPX aCrossover = new CrossoverGPX (DecisionMakerAlways.getInstance (), ff, bFuse);
+      for (int nRun = 0; nRun < 100; ++nRun)
+      {
+        final int [] aTour0 = new int [nCities];
+        for (int i = 0; i < nCities; ++i)
+          aTour0[i] = i;
+        _reverse (aTour0, 0, nCities - 1 - aRandom.nextInt (5));
+        // Derive the second parent with a few random reversals
+        final int [] aTour1 = aTour0.clone ();
+        final int nReversals = 1 + aRandom.nextInt (6);
+        for (int i = 0; i < nReversals; ++i)
+        {
+          final int nStart = aRandom.nextInt (nCities - 1);
+          _reverse (aTour1, nStart, nStart + 1 + aRandom.nextInt (Math.min (8, nCities - 1 - nStart)));
+        }
+
+        final IChromosome c0 = Chromosome.createGenesInt (ff, null, aTour0);
+        final IChromosome c1 = Chromosome.createGenesInt (ff, null, aTour1);
+        final ICommonsList <IChromosome> ret = aCrossover.crossover (new CommonsArrayList <> (c0, c1));
+        assertEquals (2, ret.size ());
+        for (final IChromosome aChild : ret)
+        {
+          final int [] aGenes = aChild.getGeneIntArray ();
+          final boolean [] aUsed = new boolean [nCities];
+          for (final int nCity : aGenes)
+          {
+            assertTrue (!aUsed[nCity]);
+            aUsed[nCity] = true;
+          }
+          // Incrementally calculated fitness must match the full evaluation
+          assertEquals (ff.getFitness (aChild), aChild.getFitness (), 0.001);
+        }
+      }
+    }
+  }
+}
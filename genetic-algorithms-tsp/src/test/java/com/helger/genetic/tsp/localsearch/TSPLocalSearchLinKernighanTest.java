@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.genetic.tsp.model.TSPArrayTour;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.tsp.model.TSPNeighborList;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Test class for class {@link TSPLocalSearchLinKernighan}.
+ *
+ * @author Philip Helger
+ */
+public final class TSPLocalSearchLinKernighanTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (TSPLocalSearchLinKernighanTest.class);
+
+  @Test
+  public void testOptimize ()
+  {
+    final TSPFitnessFunction ff = new TSPFitnessFunction (AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/kroA100.tsp"),
+                                                                                                      true));
+    final int nCities = ff.getCityCount ();
+    final TSPNeighborList aNL = new TSPNeighborList (ff, 8);
+    final TSPLocalSearchTwoOptOrOpt aTwoOpt = new TSPLocalSearchTwoOptOrOpt (ff, aNL, false);
+    final TSPLocalSearchLinKernighan aLK = new TSPLocalSearchLinKernighan (ff, aNL, 5, false);
+    assertEquals (5, aLK.getMaxMoveLevel ());
+
+    double dSumTwoOpt = 0;
+    double dSumLK = 0;
+    for (int i = 0; i < 20; ++i)
+    {
+      final int [] aStart = RandomGenerator.getMultipleUniqueIntsInRange (nCities, nCities);
+      final double dStartLength = ff.getDistance (aStart);
+
+      final int [] aArray1 = aStart.clone ();
+      final double dGain1 = aTwoOpt.optimize (new TSPArrayTour (aArray1));
+      assertEquals (dStartLength - ff.getDistance (aArray1), dGain1, 0.001);
+      dSumTwoOpt += ff.getDistance (aArray1);
+
+      final int [] aArray2 = aStart.clone ();
+      final double dGain2 = aLK.optimize (new TSPArrayTour (aArray2));
+      // Delta evaluation matches the real length
+      assertEquals (dStartLength - ff.getDistance (aArray2), dGain2, 0.001);
+      dSumLK += ff.getDistance (aArray2);
+
+      // Still a permutation
+      final int [] aSorted = aArray2.clone ();
+      Arrays.sort (aSorted);
+      for (int j = 0; j < nCities; ++j)
+        assertEquals (j, aSorted[j]);
+    }
+
+    // Optimum is 21282
+    LOGGER.info ("Average 2-opt: " + dSumTwoOpt / 20 + "; average LK: " + dSumLK / 20);
+    assertTrue (dSumLK < dSumTwoOpt);
+    assertTrue (dSumLK / 20 < 21282 * 1.08);
+  }
+
+  @Test
+  public void testWithOrOpt ()
+  {
+    final TSPFitnessFunction ff = new TSPFitnessFunction (AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                                                      true));
+    final int nCities = ff.getCityCount ();
+    final TSPLocalSearchLinKernighan aLK = new TSPLocalSearchLinKernighan (ff);
+    final int [] aArray = RandomGenerator.getMultipleUniqueIntsInRange (nCities, nCities);
+    final double dStartLength = ff.getDistance (aArray);
+    final double dGain = aLK.optimize (new TSPArrayTour (aArray));
+    assertEquals (dStartLength - ff.getDistance (aArray), dGain, 0.001);
+    // Optimum is 7542
+    assertTrue (ff.getDistance (aArray) < 7542 * 1.1);
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link TSPArrayTour}.
+ *
+ * @author Philip Helger
+ */
+public final class TSPArrayTourTest
+{
+  private static void _assertConsistent (final TSPArrayTour aTour)
+  {
+    for (int i = 0; i < aTour.getCityCount (); ++i)
+      assertEquals (i, aTour.getPosition (aTour.getCityAt (i)));
+  }
+
+  @Test
+  public void testBasic ()
+  {
+    final int [] aArray = new int [] { 3, 0, 4, 1, 2, 5 };
+    final TSPArrayTour aTour = new TSPArrayTour (aArray);
+    assertEquals (6, aTour.getCityCount ());
+    assertEquals (0, aTour.getPosition (3));
+    assertEquals (0, aTour.next (3));
+    assertEquals (5, aTour.prev (3));
+    assertEquals (3, aTour.next (5));
+    assertTrue (aTour.between (0, 4, 1));
+    assertTrue (aTour.between (2, 3, 0));
+    assertFalse (aTour.between (2, 4, 5));
+    _assertConsistent (aTour);
+  }
+
+  @Test
+  public void testReversePath ()
+  {
+    final int [] aArray = new int [] { 0, 1, 2, 3, 4, 5, 6, 7 };
+    final TSPArrayTour aTour = new TSPArrayTour (aArray);
+    aTour.reversePath (2, 4);
+    // Working directly on the array
+    assertArrayEquals (new int [] { 0, 1, 4, 3, 2, 5, 6, 7 }, aArray);
+    _assertConsistent (aTour);
+
+    // Long path - the complement is reversed instead
+    aTour.reversePath (1, 6);
+    assertArrayEquals (new int [] { 7, 1, 4, 3, 2, 5, 6, 0 }, aArray);
+    _assertConsistent (aTour);
+
+    // Wrapping path
+    aTour.reversePath (6, 1);
+    assertArrayEquals (new int [] { 0, 6, 4, 3, 2, 5, 1, 7 }, aArray);
+    _assertConsistent (aTour);
+  }
+
+  @Test
+  public void testTwoOptMove ()
+  {
+    for (int nDir = 0; nDir < 2; ++nDir)
+    {
+      final TSPArrayTour aTour = new TSPArrayTour (new int [] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+      if (nDir == 0)
+        aTour.twoOptMove (1, 2, 6, 7);
+      else
+        aTour.twoOptMove (2, 1, 7, 6);
+      _assertConsistent (aTour);
+      final int [] aLinks = TSPTourHelper.createLinks (aTour.getTourArray ());
+      if (nDir == 0)
+      {
+        assertTrue (TSPTourHelper.containsLink (aLinks, 1, 6));
+        assertTrue (TSPTourHelper.containsLink (aLinks, 2, 7));
+        assertFalse (TSPTourHelper.containsLink (aLinks, 1, 2));
+        assertFalse (TSPTourHelper.containsLink (aLinks, 6, 7));
+      }
+      else
+      {
+        assertTrue (TSPTourHelper.containsLink (aLinks, 2, 7));
+        assertTrue (TSPTourHelper.containsLink (aLinks, 1, 6));
+      }
+    }
+  }
+
+  @Test
+  public void testLength ()
+  {
+    final double [] [] aDistances = new double [] [] { { 0, 1, 2, 1 }, { 1, 0, 1, 2 }, { 2, 1, 0, 1 }, { 1, 2, 1, 0 } };
+    assertEquals (4, new TSPArrayTour (new int [] { 0, 1, 2, 3 }).getLength (aDistances), 0);
+    assertEquals (6, new TSPArrayTour (new int [] { 0, 2, 1, 3 }).getLength (aDistances), 0);
+  }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.matrix.Matrix;
+
+/**
+ * Test class for class {@link TSPNeighborList}.
+ *
+ * @author Philip Helger
+ */
+public final class TSPNeighborListTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final Matrix aDistances = AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                          true);
+    final double [] [] aArray = aDistances.internalGetArray ();
+    final int nCities = aArray.length;
+    final TSPNeighborList aNL = new TSPNeighborList (aDistances, 10);
+    assertEquals (nCities, aNL.getCityCount ());
+    assertEquals (10, aNL.getNeighborCount ());
+
+    for (int nCity = 0; nCity < nCities; ++nCity)
+    {
+      // Ascending distances
+      for (int i = 1; i < 10; ++i)
+        assertTrue (aArray[nCity][aNL.getNeighbor (nCity, i - 1)] <= aArray[nCity][aNL.getNeighbor (nCity, i)]);
+
+      // No other city is nearer than the last neighbor
+      final double dMax = aArray[nCity][aNL.getNeighbor (nCity, 9)];
+      int nNearer = 0;
+      for (int nOther = 0; nOther < nCities; ++nOther)
+        if (nOther != nCity && aArray[nCity][nOther] < dMax)
+          nNearer++;
+      assertTrue (nNearer < 10);
+    }
+  }
+
+  @Test
+  public void testMoreNeighborsThanCities ()
+  {
+    final Matrix aDistances = Matrix.constructWithCopy (new double [] [] { { 0, 1, 2 }, { 1, 0, 3 }, { 2, 3, 0 } });
+    final TSPNeighborList aNL = new TSPNeighborList (aDistances, 10);
+    assertEquals (2, aNL.getNeighborCount ());
+    assertEquals (1, aNL.getNeighbor (0, 0));
+    assertEquals (2, aNL.getNeighbor (0, 1));
+    assertEquals (0, aNL.getNeighbor (1, 0));
+    assertEquals (2, aNL.getNeighbor (1, 1));
+    assertEquals (0, aNL.getNeighbor (2, 0));
+    assertEquals (1, aNL.getNeighbor (2, 1));
+  }
+}
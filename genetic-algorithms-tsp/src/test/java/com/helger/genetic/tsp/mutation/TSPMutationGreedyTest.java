@@ -16,8 +16,12 @@
  */
 package com.helger.genetic.tsp.mutation;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -26,13 +30,126 @@ import org.slf4j.LoggerFactory;
 
 import com.helger.commons.io.resource.ClassPathResource;
 import com.helger.commons.timing.StopWatch;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
+import com.helger.genetic.model.chromosome.IChromosome;
 import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.tsp.model.TSPNeighborList;
+import com.helger.genetic.utils.random.RandomGenerator;
 import com.helger.matrix.Matrix;
 
 public final class TSPMutationGreedyTest
 {
   private static final Logger LOGGER = LoggerFactory.getLogger (TSPMutationGreedyTest.class);
 
+  @Test
+  public void testGreedyOrderWithCandidates ()
+  {
+    final Matrix aDistances = AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                          true);
+    final TSPNeighborList aNL = new TSPNeighborList (aDistances, 5);
+    for (int i = 0; i < 100; ++i)
+    {
+      final int nCount = 2 + RandomGenerator.getIntInRange (20);
+      final int [] aCities = RandomGenerator.getMultipleUniqueIntsInRange (nCount, aDistances.getRowDimension ());
+
+      // Reference: sub matrix based ordering
+      final int [] aOrder = TSPMutationGreedy.getGreedyOrder (aDistances.getMatrix (aCities, aCities));
+      final int [] aExpected = new int [nCount];
+      for (int j = 0; j < nCount; ++j)
+        aExpected[j] = aCities[aOrder[j]];
+
+      final int [] aCities1 = aCities.clone ();
+      TSPMutationGreedy.getGreedyOrder (aDistances.internalGetArray (), aCities1, null);
+      assertArrayEquals (aExpected, aCities1);
+
+      final int [] aCities2 = aCities.clone ();
+      TSPMutationGreedy.getGreedyOrder (aDistances.internalGetArray (), aCities2, aNL);
+      assertArrayEquals (aExpected, aCities2);
+    }
+  }
+
+  @Test
+  public void testGreedyOrderTies ()
+  {
+    // Cities on a 6x5 grid with Manhattan distances - lots of ties
+    final int nCities = 30;
+    final double [] [] aArray = new double [nCities] [nCities];
+    for (int i = 0; i < nCities; ++i)
+      for (int j = 0; j < nCities; ++j)
+        aArray[i][j] = Math.abs (i % 6 - j % 6) + Math.abs (i / 6 - j / 6);
+    final Matrix aDistances = Matrix.constructWithCopy (aArray);
+    final TSPNeighborList aNL = new TSPNeighborList (aDistances, 4);
+
+    // Fixed, unsorted segment: the neighbors 1, 6 and 7 of city 0 all have
+    // distance 1 or 2 - the lowest index with the minimum distance is chosen
+    final int [] aFixed = { 0, 7, 6, 1, 12, 2 };
+    final int [] aFixed1 = aFixed.clone ();
+    TSPMutationGreedy.getGreedyOrder (aArray, aFixed1, null);
+    final int [] aFixed2 = aFixed.clone ();
+    TSPMutationGreedy.getGreedyOrder (aArray, aFixed2, aNL);
+    assertArrayEquals (new int [] { 0, 1, 2, 7, 6, 12 }, aFixed1);
+    assertArrayEquals (aFixed1, aFixed2);
+
+    for (int i = 0; i < 200; ++i)
+    {
+      // Random unsorted segment
+      final int [] aAll = new int [nCities];
+      RandomGenerator.fillPermutation (aAll);
+      final int [] aCities = Arrays.copyOf (aAll, 2 + RandomGenerator.getIntInRange (nCities - 1));
+
+      final int [] aCities1 = aCities.clone ();
+      TSPMutationGreedy.getGreedyOrder (aArray, aCities1, null);
+      final int [] aCities2 = aCities.clone ();
+      TSPMutationGreedy.getGreedyOrder (aArray, aCities2, aNL);
+      assertArrayEquals (aCities1, aCities2);
+    }
+  }
+
+  @Test
+  public void testBoundedSegment ()
+  {
+    final Matrix aDistances = AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                          true);
+    final TSPFitnessFunction ff = new TSPFitnessFunction (aDistances);
+    final int nCities = ff.getCityCount ();
+    final TSPMutationGreedy aMutation = new TSPMutationGreedy (DecisionMakerAlways.getInstance (),
+                                                               aDistances,
+                                                               new TSPNeighborList (aDistances, 8),
+                                                               6);
+    assertEquals (6, aMutation.getMaxSegmentLength ());
+    for (int i = 0; i < 100; ++i)
+    {
+      final int [] aSegment = aMutation.getSegment (nCities);
+      assertTrue (aSegment[1] >= 2 && aSegment[1] <= 6);
+      assertTrue (aSegment[0] >= 0 && aSegment[0] + aSegment[1] <= nCities);
+    }
+
+    final int [] aTour = new int [nCities];
+    for (int i = 0; i < nCities; ++i)
+      aTour[i] = i;
+    IChromosome c = new ChromosomeInt (ff, null, aTour, null, false);
+    for (int i = 0; i < 100; ++i)
+    {
+      final IChromosome cNew = aMutation.executeMutation (c);
+      // At most 6 cities changed
+      final int [] aOld = c.getGeneIntArray ();
+      final int [] aNew = cNew.getGeneIntArray ();
+      int nChanged = 0;
+      for (int j = 0; j < nCities; ++j)
+        if (aOld[j] != aNew[j])
+          nChanged++;
+      assertTrue (nChanged <= 6);
+
+      final int [] aSorted = aNew.clone ();
+      Arrays.sort (aSorted);
+      assertArrayEquals (aTour, aSorted);
+      assertEquals (ff.getFitness (ff.getDistance (aNew)), cNew.getFitness (), 0.001);
+      c = cNew;
+    }
+  }
+
   @Ignore
   @Test
   public void testPerformance ()
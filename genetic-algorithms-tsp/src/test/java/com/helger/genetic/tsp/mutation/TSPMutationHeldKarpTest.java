@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.mutation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.genetic.utils.random.RandomGenerator;
+
+/**
+ * Test class for class {@link TSPMutationHeldKarp}.
+ *
+ * @author Philip Helger
+ */
+public final class TSPMutationHeldKarpTest
+{
+  private static double _bruteForce (final double [] [] aDist,
+                                     final int nPrev,
+                                     final int [] aCities,
+                                     final int nIndex,
+                                     final boolean [] aUsed,
+                                     final int nEnd)
+  {
+    if (nIndex == aCities.length)
+      return aDist[nPrev][nEnd];
+    double ret = Double.MAX_VALUE;
+    for (int i = 0; i < aCities.length; ++i)
+      if (!aUsed[i])
+      {
+        aUsed[i] = true;
+        ret = Math.min (ret,
+                        aDist[nPrev][aCities[i]] + _bruteForce (aDist, aCities[i], aCities, nIndex + 1, aUsed, nEnd));
+        aUsed[i] = false;
+      }
+    return ret;
+  }
+
+  @Test
+  public void testOptimalWindow ()
+  {
+    final TSPFitnessFunction ff = new TSPFitnessFunction (AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                                                      true));
+    final double [] [] aDist = ff.internalGetDistanceArray ();
+    final int nCities = ff.getCityCount ();
+    final int nWindow = 6;
+    for (int i = 0; i < 50; ++i)
+    {
+      final int nStart = RandomGenerator.getIntInRange (nCities);
+      final TSPMutationHeldKarp aMutation = new TSPMutationHeldKarp (DecisionMakerAlways.getInstance (), ff, nWindow)
+      {
+        @Override
+        protected int getWindowStart (final int nGenes)
+        {
+          return nStart;
+        }
+      };
+      final int [] aTour = RandomGenerator.getMultipleUniqueIntsInRange (nCities, nCities);
+      final int [] aWindow = new int [nWindow];
+      for (int j = 0; j < nWindow; ++j)
+        aWindow[j] = aTour[(nStart + j) % nCities];
+      final int nPrev = aTour[(nStart + nCities - 1) % nCities];
+      final int nEnd = aTour[(nStart + nWindow) % nCities];
+      final double dOptimum = _bruteForce (aDist, nPrev, aWindow, 0, new boolean [nWindow], nEnd);
+
+      final IChromosome c = Chromosome.createGenesInt (ff, null, aTour);
+      final IChromosome cNew = aMutation.executeMutation (c);
+      final int [] aNewTour = cNew.getGeneIntArray ();
+      double dNewWindow = 0;
+      int nLast = nPrev;
+      for (int j = 0; j < nWindow; ++j)
+      {
+        final int nCity = aNewTour[(nStart + j) % nCities];
+        dNewWindow += aDist[nLast][nCity];
+        nLast = nCity;
+      }
+      dNewWindow += aDist[nLast][nEnd];
+      assertEquals (dOptimum, dNewWindow, 0.001);
+
+      // Never worse and incremental fitness is correct
+      assertTrue (cNew.getFitness () >= c.getFitness ());
+      assertEquals (ff.getFitness (ff.getDistance (aNewTour)), cNew.getFitness (), 0.001);
+    }
+  }
+
+  @Test
+  public void testInPlace ()
+  {
+    final TSPFitnessFunction ff = new TSPFitnessFunction (AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                                                      true));
+    final int nCities = ff.getCityCount ();
+    final TSPMutationHeldKarp aMutation = new TSPMutationHeldKarp (DecisionMakerAlways.getInstance (), ff);
+    assertEquals (TSPMutationHeldKarp.DEFAULT_WINDOW_SIZE, aMutation.getWindowSize ());
+    final int [] aTour = RandomGenerator.getMultipleUniqueIntsInRange (nCities, nCities);
+    final ChromosomeInt c = ChromosomeInt.createExclusive (Chromosome.createGenesInt (ff, null, aTour), aTour);
+    double dLastFitness = c.getFitness ();
+    for (int i = 0; i < 200; ++i)
+    {
+      assertSame (c, aMutation.executeMutation (c));
+      // Monotone improvement
+      assertTrue (c.getFitness () >= dLastFitness);
+      dLastFitness = c.getFitness ();
+    }
+    assertEquals (ff.getFitness (ff.getDistance (c.getGeneIntArray ())), c.getFitness (), 0.001);
+  }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.mutation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.genetic.tsp.localsearch.TSPLocalSearchTwoOptOrOpt;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+
+/**
+ * Test class for class {@link TSPMutationLocalSearch}.
+ *
+ * @author Philip Helger
+ */
+public final class TSPMutationLocalSearchTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final TSPFitnessFunction ff = new TSPFitnessFunction (AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                                                      true));
+    final int [] aTour = new int [ff.getCityCount ()];
+    for (int i = 0; i < aTour.length; ++i)
+      aTour[i] = i;
+    final TSPMutationLocalSearch aMutation = new TSPMutationLocalSearch (DecisionMakerAlways.getInstance (),
+                                                                         new TSPLocalSearchTwoOptOrOpt (ff));
+
+    // Copy
+    final IChromosome c = Chromosome.createGenesInt (ff, null, aTour);
+    final IChromosome cNew = aMutation.executeMutation (c);
+    assertTrue (cNew.getFitness () > c.getFitness ());
+    assertEquals (ff.getFitness (ff.getDistance (cNew.getGeneIntArray ())), cNew.getFitness (), 0.001);
+
+    // In place
+    final ChromosomeInt c2 = ChromosomeInt.createExclusive (c, aTour.clone ());
+    c2.getFitness ();
+    assertSame (c2, aMutation.executeMutation (c2));
+    assertEquals (ff.getFitness (ff.getDistance (c2.getGeneIntArray ())), c2.getFitness (), 0.001);
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.mutation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+
+/**
+ * Test class for class {@link TSPMutationOrOpt}.
+ *
+ * @author Philip Helger
+ */
+public final class TSPMutationOrOptTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final TSPFitnessFunction ff = new TSPFitnessFunction (AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                                                      true));
+    final int nCities = ff.getCityCount ();
+    final int [] aTour = new int [nCities];
+    for (int i = 0; i < nCities; ++i)
+      aTour[i] = i;
+    IChromosome c = Chromosome.createGenesInt (ff, null, aTour);
+
+    final TSPMutationOrOpt aMutation = new TSPMutationOrOpt (DecisionMakerAlways.getInstance (), ff);
+    for (int i = 0; i < 1000; ++i)
+    {
+      final int [] aMove = aMutation.getMove (nCities);
+      assertTrue (aMove[1] >= 1 && aMove[1] <= 3);
+
+      c = aMutation.executeMutation (c);
+      assertEquals (ff.getFitness (c), c.getFitness (), 0.001);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.mutation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+
+/**
+ * Test class for class {@link TSPMutationSegmentMove}.
+ *
+ * @author Philip Helger
+ */
+public final class TSPMutationSegmentMoveTest
+{
+  @Test
+  public void testMove ()
+  {
+    int [] aTour = new int [] { 0, 1, 2, 3, 4, 5, 6, 7 };
+    TSPMutationSegmentMove.move (aTour, 1, 2, 5, false);
+    assertArrayEquals (new int [] { 0, 3, 4, 5, 1, 2, 6, 7 }, aTour);
+
+    aTour = new int [] { 0, 1, 2, 3, 4, 5, 6, 7 };
+    TSPMutationSegmentMove.move (aTour, 1, 2, 7, true);
+    assertArrayEquals (new int [] { 0, 3, 4, 5, 6, 7, 2, 1 }, aTour);
+
+    aTour = new int [] { 0, 1, 2, 3, 4, 5, 6, 7 };
+    TSPMutationSegmentMove.move (aTour, 5, 3, 1, false);
+    assertArrayEquals (new int [] { 0, 1, 5, 6, 7, 2, 3, 4 }, aTour);
+
+    aTour = new int [] { 0, 1, 2, 3, 4, 5, 6, 7 };
+    TSPMutationSegmentMove.move (aTour, 4, 1, 0, true);
+    assertArrayEquals (new int [] { 0, 4, 1, 2, 3, 5, 6, 7 }, aTour);
+  }
+
+  @Test
+  public void testIncrementalFitness ()
+  {
+    final TSPFitnessFunction ff = new TSPFitnessFunction (AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                                                      true));
+    final int [] aTour = new int [ff.getCityCount ()];
+    for (int i = 0; i < aTour.length; ++i)
+      aTour[i] = i;
+    IChromosome c = Chromosome.createGenesInt (ff, null, aTour);
+
+    final TSPMutationSegmentMove aMutation = new TSPMutationSegmentMove (DecisionMakerAlways.getInstance (), ff);
+    for (int i = 0; i < 1000; ++i)
+    {
+      c = aMutation.executeMutation (c);
+      assertEquals (ff.getFitness (c), c.getFitness (), 0.001);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.mutation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.genetic.decisionmaker.DecisionMakerAlways;
+import com.helger.genetic.model.chromosome.Chromosome;
+import com.helger.genetic.model.chromosome.ChromosomeInt;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+
+/**
+ * Test class for class {@link TSPMutationTwoOpt}.
+ *
+ * @author Philip Helger
+ */
+public final class TSPMutationTwoOptTest
+{
+  @Test
+  public void testReverse ()
+  {
+    int [] aTour = new int [] { 0, 1, 2, 3, 4, 5, 6, 7 };
+    TSPMutationTwoOpt.reverse (aTour, 2, 3);
+    assertArrayEquals (new int [] { 0, 1, 4, 3, 2, 5, 6, 7 }, aTour);
+
+    // Wrapping segment
+    aTour = new int [] { 0, 1, 2, 3, 4, 5, 6, 7 };
+    TSPMutationTwoOpt.reverse (aTour, 6, 4);
+    assertArrayEquals (new int [] { 7, 6, 2, 3, 4, 5, 1, 0 }, aTour);
+
+    // Longer than half: the rest is reversed instead
+    aTour = new int [] { 0, 1, 2, 3, 4, 5, 6, 7 };
+    TSPMutationTwoOpt.reverse (aTour, 1, 6);
+    assertArrayEquals (new int [] { 7, 1, 2, 3, 4, 5, 6, 0 }, aTour);
+  }
+
+  @Test
+  public void testIncrementalFitness ()
+  {
+    final TSPFitnessFunction ff = new TSPFitnessFunction (AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                                                      true));
+    final int [] aTour = new int [ff.getCityCount ()];
+    for (int i = 0; i < aTour.length; ++i)
+      aTour[i] = i;
+    IChromosome c = Chromosome.createGenesInt (ff, null, aTour);
+
+    final TSPMutationTwoOpt aMutation = new TSPMutationTwoOpt (DecisionMakerAlways.getInstance (), ff);
+    for (int i = 0; i < 1000; ++i)
+    {
+      c = aMutation.executeMutation (c);
+      assertEquals (ff.getFitness (c), c.getFitness (), 0.001);
+    }
+  }
+
+  @Test
+  public void testInPlace ()
+  {
+    final TSPFitnessFunction ff = new TSPFitnessFunction (AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                                                      true));
+    final int [] aTour = new int [ff.getCityCount ()];
+    for (int i = 0; i < aTour.length; ++i)
+      aTour[i] = i;
+    final ChromosomeInt c = ChromosomeInt.createExclusive (Chromosome.createGenesInt (ff, null, aTour), aTour);
+    // Calculate the fitness once, so that it is adjusted afterwards
+    c.getFitness ();
+
+    final TSPMutationTwoOpt aMutation = new TSPMutationTwoOpt (DecisionMakerAlways.getInstance (), ff);
+    for (int i = 0; i < 1000; ++i)
+    {
+      assertSame (c, aMutation.executeMutation (c));
+      // Compare with a full evaluation of the current genes
+      assertEquals (ff.getFitness (ff.getDistance (c.getGeneIntArray ())), c.getFitness (), 0.001);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2012-2019 Philip Helger
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.genetic.tsp.populationcreator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.genetic.model.IPopulation;
+import com.helger.genetic.model.chromosome.IChromosome;
+import com.helger.genetic.tsp.AbstractFileBasedTSPRunner;
+import com.helger.genetic.tsp.model.TSPFitnessFunction;
+import com.helger.matrix.Matrix;
+
+/**
+ * Test class for class {@link TSPPopulationCreatorRandom}.
+ *
+ * @author Philip Helger
+ */
+public final class TSPPopulationCreatorRandomTest
+{
+  private static final TSPFitnessFunction FF = new TSPFitnessFunction (AbstractFileBasedTSPRunner.readTSPFromFile (new ClassPathResource ("tsp/berlin52.tsp"),
+                                                                                                                   true));
+
+  @Test
+  public void testBasic ()
+  {
+    final int nCities = FF.getCityCount ();
+    final IPopulation aPopulation = new TSPPopulationCreatorRandom (nCities, 100, FF, null).createInitialPopulation ();
+    assertEquals (100, aPopulation.getChromosomeCount ());
+
+    final int [] aExpected = new int [nCities];
+    for (int i = 0; i < nCities; ++i)
+      aExpected[i] = i;
+    for (int i = 0; i < aPopulation.getChromosomeCount (); ++i)
+    {
+      // Each chromosome must be a valid permutation
+      final int [] aGenes = aPopulation.getChromosome (i).getGeneIntArray ().clone ();
+      Arrays.sort (aGenes);
+      assertArrayEquals (aExpected, aGenes);
+    }
+  }
+
+  @Test
+  public void testPermutationLimit ()
+  {
+    final TSPFitnessFunction ff = new TSPFitnessFunction (Matrix.constructWithCopy (new double [] [] { { 0, 1, 2 },
+                                                                                                       { 1, 0, 3 },
+                                                                                                       { 2, 3, 0 } }));
+    // 3! = 6 different tours - all with the same length
+    final IPopulation aPopulation = new TSPPopulationCreatorRandom (3, 6, ff, null).createInitialPopulation ();
+    assertEquals (6, aPopulation.getChromosomeCount ());
+    for (final IChromosome aChromosome : aPopulation.getChromosomes ())
+      assertEquals (ff.getFitness (6), aChromosome.getFitness (), 0);
+    try
+    {
+      new TSPPopulationCreatorRandom (3, 7, ff, null);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+}
@@ -39,7 +39,10 @@ import com.helger.genetic.continuation.IContinuation;
 import com.helger.genetic.crossover.CrossoverCycle;
 import com.helger.genetic.crossover.CrossoverEdgeRecombination;
 import com.helger.genetic.crossover.CrossoverOnePointInt;
+import com.helger.genetic.crossover.CrossoverOrder;
+import com.helger.genetic.crossover.CrossoverOrderBased;
 import com.helger.genetic.crossover.CrossoverPartiallyMapped;
+import com.helger.genetic.crossover.CrossoverPositionBased;
 import com.helger.genetic.crossover.ICrossover;
 import com.helger.genetic.decisionmaker.DecisionMakerPercentage;
 import com.helger.genetic.decisionmaker.IDecisionMaker;
@@ -303,6 +306,9 @@ public final class MainTSPRunnerAll extends AbstractFileBasedTSPRunner
     cm.put ("EdgeRecombination", new CrossoverEdgeRecombination (new DecisionMakerPercentage (nCrossoverPerc)));
     cm.put ("OnePointInt", new CrossoverOnePointInt (new DecisionMakerPercentage (nCrossoverPerc)));
     cm.put ("PartiallyMapped", new CrossoverPartiallyMapped (new DecisionMakerPercentage (nCrossoverPerc)));
+    cm.put ("Order", new CrossoverOrder (new DecisionMakerPercentage (nCrossoverPerc)));
+    cm.put ("OrderBased", new CrossoverOrderBased (new DecisionMakerPercentage (nCrossoverPerc)));
+    cm.put ("PositionBased", new CrossoverPositionBased (new DecisionMakerPercentage (nCrossoverPerc)));
 
     final Map <String, Class <? extends IMutation>> mm = new LinkedHashMap <> ();
     if (false)